@@ -0,0 +1,174 @@
+package com.ureca.web.cache;
+
+import com.ureca.web.dto.CacheStatsResponse;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * 크기/TTL 제한 읽기 캐시 (없으면 loader로 읽어서 채움)
+ *
+ * 무효화 세대를 두어 로딩 도중 무효화가 있었으면 읽어온 (오래된) 값을 넣지 않는다.
+ * 키 하나의 무효화/변경은 키별 세대(해시 구간)만 올려서 다른 키의 로딩은 그대로 저장된다.
+ * 가득 차면 새 키는 넣지 않고, 정리할 때 만료 항목과 가장 오래 조회되지 않은 항목부터 지운다 (근사 LRU).
+ * 값은 그대로 공유되므로 호출자가 수정하면 안 된다 (필요하면 감싸는 쪽에서 복사).
+ */
+public final class BoundedCache<K, V> {
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlMillis;
+
+    private static final int STRIPES = 1024;
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();                             // 전체 (invalidateIf, clear)
+    private final AtomicLongArray keyGenerations = new AtomicLongArray(STRIPES);        // 키별 (invalidate, update)
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public BoundedCache(String name, int maxSize, long ttlMillis) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+    }
+
+    public V get(K key, Supplier<V> loader) {
+        return get(key, value -> true, loader);
+    }
+
+    /**
+     * usable이 false인 저장 값(버전이 지난 값 등)은 없는 것으로 보고 다시 읽어서 바꾼다
+     */
+    public V get(K key, Predicate<V> usable, Supplier<V> loader) {
+        long now = System.currentTimeMillis();
+
+        Entry<V> entry = entries.get(key);
+        if (entry != null && now - entry.loadedAt < ttlMillis && usable.test(entry.value)) {
+            hits.increment();
+            entry.lastAccessedAt = now;
+            return entry.value;
+        }
+
+        misses.increment();
+        int stripe = stripe(key);
+        long started = generation.get();
+        long keyStarted = keyGenerations.get(stripe);
+        V loaded = loader.get();
+
+        if (loaded != null && (entries.size() < maxSize || entries.containsKey(key))) {
+            Entry<V> fresh = new Entry<>(loaded, now);
+            entries.compute(key, (k, current) ->
+                    generation.get() != started || keyGenerations.get(stripe) != keyStarted ? current : fresh);
+        }
+        return loaded;
+    }
+
+    public void invalidate(K key) {
+        keyGenerations.incrementAndGet(stripe(key));
+        if (entries.remove(key) != null) {
+            evictions.increment();
+        }
+    }
+
+    /**
+     * 저장된 값이 있으면 change 결과로 바꿈 (null이면 제거, 로딩 시각/조회 시각은 유지)
+     * 값이 없어도 키별 세대는 올려서, 변경 전에 시작한 로딩이 이전 값을 넣지 못하게 한다.
+     */
+    public void update(K key, UnaryOperator<V> change) {
+        keyGenerations.incrementAndGet(stripe(key));
+        entries.computeIfPresent(key, (k, entry) -> {
+            V value = change.apply(entry.value);
+            if (value == null) {
+                evictions.increment();
+                return null;
+            }
+            if (value == entry.value) {
+                return entry;
+            }
+            Entry<V> updated = new Entry<>(value, entry.loadedAt);
+            updated.lastAccessedAt = entry.lastAccessedAt;
+            return updated;
+        });
+    }
+
+    /**
+     * 조건에 맞는 항목 제거
+     */
+    public void invalidateIf(BiPredicate<K, V> predicate) {
+        generation.incrementAndGet();
+        entries.forEach((key, entry) -> {
+            if (predicate.test(key, entry.value) && entries.remove(key, entry)) {
+                evictions.increment();
+            }
+        });
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        evictions.add(entries.size());
+        entries.clear();
+    }
+
+    /**
+     * 만료된 항목 제거 후 크기를 넘으면 가장 오래 조회되지 않은 항목부터 제거
+     */
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        entries.forEach((key, entry) -> {
+            if (now - entry.loadedAt >= ttlMillis && entries.remove(key, entry)) {
+                evictions.increment();
+            }
+        });
+
+        int overflow = entries.size() - (int) (maxSize * 0.9);
+        if (overflow <= 0) {
+            return;
+        }
+
+        long[] accessTimes = entries.values().stream().mapToLong(entry -> entry.lastAccessedAt).toArray();
+        Arrays.sort(accessTimes);
+        long cutoff = accessTimes[Math.min(overflow, accessTimes.length) - 1];
+
+        entries.forEach((key, entry) -> {
+            if (entry.lastAccessedAt <= cutoff && entries.remove(key, entry)) {
+                evictions.increment();
+            }
+        });
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public CacheStatsResponse stats() {
+        return CacheStatsResponse.of(name, entries.size(), maxSize, hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    private static int stripe(Object key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long loadedAt;
+        private volatile long lastAccessedAt;
+
+        private Entry(V value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+            this.lastAccessedAt = loadedAt;
+        }
+    }
+}
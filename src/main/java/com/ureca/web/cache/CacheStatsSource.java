@@ -0,0 +1,11 @@
+package com.ureca.web.cache;
+
+import com.ureca.web.dto.CacheStatsResponse;
+
+/**
+ * 관리자 화면에 적중률 등을 노출하는 인메모리 캐시
+ */
+public interface CacheStatsSource {
+
+    CacheStatsResponse getCacheStats();
+}
@@ -0,0 +1,62 @@
+package com.ureca.web.cache;
+
+import com.ureca.web.catalog.ContentChangedEvent;
+import com.ureca.web.dto.CacheStatsResponse;
+import com.ureca.web.dto.ContentResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.function.Supplier;
+
+/**
+ * 콘텐츠 상세 응답 캐시 (id → ContentResponse)
+ *
+ * 상세 조회마다 엔티티를 읽어 응답으로 바꾸지 않도록 저장하고,
+ * 관리자 수정/삭제, 찜 수 변경(커밋 후 이벤트) 때 해당 id만 지운다.
+ * 조회수는 자주 바뀌므로 캐시 값에 반영하지 않고 호출하는 쪽에서 최신 값을 덮어쓴다.
+ */
+@Slf4j
+@Component
+public class ContentDetailCache implements CacheStatsSource {
+
+    private final BoundedCache<Long, ContentResponse> cache;
+
+    public ContentDetailCache(
+            @Value("${content.detail-cache.max-size:10000}") int maxSize,
+            @Value("${content.detail-cache.ttl-ms:600000}") long ttlMillis) {
+        this.cache = new BoundedCache<>("contentDetails", maxSize, ttlMillis);
+    }
+
+    /**
+     * 상세 응답 조회, 없으면 loader로 읽어서 저장 (반환값은 복사본이므로 수정해도 된다)
+     */
+    public ContentResponse get(Long id, Supplier<ContentResponse> loader) {
+        ContentResponse cached = cache.get(id, loader);
+        return cached != null ? cached.toBuilder().build() : null;
+    }
+
+    @Order(20)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        if (event.getType() == ContentChangedEvent.Type.RELOADED) {
+            cache.clear();
+        } else {
+            cache.invalidate(event.getContentId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${content.detail-cache.sweep-interval-ms:60000}")
+    public void sweep() {
+        cache.sweep();
+        log.debug("콘텐츠 상세 캐시 정리 - 크기: {}", cache.size());
+    }
+
+    @Override
+    public CacheStatsResponse getCacheStats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,188 @@
+package com.ureca.web.cache;
+
+import com.ureca.web.dto.CacheStatsResponse;
+import com.ureca.web.dto.PendingWatch;
+import com.ureca.web.dto.WatchHistoryResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * 사용자별 이어보기 목록 (최근 시청순, 최대 limit개)
+ *
+ * 처음 조회할 때 DB에서 limit + 1개를 읽어 채우고, 이후에는 하트비트/완료/삭제 때마다
+ * 목록을 직접 갱신한다. 목록 밖의 콘텐츠가 들어오거나, 잘린 목록에서 항목이 빠지면
+ * 콘텐츠 정보나 다음 항목을 알 수 없으므로 그 사용자 목록만 다시 로딩한다.
+ * write-behind 버퍼에만 있는 새 콘텐츠는 다시 로딩해도 DB에 없으므로, 버퍼가 반영된 뒤
+ * 그 콘텐츠가 빠진 목록을 한 번 더 지운다 (그래서 빠져 있는 시간은 최대 flush 주기).
+ * 사용자 수(근사 LRU)와 TTL 제한, 로딩 도중 변경된 목록을 넣지 않는 처리는 BoundedCache가 맡는다.
+ */
+@Slf4j
+@Component
+public class ContinueWatchingIndex implements CacheStatsSource {
+
+    private final int limit;
+    private final BoundedCache<Long, UserList> cache;
+
+    public ContinueWatchingIndex(
+            @Value("${watch-history.continue-watching.limit:20}") int limit,
+            @Value("${watch-history.continue-watching.max-users:50000}") int maxUsers,
+            @Value("${watch-history.continue-watching.ttl-ms:1800000}") long ttlMillis) {
+        this.limit = limit;
+        this.cache = new BoundedCache<>("continueWatching", maxUsers, ttlMillis);
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * 이어보기 목록 조회, 없으면 loader(최대 개수)로 읽어서 저장
+     * 반환값은 복사본이므로 호출자가 수정해도 된다.
+     */
+    public List<WatchHistoryResponse> get(Long userId, IntFunction<List<WatchHistoryResponse>> loader) {
+        UserList list = cache.get(userId, () -> {
+            List<WatchHistoryResponse> loaded = loader.apply(limit + 1);
+            WatchHistoryResponse[] items = loaded.stream()
+                    .limit(limit)
+                    .map(item -> item.toBuilder().build())
+                    .toArray(WatchHistoryResponse[]::new);
+            return new UserList(items, loaded.size() > limit);
+        });
+        return copyOf(list.items);
+    }
+
+    /**
+     * 하트비트 반영 - 시청 중이면 맨 앞으로, 완료되면 목록에서 제거
+     */
+    public void apply(PendingWatch pending) {
+        cache.update(pending.getUserId(), list -> {
+            int index = list.indexOf(pending.getContentId());
+            boolean completed = Boolean.TRUE.equals(pending.getCompleted());
+
+            if (index < 0) {
+                // 목록에 없던 콘텐츠 - 완료 표시만이면 변화 없음, 아니면 콘텐츠 정보가 필요하므로 다시 로딩
+                return completed ? list : null;
+            }
+
+            WatchHistoryResponse updated = list.items[index].toBuilder().build().applyPending(pending);
+            if (Boolean.TRUE.equals(updated.getCompleted())) {
+                return list.truncated ? null : list.without(index);
+            }
+            return list.movedToFront(index, updated);
+        });
+    }
+
+    /**
+     * 시청 기록 삭제 반영
+     */
+    public void remove(Long userId, Long contentId) {
+        cache.update(userId, list -> {
+            int index = list.indexOf(contentId);
+            if (index < 0) {
+                return list;
+            }
+            return list.truncated ? null : list.without(index);
+        });
+    }
+
+    /**
+     * 트랜잭션 커밋 후 삭제 반영 (커밋 전에 반영하면 그 사이 다시 읽은 목록에 삭제 전 기록이 남음)
+     */
+    public void removeAfterCommit(Long userId, Long contentId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            remove(userId, contentId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                remove(userId, contentId);
+            }
+        });
+    }
+
+    /**
+     * 버퍼의 하트비트가 DB에 반영된 뒤 호출 - 반영 전에 읽어서 그 콘텐츠가 빠진 목록을 지움
+     * (세대도 올려서 반영 전에 시작한 로딩이 빠진 목록을 넣지 못하게 함)
+     */
+    public void flushed(Collection<PendingWatch> batch) {
+        for (PendingWatch watch : batch) {
+            if (Boolean.TRUE.equals(watch.getCompleted())) {
+                continue;
+            }
+            cache.update(watch.getUserId(), list -> list.indexOf(watch.getContentId()) < 0 ? null : list);
+        }
+    }
+
+    public void invalidate(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    /**
+     * 만료된 목록 제거 후 사용자 수가 최대치를 넘으면 가장 오래 조회되지 않은 목록부터 제거
+     */
+    @Scheduled(fixedDelayString = "${watch-history.continue-watching.sweep-interval-ms:60000}")
+    public void sweep() {
+        cache.sweep();
+        log.debug("이어보기 목록 정리 - 사용자 수: {}", cache.size());
+    }
+
+    @Override
+    public CacheStatsResponse getCacheStats() {
+        return cache.stats();
+    }
+
+    private static List<WatchHistoryResponse> copyOf(WatchHistoryResponse[] items) {
+        List<WatchHistoryResponse> copy = new ArrayList<>(items.length);
+        for (WatchHistoryResponse item : items) {
+            copy.add(item.toBuilder().build());
+        }
+        return copy;
+    }
+
+    /**
+     * 한 사용자의 이어보기 목록 (불변, 변경 시 새 배열로 교체)
+     */
+    private static final class UserList {
+        private final WatchHistoryResponse[] items;
+        private final boolean truncated;    // DB에 limit개보다 더 많은 항목이 있음
+
+        private UserList(WatchHistoryResponse[] items, boolean truncated) {
+            this.items = items;
+            this.truncated = truncated;
+        }
+
+        private int indexOf(Long contentId) {
+            for (int i = 0; i < items.length; i++) {
+                if (items[i].getContentId().equals(contentId)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private UserList movedToFront(int index, WatchHistoryResponse updated) {
+            WatchHistoryResponse[] next = new WatchHistoryResponse[items.length];
+            next[0] = updated;
+            System.arraycopy(items, 0, next, 1, index);
+            System.arraycopy(items, index + 1, next, index + 1, items.length - index - 1);
+            return new UserList(next, truncated);
+        }
+
+        private UserList without(int index) {
+            WatchHistoryResponse[] next = new WatchHistoryResponse[items.length - 1];
+            System.arraycopy(items, 0, next, 0, index);
+            System.arraycopy(items, index + 1, next, index, items.length - index - 1);
+            return new UserList(next, truncated);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.ureca.web.cache;
+
+import com.ureca.web.catalog.ContentChangedEvent;
+import com.ureca.web.catalog.SearchIndex;
+import com.ureca.web.dto.CacheStatsResponse;
+import com.ureca.web.dto.ContentResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+/**
+ * 목록 필터(타입, 장르, 검색어)별 전체 개수 캐시
+ *
+ * 페이지마다 전체 개수를 다시 세지 않도록 필터별로 저장한다.
+ * 콘텐츠가 추가/수정/삭제되면 변경 전후로 일치 여부가 달라진 필터만 지우고,
+ * DB를 직접 수정한 경우(주기적 재로딩)에 대비해 TTL을 둔다.
+ * 전체 다시 로딩 뒤 검색 색인은 별도 스레드에서 다시 만들어지므로, 그 사이 센 검색어 개수는 TTL까지 남을 수 있다.
+ */
+@Slf4j
+@Component
+public class FilterCountCache implements CacheStatsSource {
+
+    private final BoundedCache<Key, Long> cache;
+
+    public FilterCountCache(
+            @Value("${content.count-cache.max-size:1000}") int maxSize,
+            @Value("${content.count-cache.ttl-ms:300000}") long ttlMillis) {
+        this.cache = new BoundedCache<>("filterCounts", maxSize, ttlMillis);
+    }
+
+    /**
+     * 필터의 전체 개수 (없으면 counter로 세서 저장)
+     * 검색어가 있으면 장르 조건은 쓰지 않으므로 genre에 null을 넘긴다.
+     */
+    public long get(String contentType, String genre, String keyword, LongSupplier counter) {
+        Key key = new Key(contentType, genre,
+                keyword != null && !keyword.isBlank() ? keyword.trim().toLowerCase(Locale.ROOT) : null);
+        return cache.get(key, counter::getAsLong);
+    }
+
+    // 스냅샷과 검색 색인이 먼저 바뀐 뒤 무효화해야 다시 센 값이 최신
+    @Order(20)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        if (event.getType() == ContentChangedEvent.Type.RELOADED) {
+            cache.clear();
+            return;
+        }
+
+        ContentResponse before = event.getBefore();
+        ContentResponse after = event.getAfter();
+        cache.invalidateIf((key, count) -> key.matches(before) != key.matches(after));
+    }
+
+    @Scheduled(fixedDelayString = "${content.count-cache.sweep-interval-ms:60000}")
+    public void sweep() {
+        cache.sweep();
+        log.debug("목록 개수 캐시 정리 - 크기: {}", cache.size());
+    }
+
+    @Override
+    public CacheStatsResponse getCacheStats() {
+        return cache.stats();
+    }
+
+    private record Key(String contentType, String genre, String keyword) {
+
+        // 콘텐츠가 이 필터에 포함되는지 (null이면 포함되지 않음)
+        private boolean matches(ContentResponse content) {
+            return content != null
+                    && (contentType == null || contentType.equals(content.getContentType()))
+                    && (genre == null || genre.equals(content.getGenre()))
+                    && (keyword == null || SearchIndex.contains(content, keyword));
+        }
+    }
+}
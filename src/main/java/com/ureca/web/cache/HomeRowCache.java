@@ -0,0 +1,115 @@
+package com.ureca.web.cache;
+
+import com.ureca.web.catalog.CatalogSnapshot;
+import com.ureca.web.catalog.ContentChangedEvent;
+import com.ureca.web.catalog.ViewCountsFlushedEvent;
+import com.ureca.web.dto.CacheStatsResponse;
+import com.ureca.web.dto.ContentResponse;
+import com.ureca.web.entity.Content;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 홈 화면 목록(인기순, 최신순, 추천) 응답 캐시
+ *
+ * (정렬 기준, 타입, 개수)별로 응답 목록을 저장한다.
+ * 콘텐츠가 바뀌면 그 콘텐츠가 들어 있는 목록과, 새로 들어올 수 있는 목록(같은 타입이면서 정렬 값이 바뀜)만 지운다.
+ * 조회수가 반영되면 인기순 목록만 지운다. 목록의 조회수는 스냅샷에 반영된 값이다.
+ */
+@Slf4j
+@Component
+public class HomeRowCache implements CacheStatsSource {
+
+    // loadVersion - 주기적 재로딩(이벤트 없음) 이후에는 이전 스냅샷으로 만든 목록을 쓰지 않도록
+    public record Key(long loadVersion, CatalogSnapshot.Ordering ordering, Content.ContentType contentType, int limit) {
+    }
+
+    private final BoundedCache<Key, List<ContentResponse>> cache;
+
+    public HomeRowCache(
+            @Value("${content.home-cache.max-size:200}") int maxSize,
+            @Value("${content.home-cache.ttl-ms:60000}") long ttlMillis) {
+        this.cache = new BoundedCache<>("homeRows", maxSize, ttlMillis);
+    }
+
+    /**
+     * 목록 조회, 없으면 loader로 만들어서 저장 (반환값은 복사본이므로 수정해도 된다)
+     */
+    public List<ContentResponse> get(Key key, Supplier<List<ContentResponse>> loader) {
+        return cache.get(key, () -> List.copyOf(loader.get())).stream()
+                .map(content -> content.toBuilder().build())
+                .collect(Collectors.toList());
+    }
+
+    // 스냅샷과 순위표가 먼저 바뀐 뒤 지워야 다시 만든 목록이 최신
+    @Order(20)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        if (event.getType() == ContentChangedEvent.Type.RELOADED) {
+            cache.clear();
+            return;
+        }
+
+        Long id = event.getContentId();
+        ContentResponse before = event.getBefore();
+        ContentResponse after = event.getAfter();
+        cache.invalidateIf((key, row) -> contains(row, id) || mayEnter(key, before, after));
+    }
+
+    @Order(20)
+    @EventListener
+    public void onViewCountsFlushed(ViewCountsFlushedEvent event) {
+        if (!event.getDeltas().isEmpty()) {
+            cache.invalidateIf((key, row) -> key.ordering() == CatalogSnapshot.Ordering.POPULAR);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${content.home-cache.sweep-interval-ms:60000}")
+    public void sweep() {
+        cache.sweep();
+        log.debug("홈 목록 캐시 정리 - 크기: {}", cache.size());
+    }
+
+    @Override
+    public CacheStatsResponse getCacheStats() {
+        return cache.stats();
+    }
+
+    private static boolean contains(List<ContentResponse> row, Long id) {
+        for (ContentResponse content : row) {
+            if (content.getId().equals(id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 목록에 없던 콘텐츠가 새로 들어올 수 있는지 (추가, 타입 변경, 정렬 값 변경)
+    private static boolean mayEnter(Key key, ContentResponse before, ContentResponse after) {
+        if (after == null) {
+            return false;
+        }
+        if (key.contentType() != null && !key.contentType().name().equals(after.getContentType())) {
+            return false;
+        }
+        if (before == null || !Objects.equals(before.getContentType(), after.getContentType())) {
+            return true;
+        }
+        return switch (key.ordering()) {
+            case LATEST -> !Objects.equals(before.getCreatedAt(), after.getCreatedAt());
+            case RATING -> !Objects.equals(before.getRating(), after.getRating());
+            case POPULAR -> !Objects.equals(before.getViewCount(), after.getViewCount());
+            case TITLE -> !Objects.equals(before.getTitle(), after.getTitle());
+        };
+    }
+}
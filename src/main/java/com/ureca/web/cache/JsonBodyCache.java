@@ -0,0 +1,94 @@
+package com.ureca.web.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ureca.web.dto.ApiResponse;
+import com.ureca.web.dto.CacheStatsResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 직렬화된 응답 본문 캐시 (키 → ApiResponse JSON UTF-8 바이트 + gzip 바이트)
+ *
+ * 상세/인기/최신처럼 같은 응답이 반복되는 조회는 매번 ApiResponse로 감싸 Jackson으로 직렬화하지 않고
+ * 만들어 둔 바이트를 그대로 응답 스트림에 쓴다.
+ * 저장 값마다 버전(stamp)을 두고, 요청 시점의 버전과 다르면 다시 직렬화해서 바꾼다
+ * (목록은 스냅샷 ETag, 상세는 수정 시각/조회수/찜 수) - 그래서 변경 이벤트를 따로 받지 않는다.
+ */
+@Slf4j
+@Component
+public class JsonBodyCache implements CacheStatsSource {
+
+    /**
+     * 직렬화된 본문 (gzip은 gzip-min-bytes보다 작으면 null - 압축해도 거의 줄지 않음)
+     */
+    public record Body(String stamp, byte[] json, byte[] gzip) {
+    }
+
+    private final BoundedCache<String, Body> cache;
+    private final ObjectMapper objectMapper;
+    private final int gzipMinBytes;
+
+    public JsonBodyCache(
+            ObjectMapper objectMapper,
+            @Value("${content.body-cache.max-size:2000}") int maxSize,
+            @Value("${content.body-cache.ttl-ms:600000}") long ttlMillis,
+            @Value("${content.body-cache.gzip-min-bytes:1024}") int gzipMinBytes) {
+        this.cache = new BoundedCache<>("jsonBodies", maxSize, ttlMillis);
+        this.objectMapper = objectMapper;
+        this.gzipMinBytes = gzipMinBytes;
+    }
+
+    /**
+     * stamp 버전의 본문 조회, 없거나 버전이 다르면 data를 ApiResponse.success로 감싸 직렬화해서 저장
+     */
+    public Body get(String key, String stamp, Supplier<?> data) {
+        return cache.get(key, body -> Objects.equals(body.stamp(), stamp), () -> serialize(stamp, data.get()));
+    }
+
+    /**
+     * 저장하지 않고 직렬화만 (사용자별 응답처럼 다시 쓸 일이 적은 본문)
+     */
+    public Body serialize(Object data) {
+        return serialize(null, data);
+    }
+
+    @Scheduled(fixedDelayString = "${content.body-cache.sweep-interval-ms:60000}")
+    public void sweep() {
+        cache.sweep();
+        log.debug("응답 본문 캐시 정리 - 크기: {}", cache.size());
+    }
+
+    @Override
+    public CacheStatsResponse getCacheStats() {
+        return cache.stats();
+    }
+
+    private Body serialize(String stamp, Object data) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(ApiResponse.success(data));
+            return new Body(stamp, json, json.length >= gzipMinBytes ? gzip(json) : null);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("응답 직렬화 실패: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,103 @@
+package com.ureca.web.cache;
+
+import com.ureca.web.dto.CacheStatsResponse;
+import com.ureca.web.dto.PendingWatch;
+import com.ureca.web.dto.WatchHistoryResponse;
+import com.ureca.web.util.WatchKey;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * 이어보기 위치 인메모리 저장소
+ *
+ * (userId, contentId)를 long 하나로 압축한 키로 조회하며, 없으면 DB에서 한 번 읽어 채운다.
+ * 시청 기록이 없다는 사실도 저장해서 처음 여는 콘텐츠도 DB를 다시 조회하지 않는다.
+ * 저장/삭제 시 갱신되고, 크기(근사 LRU)와 TTL로 제한된다 (BoundedCache, 시청 기록 없음은 빈 Optional).
+ * write-behind 버퍼에만 있던 기록은 DB에 없으므로 "기록 없음"으로 읽혔을 수 있어, 버퍼가 반영된 뒤 그 값을 지운다.
+ */
+@Slf4j
+@Component
+public class ResumePositionStore implements CacheStatsSource {
+
+    private final BoundedCache<Long, Optional<WatchHistoryResponse>> cache;
+
+    public ResumePositionStore(
+            @Value("${watch-history.resume-store.max-size:100000}") int maxSize,
+            @Value("${watch-history.resume-store.ttl-ms:1800000}") long ttlMillis) {
+        this.cache = new BoundedCache<>("resumePositions", maxSize, ttlMillis);
+    }
+
+    /**
+     * 저장된 위치 조회, 없으면 loader로 읽어서 저장 (시청 기록이 없으면 null)
+     * 반환값은 복사본이므로 호출자가 수정해도 된다.
+     */
+    public WatchHistoryResponse get(Long userId, Long contentId, Supplier<WatchHistoryResponse> loader) {
+        Optional<WatchHistoryResponse> stored = cache.get(WatchKey.pack(userId, contentId),
+                () -> Optional.ofNullable(loader.get()));
+        return stored.map(value -> value.toBuilder().build()).orElse(null);
+    }
+
+    /**
+     * 저장된 시청 위치에 새 하트비트 반영 (없는 키는 다음 조회 때 로딩)
+     */
+    public void apply(PendingWatch pending) {
+        cache.update(WatchKey.pack(pending.getUserId(), pending.getContentId()), stored -> stored
+                // 기록 없음이었으면 새 시청 기록 - 콘텐츠 정보가 필요하므로 다음 조회 때 다시 로딩
+                .map(value -> Optional.of(value.toBuilder().build().applyPending(pending)))
+                .orElse(null));
+    }
+
+    public void invalidate(Long userId, Long contentId) {
+        cache.invalidate(WatchKey.pack(userId, contentId));
+    }
+
+    /**
+     * 트랜잭션 커밋 후 제거 (시청 기록 삭제)
+     * 커밋 전에 지우면 그 사이 다시 읽은 삭제 전 기록이 TTL 동안 남을 수 있다.
+     */
+    public void invalidateAfterCommit(Long userId, Long contentId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(userId, contentId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(userId, contentId);
+            }
+        });
+    }
+
+    /**
+     * 버퍼의 하트비트가 DB에 반영된 뒤 호출 - 반영 전에 읽어 둔 "기록 없음"을 지움
+     * (세대도 올려서 반영 전에 시작한 로딩이 "기록 없음"을 넣지 못하게 함)
+     */
+    public void flushed(Collection<PendingWatch> batch) {
+        for (PendingWatch watch : batch) {
+            cache.update(WatchKey.pack(watch.getUserId(), watch.getContentId()),
+                    stored -> stored.isPresent() ? stored : null);
+        }
+    }
+
+    /**
+     * 만료된 항목 제거 후 크기를 넘으면 가장 오래 조회되지 않은 항목부터 제거
+     */
+    @Scheduled(fixedDelayString = "${watch-history.resume-store.sweep-interval-ms:30000}")
+    public void sweep() {
+        cache.sweep();
+        log.debug("이어보기 위치 저장소 정리 - 크기: {}", cache.size());
+    }
+
+    @Override
+    public CacheStatsResponse getCacheStats() {
+        return cache.stats();
+    }
+}
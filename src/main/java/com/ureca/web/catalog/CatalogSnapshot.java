@@ -0,0 +1,698 @@
+package com.ureca.web.catalog;
+
+import com.ureca.web.dto.ContentListResponse;
+import com.ureca.web.dto.ContentResponse;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * 콘텐츠 카탈로그 불변 스냅샷
+ *
+ * 전체 contents 행을 id 오름차순 순번(ordinal)으로 두고, 필터/정렬에 쓰는 값은 원시 타입 배열로,
+ * 종류가 적은 문자열(장르, 타입, 국가, 언어, 연령 등급)은 사전 코드로 저장한다.
+ * 최신순/평점순/인기순/제목순 정렬은 미리 만들어 두므로 목록 조회는 필터 후 잘라내기만 한다.
+ * 변경은 항상 새 스냅샷을 만들어서 반영한다 (기존 스냅샷을 읽는 요청에는 영향 없음).
+ */
+public final class CatalogSnapshot {
+
+    public enum Ordering {
+        LATEST, RATING, POPULAR, TITLE;
+
+        public static Ordering from(String sortBy) {
+            if (sortBy == null) {
+                return LATEST;
+            }
+            return switch (sortBy) {
+                case "rating" -> RATING;
+                case "popular" -> POPULAR;
+                case "title" -> TITLE;
+                default -> LATEST;
+            };
+        }
+    }
+
+    private static final int NOT_FOUND = -2;
+
+    @Getter
+    private final long version;
+    @Getter
+    private final long loadVersion;     // 전체 로딩 시점의 버전 (이후 변경으로 만든 스냅샷도 유지)
+    private final Columns columns;
+    private final int[][] orderings;    // Ordering.ordinal() → 정렬된 순번
+    private volatile FacetIndex facets; // 처음 쓸 때 생성 (동시에 만들어져도 결과는 같음)
+
+    private CatalogSnapshot(long version, long loadVersion, Columns columns, int[][] orderings) {
+        this.version = version;
+        this.loadVersion = loadVersion;
+        this.columns = columns;
+        this.orderings = orderings;
+    }
+
+    public static CatalogSnapshot build(List<ContentResponse> rows, long version) {
+        ContentResponse[] sorted = rows.stream()
+                .sorted((a, b) -> Long.compare(a.getId(), b.getId()))
+                .toArray(ContentResponse[]::new);
+        long[] viewCounts = Arrays.stream(sorted)
+                .mapToLong(row -> row.getViewCount() != null ? row.getViewCount() : 0L)
+                .toArray();
+        Columns columns = new Columns(sorted, viewCounts);
+
+        int[][] orderings = new int[Ordering.values().length][];
+        for (Ordering ordering : Ordering.values()) {
+            orderings[ordering.ordinal()] = IntStream.range(0, sorted.length)
+                    .boxed()
+                    .sorted((a, b) -> columns.compare(ordering, a, b))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+        return new CatalogSnapshot(version, version, columns, orderings);
+    }
+
+    // ==================== 조회 ====================
+
+    public int size() {
+        return columns.rows.length;
+    }
+
+    /**
+     * id의 순번 (없으면 음수)
+     */
+    public int ordinalOf(long id) {
+        return Arrays.binarySearch(columns.ids, id);
+    }
+
+    public long idAt(int ordinal) {
+        return columns.ids[ordinal];
+    }
+
+    public long viewCountAt(int ordinal) {
+        return columns.viewCounts[ordinal];
+    }
+
+    public int[] ordering(Ordering ordering) {
+        return orderings[ordering.ordinal()];
+    }
+
+    /**
+     * 스냅샷이 가진 원본 행 (읽기 전용, 색인 생성용)
+     */
+    ContentResponse row(int ordinal) {
+        return columns.rows[ordinal];
+    }
+
+    /**
+     * 응답용 복사본 (조회수는 스냅샷의 최신 값)
+     */
+    public ContentResponse response(int ordinal) {
+        ContentResponse copy = columns.rows[ordinal].toBuilder().build();
+        copy.setViewCount(columns.viewCounts[ordinal]);
+        return copy;
+    }
+
+    /**
+     * 목록 카드 (행 전체를 복사하지 않고 카드 값만)
+     */
+    public ContentListResponse.ContentCard card(int ordinal) {
+        return ContentListResponse.ContentCard.from(columns.rows[ordinal]);
+    }
+
+    /**
+     * 타입/장르 조건 (null인 조건은 무시, 사전에 없는 값이면 아무것도 일치하지 않음)
+     */
+    public IntPredicate matching(String contentType, String genre) {
+        int typeCode = contentType != null ? columns.contentTypes.code(contentType) : -1;
+        int genreCode = genre != null ? columns.genres.code(genre) : -1;
+
+        if (typeCode == NOT_FOUND || genreCode == NOT_FOUND) {
+            return ordinal -> false;
+        }
+
+        IntPredicate predicate = ordinal -> true;
+        if (typeCode >= 0) {
+            predicate = predicate.and(ordinal -> columns.contentTypeCodes[ordinal] == typeCode);
+        }
+        if (genreCode >= 0) {
+            predicate = predicate.and(ordinal -> columns.genreCodes[ordinal] == genreCode);
+        }
+        return predicate;
+    }
+
+    /**
+     * 필터 항목별 값 집합
+     */
+    public FacetIndex facets() {
+        FacetIndex current = facets;
+        if (current == null) {
+            current = FacetIndex.build(this);
+            facets = current;
+        }
+        return current;
+    }
+
+    /**
+     * id 목록(오름차순)의 순번 집합 (검색 결과를 필터 항목과 교집합할 때)
+     */
+    public OrdinalBitmap bitmapOf(long[] ids) {
+        int[] ordinals = new int[ids.length];
+        int count = 0;
+        for (long id : ids) {
+            int ordinal = ordinalOf(id);
+            if (ordinal >= 0) {
+                ordinals[count++] = ordinal;
+            }
+        }
+        return OrdinalBitmap.of(ordinals, count, columns.rows.length);
+    }
+
+    /**
+     * id 목록에 포함된 항목만 (검색 결과 등)
+     */
+    public IntPredicate containing(long[] ids) {
+        BitSet members = new BitSet(columns.rows.length);
+        for (long id : ids) {
+            int ordinal = ordinalOf(id);
+            if (ordinal >= 0) {
+                members.set(ordinal);
+            }
+        }
+        return members::get;
+    }
+
+    /**
+     * 정렬 순서대로 조건에 맞는 항목 중 offset부터 limit개
+     * offset + limit + 1개를 찾으면 멈추므로 전체를 세지 않는다.
+     */
+    public Slice slice(Ordering ordering, IntPredicate filter, long offset, int limit) {
+        int[] order = orderings[ordering.ordinal()];
+        int[] ordinals = new int[Math.min(limit, order.length)];
+        int found = 0;
+        long skipped = 0;
+
+        for (int ordinal : order) {
+            if (!filter.test(ordinal)) {
+                continue;
+            }
+            if (skipped < offset) {
+                skipped++;
+                continue;
+            }
+            if (found == ordinals.length) {
+                return new Slice(ordinals, true);
+            }
+            ordinals[found++] = ordinal;
+        }
+        return new Slice(Arrays.copyOf(ordinals, found), false);
+    }
+
+    /**
+     * 조건에 맞는 항목 수
+     */
+    public long count(IntPredicate filter) {
+        long count = 0;
+        for (int ordinal = 0; ordinal < columns.rows.length; ordinal++) {
+            if (filter.test(ordinal)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 정렬 순서에서 after 바로 다음부터 조건에 맞는 항목 limit개 (after가 null이면 처음부터)
+     * 시작 위치는 이진 탐색으로 찾으므로 몇 번째 페이지든 비용이 같다.
+     */
+    public Slice after(Ordering ordering, IntPredicate filter, Position after, int limit) {
+        int[] order = orderings[ordering.ordinal()];
+        int start = 0;
+        if (after != null) {
+            int low = 0;
+            int high = order.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (columns.compare(ordering, after, order[mid]) >= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            start = low;
+        }
+
+        int[] ordinals = new int[Math.min(limit, order.length)];
+        int found = 0;
+        for (int i = start; i < order.length; i++) {
+            if (!filter.test(order[i])) {
+                continue;
+            }
+            if (found == ordinals.length) {
+                return new Slice(ordinals, true);
+            }
+            ordinals[found++] = order[i];
+        }
+        return new Slice(Arrays.copyOf(ordinals, found), false);
+    }
+
+    /**
+     * 정렬 순서에서 ordinal의 위치 (다음 페이지 커서용)
+     */
+    public Position positionOf(Ordering ordering, int ordinal) {
+        return switch (ordering) {
+            case LATEST -> new Position(ordering, columns.ids[ordinal], columns.createdAts[ordinal], 0, null);
+            case RATING -> new Position(ordering, columns.ids[ordinal], 0, columns.ratings[ordinal], null);
+            case POPULAR -> new Position(ordering, columns.ids[ordinal], columns.viewCounts[ordinal], 0, null);
+            case TITLE -> new Position(ordering, columns.ids[ordinal], 0, 0, columns.titles[ordinal]);
+        };
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Slice {
+        private final int[] ordinals;
+        private final boolean hasNext;
+    }
+
+    /**
+     * 정렬 위치 (정렬 기준 값 + id)
+     * 문자열로 바꾸면 클라이언트에 그대로 넘기는 불투명 커서가 된다.
+     */
+    @Getter
+    public static final class Position {
+        private final Ordering ordering;
+        private final long id;
+        private final long longKey;         // LATEST(생성 시각 ms), POPULAR(조회수)
+        private final double doubleKey;     // RATING
+        private final String stringKey;     // TITLE
+
+        private Position(Ordering ordering, long id, long longKey, double doubleKey, String stringKey) {
+            this.ordering = ordering;
+            this.id = id;
+            this.longKey = longKey;
+            this.doubleKey = doubleKey;
+            this.stringKey = stringKey;
+        }
+
+        /**
+         * 같은 정렬 기준의 위치 비교 (음수면 이 위치가 앞)
+         */
+        public int compareTo(Position other) {
+            int result = switch (ordering) {
+                case LATEST, POPULAR -> Long.compare(other.longKey, longKey);
+                case RATING -> Double.compare(other.doubleKey, doubleKey);
+                case TITLE -> stringKey.compareTo(other.stringKey);
+            };
+            if (result != 0) {
+                return result;
+            }
+            return ordering == Ordering.TITLE ? Long.compare(id, other.id) : Long.compare(other.id, id);
+        }
+
+        public String encode() {
+            String key = switch (ordering) {
+                case LATEST, POPULAR -> Long.toString(longKey);
+                case RATING -> Double.toString(doubleKey);
+                case TITLE -> stringKey;
+            };
+            String raw = ordering.name() + ":" + id + ":" + key;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * 커서 해석 (요청한 정렬과 다르거나 형식이 틀리면 IllegalArgumentException)
+         */
+        public static Position decode(String cursor, Ordering expected) {
+            Position position;
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                String[] parts = raw.split(":", 3);
+                Ordering ordering = Ordering.valueOf(parts[0]);
+                long id = Long.parseLong(parts[1]);
+                position = switch (ordering) {
+                    case LATEST, POPULAR -> new Position(ordering, id, Long.parseLong(parts[2]), 0, null);
+                    case RATING -> new Position(ordering, id, 0, Double.parseDouble(parts[2]), null);
+                    case TITLE -> new Position(ordering, id, 0, 0, parts[2]);
+                };
+            } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("잘못된 커서입니다.");
+            }
+            if (position.ordering != expected) {
+                throw new IllegalArgumentException("커서의 정렬 기준이 요청과 다릅니다.");
+            }
+            return position;
+        }
+    }
+
+    // ==================== 변경 (새 스냅샷 반환) ====================
+
+    /**
+     * 콘텐츠 추가 또는 교체
+     * 기존 콘텐츠의 조회수는 스냅샷 값을 유지 (조회수 반영 이벤트로 따로 갱신됨)
+     */
+    public CatalogSnapshot withRow(ContentResponse row, long version) {
+        int found = ordinalOf(row.getId());
+        if (found >= 0) {
+            ContentResponse[] rows = columns.rows.clone();
+            rows[found] = row;
+            Columns next = new Columns(rows, columns.viewCounts);
+            CatalogSnapshot snapshot = new CatalogSnapshot(version, loadVersion, next, reposition(next, found, copyOrderings()));
+            snapshot.facets = facets != null ? facets.with(found, columns.rows[found], row, rows.length) : null;
+            return snapshot;
+        }
+
+        int position = -found - 1;
+        int length = columns.rows.length;
+        ContentResponse[] rows = new ContentResponse[length + 1];
+        System.arraycopy(columns.rows, 0, rows, 0, position);
+        rows[position] = row;
+        System.arraycopy(columns.rows, position, rows, position + 1, length - position);
+
+        long[] viewCounts = new long[length + 1];
+        System.arraycopy(columns.viewCounts, 0, viewCounts, 0, position);
+        viewCounts[position] = row.getViewCount() != null ? row.getViewCount() : 0L;
+        System.arraycopy(columns.viewCounts, position, viewCounts, position + 1, length - position);
+
+        Columns next = new Columns(rows, viewCounts);
+        int[][] shifted = new int[orderings.length][];
+        for (int i = 0; i < orderings.length; i++) {
+            int[] order = new int[length + 1];
+            for (int j = 0; j < length; j++) {
+                int ordinal = orderings[i][j];
+                order[j] = ordinal >= position ? ordinal + 1 : ordinal;
+            }
+            order[length] = position;   // 맨 뒤에 두고 reposition에서 제자리로 이동
+            shifted[i] = order;
+        }
+        CatalogSnapshot snapshot = new CatalogSnapshot(version, loadVersion, next, reposition(next, position, shifted));
+        // 맨 뒤 추가(새 id)면 기존 순번이 그대로라 바뀐 값만 반영, 중간 삽입이면 다음 조회 때 다시 생성
+        snapshot.facets = facets != null && position == length ? facets.with(position, null, row, length + 1) : null;
+        return snapshot;
+    }
+
+    public CatalogSnapshot without(long id, long version) {
+        int removed = ordinalOf(id);
+        if (removed < 0) {
+            return this;
+        }
+
+        int length = columns.rows.length;
+        ContentResponse[] rows = new ContentResponse[length - 1];
+        System.arraycopy(columns.rows, 0, rows, 0, removed);
+        System.arraycopy(columns.rows, removed + 1, rows, removed, length - removed - 1);
+
+        long[] viewCounts = new long[length - 1];
+        System.arraycopy(columns.viewCounts, 0, viewCounts, 0, removed);
+        System.arraycopy(columns.viewCounts, removed + 1, viewCounts, removed, length - removed - 1);
+
+        int[][] next = new int[orderings.length][];
+        for (int i = 0; i < orderings.length; i++) {
+            int[] order = new int[length - 1];
+            int k = 0;
+            for (int ordinal : orderings[i]) {
+                if (ordinal != removed) {
+                    order[k++] = ordinal > removed ? ordinal - 1 : ordinal;
+                }
+            }
+            next[i] = order;
+        }
+        CatalogSnapshot snapshot = new CatalogSnapshot(version, loadVersion, new Columns(rows, viewCounts), next);
+        snapshot.facets = facets != null && removed == length - 1
+                ? facets.with(removed, columns.rows[removed], null, length - 1)
+                : null;
+        return snapshot;
+    }
+
+    /**
+     * DB에 반영된 조회수 증가분 적용 - 인기순은 바뀐 항목만 빼서 다시 끼워 넣음
+     */
+    public CatalogSnapshot withViewDeltas(Map<Long, Long> deltas, long version) {
+        long[] viewCounts = columns.viewCounts.clone();
+        boolean[] changed = new boolean[viewCounts.length];
+        int changedCount = 0;
+
+        for (Map.Entry<Long, Long> delta : deltas.entrySet()) {
+            int ordinal = ordinalOf(delta.getKey());
+            if (ordinal >= 0 && delta.getValue() != 0) {
+                viewCounts[ordinal] += delta.getValue();
+                if (!changed[ordinal]) {
+                    changed[ordinal] = true;
+                    changedCount++;
+                }
+            }
+        }
+        if (changedCount == 0) {
+            return this;
+        }
+
+        Columns next = columns.withViewCounts(viewCounts);
+        int[] popular = orderings[Ordering.POPULAR.ordinal()];
+
+        int[] moved = new int[changedCount];
+        int[] rest = new int[popular.length - changedCount];
+        int m = 0;
+        int r = 0;
+        for (int ordinal : popular) {
+            if (changed[ordinal]) {
+                moved[m++] = ordinal;
+            } else {
+                rest[r++] = ordinal;
+            }
+        }
+        moved = Arrays.stream(moved).boxed()
+                .sorted((a, b) -> next.compare(Ordering.POPULAR, a, b))
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        int[] merged = new int[popular.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < moved.length && j < rest.length) {
+            merged[k++] = next.compare(Ordering.POPULAR, moved[i], rest[j]) <= 0 ? moved[i++] : rest[j++];
+        }
+        while (i < moved.length) {
+            merged[k++] = moved[i++];
+        }
+        while (j < rest.length) {
+            merged[k++] = rest[j++];
+        }
+
+        int[][] nextOrderings = orderings.clone();
+        nextOrderings[Ordering.POPULAR.ordinal()] = merged;
+        CatalogSnapshot snapshot = new CatalogSnapshot(version, loadVersion, next, nextOrderings);
+        snapshot.facets = facets;   // 조회수는 필터 항목이 아님
+        return snapshot;
+    }
+
+    private int[][] copyOrderings() {
+        int[][] copies = new int[orderings.length][];
+        for (int i = 0; i < orderings.length; i++) {
+            copies[i] = orderings[i].clone();
+        }
+        return copies;
+    }
+
+    /**
+     * 각 정렬 배열에서 ordinal 하나를 빼고 새 값 기준 위치에 다시 넣음 (배열은 제자리 수정)
+     */
+    private static int[][] reposition(Columns next, int ordinal, int[][] orders) {
+        for (Ordering ordering : Ordering.values()) {
+            int[] order = orders[ordering.ordinal()];
+            int from = 0;
+            while (order[from] != ordinal) {
+                from++;
+            }
+            System.arraycopy(order, from + 1, order, from, order.length - from - 1);
+
+            // 마지막 칸을 제외한 정렬된 구간에서 삽입 위치 탐색
+            int low = 0;
+            int high = order.length - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (next.compare(ordering, order[mid], ordinal) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            System.arraycopy(order, low, order, low + 1, order.length - low - 1);
+            order[low] = ordinal;
+        }
+        return orders;
+    }
+
+    // ==================== 컬럼 저장소 ====================
+
+    private static final class Columns {
+        private final ContentResponse[] rows;
+        private final long[] ids;
+        private final int[] years;
+        private final double[] ratings;
+        private final long[] viewCounts;
+        private final long[] likeCounts;
+        private final long[] createdAts;
+        private final String[] titles;
+
+        private final Dictionary genres;
+        private final Dictionary contentTypes;
+        private final Dictionary countries;
+        private final Dictionary languages;
+        private final Dictionary ageRatings;
+        private final short[] genreCodes;
+        private final short[] contentTypeCodes;
+        private final short[] countryCodes;
+        private final short[] languageCodes;
+        private final short[] ageRatingCodes;
+
+        private Columns(ContentResponse[] rows, long[] viewCounts) {
+            int n = rows.length;
+            this.rows = rows;
+            this.viewCounts = viewCounts;
+            this.ids = new long[n];
+            this.years = new int[n];
+            this.ratings = new double[n];
+            this.likeCounts = new long[n];
+            this.createdAts = new long[n];
+            this.titles = new String[n];
+            this.genreCodes = new short[n];
+            this.contentTypeCodes = new short[n];
+            this.countryCodes = new short[n];
+            this.languageCodes = new short[n];
+            this.ageRatingCodes = new short[n];
+
+            Dictionary.Builder genres = new Dictionary.Builder();
+            Dictionary.Builder contentTypes = new Dictionary.Builder();
+            Dictionary.Builder countries = new Dictionary.Builder();
+            Dictionary.Builder languages = new Dictionary.Builder();
+            Dictionary.Builder ageRatings = new Dictionary.Builder();
+
+            for (int i = 0; i < n; i++) {
+                ContentResponse row = rows[i];
+                ids[i] = row.getId();
+                years[i] = row.getYear() != null ? row.getYear() : 0;
+                ratings[i] = row.getRating() != null ? row.getRating() : 0.0;
+                likeCounts[i] = row.getLikeCount() != null ? row.getLikeCount() : 0L;
+                createdAts[i] = row.getCreatedAt() != null
+                        ? row.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                        : Long.MIN_VALUE;
+                titles[i] = row.getTitle() != null ? row.getTitle() : "";
+                genreCodes[i] = genres.encode(row.getGenre());
+                contentTypeCodes[i] = contentTypes.encode(row.getContentType());
+                countryCodes[i] = countries.encode(row.getCountry());
+                languageCodes[i] = languages.encode(row.getLanguage());
+                ageRatingCodes[i] = ageRatings.encode(row.getAgeRating());
+            }
+
+            this.genres = genres.build();
+            this.contentTypes = contentTypes.build();
+            this.countries = countries.build();
+            this.languages = languages.build();
+            this.ageRatings = ageRatings.build();
+        }
+
+        private Columns(Columns source, long[] viewCounts) {
+            this.rows = source.rows;
+            this.ids = source.ids;
+            this.years = source.years;
+            this.ratings = source.ratings;
+            this.viewCounts = viewCounts;
+            this.likeCounts = source.likeCounts;
+            this.createdAts = source.createdAts;
+            this.titles = source.titles;
+            this.genres = source.genres;
+            this.contentTypes = source.contentTypes;
+            this.countries = source.countries;
+            this.languages = source.languages;
+            this.ageRatings = source.ageRatings;
+            this.genreCodes = source.genreCodes;
+            this.contentTypeCodes = source.contentTypeCodes;
+            this.countryCodes = source.countryCodes;
+            this.languageCodes = source.languageCodes;
+            this.ageRatingCodes = source.ageRatingCodes;
+        }
+
+        private Columns withViewCounts(long[] viewCounts) {
+            return new Columns(this, viewCounts);
+        }
+
+        /**
+         * 정렬 기준 비교 (동률이면 id로 순서 고정)
+         */
+        private int compare(Ordering ordering, int a, int b) {
+            int result = switch (ordering) {
+                case LATEST -> Long.compare(createdAts[b], createdAts[a]);
+                case RATING -> Double.compare(ratings[b], ratings[a]);
+                case POPULAR -> Long.compare(viewCounts[b], viewCounts[a]);
+                case TITLE -> titles[a].compareTo(titles[b]);
+            };
+            if (result != 0) {
+                return result;
+            }
+            return ordering == Ordering.TITLE ? Long.compare(ids[a], ids[b]) : Long.compare(ids[b], ids[a]);
+        }
+
+        /**
+         * 정렬 위치와 항목 비교 (compare와 같은 순서, 음수면 position이 앞)
+         */
+        private int compare(Ordering ordering, Position position, int b) {
+            int result = switch (ordering) {
+                case LATEST -> Long.compare(createdAts[b], position.longKey);
+                case RATING -> Double.compare(ratings[b], position.doubleKey);
+                case POPULAR -> Long.compare(viewCounts[b], position.longKey);
+                case TITLE -> position.stringKey.compareTo(titles[b]);
+            };
+            if (result != 0) {
+                return result;
+            }
+            return ordering == Ordering.TITLE ? Long.compare(position.id, ids[b]) : Long.compare(ids[b], position.id);
+        }
+    }
+
+    /**
+     * 문자열 사전 (코드 -1은 null)
+     */
+    private static final class Dictionary {
+        private final Map<String, Short> codes;
+
+        private Dictionary(Map<String, Short> codes) {
+            this.codes = codes;
+        }
+
+        private int code(String value) {
+            Short code = codes.get(value);
+            return code != null ? code : NOT_FOUND;
+        }
+
+        private static final class Builder {
+            private final Map<String, Short> codes = new HashMap<>();
+
+            private short encode(String value) {
+                if (value == null) {
+                    return -1;
+                }
+                Short code = codes.get(value);
+                if (code == null) {
+                    if (codes.size() >= Short.MAX_VALUE) {
+                        throw new IllegalStateException("사전 크기 초과: " + value);
+                    }
+                    code = (short) codes.size();
+                    codes.put(value, code);
+                }
+                return code;
+            }
+
+            private Dictionary build() {
+                return new Dictionary(Map.copyOf(codes));
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.ureca.web.catalog;
+
+import com.ureca.web.dto.ContentResponse;
+import com.ureca.web.repository.ContentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * 현재 카탈로그 스냅샷 보관
+ *
+ * 읽기는 volatile 참조 하나만 읽고, 변경(관리자 수정, 조회수 반영, 주기적 재로딩)은
+ * 잠금 안에서 새 스냅샷을 만든 뒤 참조를 교체한다 (copy-on-write).
+ * 처음 조회할 때 전체를 로딩하고, DB를 직접 수정한 경우에 대비해 주기적으로 다시 읽는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogSnapshotHolder {
+
+    private final ContentRepository contentRepository;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final AtomicLong versions = new AtomicLong();
+    private volatile CatalogSnapshot current;
+
+    // 순위표/캐시 등 다른 리스너까지 모두 반영된 버전 (ETag용, 응답이 ETag보다 오래된 경우가 없도록)
+    private volatile long settledVersion;
+    private volatile long settledAt;
+
+    // 서버를 다시 띄우면 버전이 1부터 시작하므로 ETag에 시작 시각을 붙임
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    public CatalogSnapshot current() {
+        CatalogSnapshot snapshot = current;
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        writeLock.lock();
+        try {
+            if (current == null) {
+                load();
+            }
+            return current;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 스냅샷으로 만드는 목록 응답의 ETag
+     */
+    public String etag() {
+        current();
+        return "\"" + epoch + "-" + settledVersion + "\"";
+    }
+
+    /**
+     * etag() 버전이 반영된 시각 (ms)
+     */
+    public long lastModified() {
+        current();
+        return settledAt;
+    }
+
+    /**
+     * DB에서 전체 다시 로딩
+     */
+    public void reload() {
+        writeLock.lock();
+        try {
+            load();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.refresh-interval-ms:300000}",
+               initialDelayString = "${catalog.refresh-interval-ms:300000}")
+    public void scheduledRefresh() {
+        if (current != null) {
+            reload();
+        }
+    }
+
+    // 스냅샷을 쓰는 다른 색인보다 먼저 반영
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        switch (event.getType()) {
+            case CREATED, UPDATED -> swap(snapshot -> snapshot.withRow(event.getAfter(), versions.incrementAndGet()));
+            case DELETED -> swap(snapshot -> snapshot.without(event.getContentId(), versions.incrementAndGet()));
+            case RELOADED -> {
+                if (current != null) {
+                    reload();
+                }
+            }
+        }
+    }
+
+    @Order(0)
+    @EventListener
+    public void onViewCountsFlushed(ViewCountsFlushedEvent event) {
+        swap(snapshot -> snapshot.withViewDeltas(event.getDeltas(), versions.incrementAndGet()));
+    }
+
+    // 모든 리스너가 반영한 뒤
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChangeApplied(ContentChangedEvent event) {
+        settle();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @EventListener
+    public void onViewCountsApplied(ViewCountsFlushedEvent event) {
+        settle();
+    }
+
+    private void settle() {
+        CatalogSnapshot snapshot = current;
+        if (snapshot != null && snapshot.getVersion() != settledVersion) {
+            settledVersion = snapshot.getVersion();
+            settledAt = System.currentTimeMillis();
+        }
+    }
+
+    private void swap(UnaryOperator<CatalogSnapshot> change) {
+        writeLock.lock();
+        try {
+            // 아직 로딩 전이면 다음 조회 때 최신 상태로 로딩됨
+            if (current != null) {
+                current = change.apply(current);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void load() {
+        long startedAt = System.currentTimeMillis();
+        List<ContentResponse> rows = contentRepository.findAll().stream()
+                .map(ContentResponse::fromEntity)
+                .collect(Collectors.toList());
+        current = CatalogSnapshot.build(rows, versions.incrementAndGet());
+        settle();
+        log.info("📚 카탈로그 스냅샷 로딩 - {}건, {}ms", rows.size(), System.currentTimeMillis() - startedAt);
+    }
+}
@@ -0,0 +1,47 @@
+package com.ureca.web.catalog;
+
+import com.ureca.web.dto.ContentResponse;
+import lombok.Getter;
+
+/**
+ * 콘텐츠 변경 알림 (관리자 생성/수정/삭제, 찜 수 변경, 대량 등록)
+ * 커밋 이후에 카탈로그 스냅샷과 인메모리 인덱스들이 받아서 반영한다.
+ */
+@Getter
+public class ContentChangedEvent {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED, RELOADED
+    }
+
+    private final Type type;
+    private final Long contentId;
+    private final ContentResponse before;   // 생성이면 null
+    private final ContentResponse after;    // 삭제면 null
+
+    private ContentChangedEvent(Type type, Long contentId, ContentResponse before, ContentResponse after) {
+        this.type = type;
+        this.contentId = contentId;
+        this.before = before;
+        this.after = after;
+    }
+
+    public static ContentChangedEvent created(ContentResponse after) {
+        return new ContentChangedEvent(Type.CREATED, after.getId(), null, after);
+    }
+
+    public static ContentChangedEvent updated(ContentResponse before, ContentResponse after) {
+        return new ContentChangedEvent(Type.UPDATED, after.getId(), before, after);
+    }
+
+    public static ContentChangedEvent deleted(ContentResponse before) {
+        return new ContentChangedEvent(Type.DELETED, before.getId(), before, null);
+    }
+
+    /**
+     * 개별 변경을 알 수 없는 대량 변경 - 전체를 다시 로딩
+     */
+    public static ContentChangedEvent reloaded() {
+        return new ContentChangedEvent(Type.RELOADED, null, null, null);
+    }
+}
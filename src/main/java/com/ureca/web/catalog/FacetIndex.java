@@ -0,0 +1,218 @@
+package com.ureca.web.catalog;
+
+import com.ureca.web.dto.ContentResponse;
+import com.ureca.web.util.TagNormalizer;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 필터 항목(장르, 타입, 연도, 국가, 언어, 태그) 값별 콘텐츠 집합
+ *
+ * 값마다 해당하는 스냅샷 순번을 압축 비트맵으로 두고,
+ * 같은 항목 안의 여러 값은 합집합(matchAll 항목은 교집합), 항목끼리는 교집합으로 목록 조건을 만든다.
+ * 태그는 콘텐츠 하나에 여러 값이 있는 항목으로, 정규화한 태그가 사전 겸 게시 목록의 키가 된다.
+ * 값별 개수는 "다른 항목의 조건"과의 교집합 크기라서 이미 고른 항목의 다른 값 개수도 보여줄 수 있다.
+ * 스냅샷마다 처음 쓸 때 만들고, 수정/맨 뒤 추가는 바뀐 값의 비트맵만 새로 만든다.
+ */
+public final class FacetIndex {
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum Facet {
+        GENRE("genre"),
+        CONTENT_TYPE("contentType"),
+        YEAR("year"),
+        COUNTRY("country"),
+        LANGUAGE("language"),
+        TAG("tags");
+
+        private final String key;
+
+        private List<String> valuesOf(ContentResponse row) {
+            String value = switch (this) {
+                case GENRE -> row.getGenre();
+                case CONTENT_TYPE -> row.getContentType();
+                case YEAR -> row.getYear() != null ? row.getYear().toString() : null;
+                case COUNTRY -> row.getCountry();
+                case LANGUAGE -> row.getLanguage();
+                case TAG -> row.getTags();
+            };
+            if (this == TAG) {
+                return TagNormalizer.parse(value);
+            }
+            return value != null ? List.of(value) : List.of();
+        }
+    }
+
+    private static final Facet[] FACETS = Facet.values();
+
+    // 목록 응답의 facets 블록에 넣는 항목 (태그는 값이 많아 태그 클라우드로 따로 조회)
+    private static final Set<Facet> LISTED = EnumSet.complementOf(EnumSet.of(Facet.TAG));
+
+    private final int size;
+    private final Map<Facet, Map<String, OrdinalBitmap>> values;
+
+    private FacetIndex(int size, Map<Facet, Map<String, OrdinalBitmap>> values) {
+        this.size = size;
+        this.values = values;
+    }
+
+    static FacetIndex build(CatalogSnapshot snapshot) {
+        int size = snapshot.size();
+        Map<Facet, Map<String, OrdinalBitmap>> values = new EnumMap<>(Facet.class);
+
+        for (Facet facet : FACETS) {
+            // 값별 개수를 먼저 세고 순번 배열을 채움 (순번 오름차순으로 들어감)
+            List<List<String>> rowValues = new ArrayList<>(size);
+            Map<String, int[]> counts = new HashMap<>();
+            for (int ordinal = 0; ordinal < size; ordinal++) {
+                List<String> valuesOfRow = facet.valuesOf(snapshot.row(ordinal));
+                rowValues.add(valuesOfRow);
+                for (String value : valuesOfRow) {
+                    counts.computeIfAbsent(value, v -> new int[1])[0]++;
+                }
+            }
+
+            Map<String, int[]> members = new HashMap<>();
+            Map<String, int[]> filled = new HashMap<>();
+            counts.forEach((value, count) -> {
+                members.put(value, new int[count[0]]);
+                filled.put(value, new int[1]);
+            });
+            for (int ordinal = 0; ordinal < size; ordinal++) {
+                for (String value : rowValues.get(ordinal)) {
+                    members.get(value)[filled.get(value)[0]++] = ordinal;
+                }
+            }
+
+            Map<String, OrdinalBitmap> bitmaps = new HashMap<>();
+            members.forEach((value, ordinals) -> bitmaps.put(value, OrdinalBitmap.of(ordinals, ordinals.length, size)));
+            values.put(facet, Map.copyOf(bitmaps));
+        }
+        return new FacetIndex(size, values);
+    }
+
+    /**
+     * ordinal 한 건의 값이 before에서 after로 바뀐 색인 (null이면 없음)
+     * 순번이 그대로인 수정이나 맨 뒤 추가/삭제에만 쓸 수 있다.
+     */
+    FacetIndex with(int ordinal, ContentResponse before, ContentResponse after, int nextSize) {
+        Map<Facet, Map<String, OrdinalBitmap>> next = new EnumMap<>(Facet.class);
+        for (Facet facet : FACETS) {
+            List<String> previous = before != null ? facet.valuesOf(before) : List.of();
+            List<String> current = after != null ? facet.valuesOf(after) : List.of();
+            Map<String, OrdinalBitmap> bitmaps = values.get(facet);
+            if (nextSize == size && new HashSet<>(previous).equals(new HashSet<>(current))) {
+                next.put(facet, bitmaps);
+                continue;
+            }
+
+            Map<String, OrdinalBitmap> changed = new HashMap<>(bitmaps);
+            for (String value : previous) {
+                if (current.contains(value)) {
+                    continue;
+                }
+                OrdinalBitmap removed = changed.get(value).with(ordinal, false, nextSize);
+                if (removed.cardinality() == 0) {
+                    changed.remove(value);
+                } else {
+                    changed.put(value, removed);
+                }
+            }
+            for (String value : current) {
+                changed.put(value, changed.getOrDefault(value, OrdinalBitmap.empty()).with(ordinal, true, nextSize));
+            }
+            next.put(facet, Map.copyOf(changed));
+        }
+        return new FacetIndex(nextSize, next);
+    }
+
+    /**
+     * 선택한 값들에 해당하는 집합 (scope는 검색 결과 등 추가 조건, 아무 조건도 없으면 null)
+     * matchAll에 있는 항목은 고른 값을 모두 가진 콘텐츠만 (태그 match=all)
+     */
+    public OrdinalBitmap filter(Map<Facet, List<String>> selected, Set<Facet> matchAll, OrdinalBitmap scope) {
+        return intersect(selected, matchAll, scope, null);
+    }
+
+    /**
+     * 목록 응답용 항목별 값 개수 (태그 제외)
+     */
+    public Map<Facet, Map<String, Integer>> counts(Map<Facet, List<String>> selected, Set<Facet> matchAll,
+                                                   OrdinalBitmap scope) {
+        Map<Facet, Map<String, Integer>> result = new EnumMap<>(Facet.class);
+        for (Facet facet : LISTED) {
+            result.put(facet, counts(facet, selected, matchAll, scope));
+        }
+        return result;
+    }
+
+    /**
+     * 한 항목의 값별 개수 - 그 항목 자신의 선택은 빼고 나머지 조건만 적용 (선택한 값은 0개여도 포함)
+     */
+    public Map<String, Integer> counts(Facet facet, Map<Facet, List<String>> selected, Set<Facet> matchAll,
+                                       OrdinalBitmap scope) {
+        OrdinalBitmap base = intersect(selected, matchAll, scope, facet);
+        Map<String, Integer> counts = new HashMap<>();
+        values.get(facet).forEach((value, bitmap) -> {
+            int count = base != null ? base.andCardinality(bitmap) : bitmap.cardinality();
+            if (count > 0) {
+                counts.put(value, count);
+            }
+        });
+        for (String value : selected.getOrDefault(facet, List.of())) {
+            counts.putIfAbsent(value, 0);
+        }
+        return counts;
+    }
+
+    // skip 항목을 뺀 나머지 조건의 교집합 (작은 집합부터)
+    private OrdinalBitmap intersect(Map<Facet, List<String>> selected, Set<Facet> matchAll, OrdinalBitmap scope,
+                                    Facet skip) {
+        List<OrdinalBitmap> conditions = new ArrayList<>();
+        if (scope != null) {
+            conditions.add(scope);
+        }
+        for (Facet facet : FACETS) {
+            List<String> chosen = selected.get(facet);
+            if (facet == skip || chosen == null || chosen.isEmpty()) {
+                continue;
+            }
+            Map<String, OrdinalBitmap> bitmaps = values.get(facet);
+            if (matchAll.contains(facet)) {
+                for (String value : chosen) {
+                    conditions.add(bitmaps.getOrDefault(value, OrdinalBitmap.empty()));
+                }
+                continue;
+            }
+            List<OrdinalBitmap> union = new ArrayList<>(chosen.size());
+            for (String value : chosen) {
+                OrdinalBitmap bitmap = bitmaps.get(value);
+                if (bitmap != null) {
+                    union.add(bitmap);
+                }
+            }
+            conditions.add(OrdinalBitmap.union(union, size));
+        }
+        if (conditions.isEmpty()) {
+            return null;
+        }
+
+        conditions.sort(Comparator.comparingInt(OrdinalBitmap::cardinality));
+        OrdinalBitmap result = conditions.get(0);
+        for (int i = 1; i < conditions.size() && result.cardinality() > 0; i++) {
+            result = result.and(conditions.get(i));
+        }
+        return result;
+    }
+}
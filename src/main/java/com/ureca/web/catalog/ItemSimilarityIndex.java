@@ -0,0 +1,752 @@
+package com.ureca.web.catalog;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * 아이템 기반 협업 필터링 (찜 + 시청 기록 → 콘텐츠 간 코사인 유사도 → 사용자 맞춤 추천)
+ *
+ * 사용자-콘텐츠 상호작용(찜 2.0, 끝까지 본 시청 1.5, 그 외 시청 1.0, 같은 쌍은 큰 값)을
+ * 사용자별 행과 콘텐츠별 열(CSR, 정수 순번 + float 가중치 배열)로 두고,
+ * 콘텐츠마다 같은 사용자를 거치는 콘텐츠와의 내적을 모아 코사인 유사도 상위 k개 이웃만 남긴다.
+ * 콘텐츠 범위를 나눠 fork/join으로 병렬 계산한다 (상호작용이 너무 많은 사용자는 계산에서 제외).
+ * 추천은 사용자의 최근 콘텐츠들의 이웃 점수를 (가중치 × 최근일수록 큰 감쇠값)으로 더해서 이미 본 것을 뺀 순서.
+ *
+ * 새 찜/시청은 커밋 후 대기 목록에 넣어 바로 추천 입력(최근 콘텐츠, 제외 목록)에 반영하고,
+ * 주기적으로 행렬에 합친 뒤 바뀐 콘텐츠와 그 콘텐츠를 이웃으로 가진 콘텐츠만 다시 계산한다
+ * (그 밖의 콘텐츠 목록에는 바뀐 콘텐츠의 새 점수만 끼워 넣음).
+ * 찜 해제/기록 삭제와 근사로 남은 이웃은 전체 재생성(DB 다시 읽기) 때 정리된다.
+ * 모델은 불변이고 참조만 교체한다.
+ */
+@Slf4j
+@Component
+public class ItemSimilarityIndex {
+
+    public static final float FAVORITE_WEIGHT = 2.0f;
+    public static final float COMPLETED_WEIGHT = 1.5f;
+    public static final float WATCH_WEIGHT = 1.0f;
+
+    private static final String FAVORITES_SQL = "SELECT user_id, content_id, created_at FROM favorites";
+    private static final String WATCHES_SQL =
+            "SELECT user_id, content_id, completed, COALESCE(last_watched_at, created_at) FROM watch_history";
+
+    // 최근 콘텐츠 순위별 감쇠 (가장 최근 1.0, 다음 0.9, ...)
+    private static final double RECENCY_DECAY = 0.9;
+
+    // 병렬 계산 단위 (콘텐츠 수)
+    private static final int LEAF_ITEMS = 64;
+
+    private record Interaction(long contentId, float weight, long at) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int neighborCount;
+    private final int recentCount;
+    private final int maxItemsPerUser;
+    private final int maxLimit;
+    private final ForkJoinPool pool;
+
+    private volatile Model model;
+
+    // 아직 모델에 합치지 않은 상호작용 (userId → 목록), 합치는 중인 목록은 draining
+    private volatile Map<Long, List<Interaction>> pending = new ConcurrentHashMap<>();
+    private volatile Map<Long, List<Interaction>> draining = Map.of();
+
+    private final AtomicLong recorded = new AtomicLong();
+
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean(false);
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "item-similarity-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ItemSimilarityIndex(
+            JdbcTemplate jdbcTemplate,
+            @Value("${recommend.neighbors:50}") int neighborCount,
+            @Value("${recommend.recent-items:20}") int recentCount,
+            @Value("${recommend.max-items-per-user:500}") int maxItemsPerUser,
+            @Value("${recommend.max-limit:100}") int maxLimit,
+            @Value("${recommend.parallelism:0}") int parallelism) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.neighborCount = neighborCount;
+        this.recentCount = recentCount;
+        this.maxItemsPerUser = maxItemsPerUser;
+        this.maxLimit = maxLimit;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * 사용자 맞춤 추천 콘텐츠 id (점수 높은 순, available을 통과한 것만, 모델이 아직 없으면 빈 배열)
+     */
+    public long[] recommend(long userId, int limit, LongPredicate available) {
+        Model current = model;
+        int count = Math.max(0, Math.min(limit, maxLimit));
+        if (current == null) {
+            scheduleRefresh(true);
+            return new long[0];
+        }
+        if (count == 0) {
+            return new long[0];
+        }
+
+        // 모델의 사용자 행 + 아직 합치지 않은 상호작용
+        List<Interaction> history = new ArrayList<>(current.history(userId));
+        history.addAll(pending(draining, userId));
+        history.addAll(pending(pending, userId));
+        if (history.isEmpty()) {
+            return new long[0];
+        }
+
+        Set<Long> seen = new HashSet<>();
+        for (Interaction interaction : history) {
+            seen.add(interaction.contentId());
+        }
+        history.sort((a, b) -> Long.compare(b.at(), a.at()));
+
+        Map<Integer, double[]> scores = new HashMap<>();
+        Set<Long> used = new HashSet<>();
+        double decay = 1.0;
+        for (Interaction interaction : history) {
+            if (used.size() >= recentCount) {
+                break;
+            }
+            if (!used.add(interaction.contentId())) {
+                continue;
+            }
+            Integer item = current.itemIndex.get(interaction.contentId());
+            if (item != null) {
+                int[] neighbors = current.neighborItems[item];
+                float[] similarities = current.neighborScores[item];
+                for (int n = 0; n < neighbors.length; n++) {
+                    scores.computeIfAbsent(neighbors[n], j -> new double[1])[0] +=
+                            similarities[n] * interaction.weight() * decay;
+                }
+            }
+            decay *= RECENCY_DECAY;
+        }
+
+        return scores.entrySet().stream()
+                .sorted((a, b) -> Double.compare(b.getValue()[0], a.getValue()[0]))
+                .mapToLong(entry -> current.itemIds[entry.getKey()])
+                .filter(contentId -> !seen.contains(contentId) && available.test(contentId))
+                .limit(count)
+                .toArray();
+    }
+
+    /**
+     * 추천 결과가 바뀌었는지 비교할 값 (모델 버전 + 지금까지 들어온 상호작용 수)
+     */
+    public String stamp() {
+        Model current = model;
+        return (current != null ? current.version : 0) + "." + recorded.get();
+    }
+
+    /**
+     * 상호작용 추가 - 트랜잭션 안이면 커밋 후에 (롤백된 찜/시청이 추천에 남지 않도록)
+     */
+    public void recordAfterCommit(Long userId, Long contentId, float weight) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            record(userId, contentId, weight);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                record(userId, contentId, weight);
+            }
+        });
+    }
+
+    private void record(Long userId, Long contentId, float weight) {
+        Interaction interaction = new Interaction(contentId, weight, System.currentTimeMillis());
+
+        // 넣는 사이 갱신이 목록을 떼어 갔으면 새 목록에도 넣음 (합칠 때 큰 값을 고르므로 두 번 들어가도 같음)
+        Map<Long, List<Interaction>> target;
+        do {
+            target = pending;
+            List<Interaction> list = target.computeIfAbsent(userId, id -> new ArrayList<>());
+            synchronized (list) {
+                add(list, interaction);
+            }
+        } while (target != pending);
+        recorded.incrementAndGet();
+    }
+
+    // 같은 콘텐츠가 이미 있으면 더 큰 가중치와 최근 시각으로 교체 (하트비트가 쌓이지 않도록)
+    private static void add(List<Interaction> list, Interaction interaction) {
+        for (int i = 0; i < list.size(); i++) {
+            Interaction existing = list.get(i);
+            if (existing.contentId() == interaction.contentId()) {
+                list.set(i, new Interaction(interaction.contentId(),
+                        Math.max(existing.weight(), interaction.weight()), interaction.at()));
+                return;
+            }
+        }
+        list.add(interaction);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        scheduleRefresh(true);
+    }
+
+    /**
+     * 대기 중인 상호작용을 합치고 바뀐 콘텐츠의 이웃만 다시 계산
+     */
+    @Scheduled(fixedDelayString = "${recommend.refresh-interval-ms:60000}",
+               initialDelayString = "${recommend.refresh-interval-ms:60000}")
+    public void scheduledRefresh() {
+        if (model != null && !pending.isEmpty()) {
+            scheduleRefresh(false);
+        }
+    }
+
+    /**
+     * DB에서 다시 읽어 전체 재생성 (찜 해제/기록 삭제 반영, 증분 근사 정리)
+     */
+    @Scheduled(fixedDelayString = "${recommend.rebuild-interval-ms:21600000}",
+               initialDelayString = "${recommend.rebuild-interval-ms:21600000}")
+    public void scheduledRebuild() {
+        scheduleRefresh(true);
+    }
+
+    private void scheduleRefresh(boolean full) {
+        if (refreshScheduled.compareAndSet(false, true)) {
+            refreshExecutor.execute(() -> {
+                refreshScheduled.set(false);
+                try {
+                    refresh(full || model == null);
+                } catch (Exception e) {
+                    log.error("❌ 추천 모델 갱신 실패 - 이전 모델 유지", e);
+                }
+            });
+        }
+    }
+
+    private void refresh(boolean full) {
+        refreshLock.lock();
+        try {
+            long startedAt = System.currentTimeMillis();
+
+            // 지금까지 들어온 상호작용을 떼어 냄 (합치는 동안에도 추천 입력으로 보이도록 draining에 둠)
+            Map<Long, List<Interaction>> drained = pending;
+            draining = drained;
+            pending = new ConcurrentHashMap<>();
+
+            Model base = model;
+            Model next;
+            if (full || base == null) {
+                Map<Long, List<Interaction>> loaded = load();
+                drained.keySet().forEach(userId ->
+                        loaded.computeIfAbsent(userId, id -> new ArrayList<>()).addAll(pending(drained, userId)));
+                next = Model.merge(null, loaded, base != null ? base.version + 1 : 1);
+                computeNeighbors(next, null);
+            } else {
+                next = Model.merge(base, drained, base.version + 1);
+                computeNeighbors(next, base);
+            }
+
+            model = next;
+            draining = Map.of();
+            log.info("🎯 추천 모델 {} - 사용자 {}명, 콘텐츠 {}개, 상호작용 {}건, {}ms",
+                    full ? "생성" : "갱신", next.userIds.length, next.itemIds.length, next.userItems.length,
+                    System.currentTimeMillis() - startedAt);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private Map<Long, List<Interaction>> load() {
+        Map<Long, List<Interaction>> loaded = new HashMap<>();
+        jdbcTemplate.query(FAVORITES_SQL, rs -> {
+            loaded.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>())
+                    .add(new Interaction(rs.getLong(2), FAVORITE_WEIGHT, millis(rs.getTimestamp(3))));
+        });
+        jdbcTemplate.query(WATCHES_SQL, rs -> {
+            float weight = rs.getBoolean(3) ? COMPLETED_WEIGHT : WATCH_WEIGHT;
+            loaded.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>())
+                    .add(new Interaction(rs.getLong(2), weight, millis(rs.getTimestamp(4))));
+        });
+        return loaded;
+    }
+
+    private static long millis(Timestamp timestamp) {
+        return timestamp != null ? timestamp.getTime() : 0L;
+    }
+
+    private static List<Interaction> pending(Map<Long, List<Interaction>> interactions, long userId) {
+        List<Interaction> list = interactions.get(userId);
+        if (list == null) {
+            return List.of();
+        }
+        synchronized (list) {
+            return List.copyOf(list);
+        }
+    }
+
+    // ==================== 이웃 계산 ====================
+
+    /**
+     * base가 null이면 모든 콘텐츠를 계산한다.
+     * 아니면 바뀐 콘텐츠와 이웃 목록에 바뀐 콘텐츠가 들어 있던 콘텐츠(점수가 달라짐)만 다시 계산하고,
+     * 나머지는 base의 이웃을 물려받은 뒤 바뀐 콘텐츠와의 새 점수만 끼워 넣는다.
+     */
+    private void computeNeighbors(Model next, Model base) {
+        int itemCount = next.itemIds.length;
+        boolean[] recomputed = new boolean[itemCount];
+        int[] targets;
+        if (base == null) {
+            targets = new int[itemCount];
+            Arrays.setAll(targets, i -> i);
+        } else {
+            int carried = base.itemIds.length;
+            System.arraycopy(base.neighborItems, 0, next.neighborItems, 0, carried);
+            System.arraycopy(base.neighborScores, 0, next.neighborScores, 0, carried);
+            for (int i = carried; i < itemCount; i++) {
+                next.neighborItems[i] = new int[0];
+                next.neighborScores[i] = new float[0];
+            }
+
+            boolean[] changed = new boolean[itemCount];
+            for (int item : next.changedItems) {
+                changed[item] = true;
+                recomputed[item] = true;
+            }
+            for (int item = 0; item < carried; item++) {
+                for (int neighbor : base.neighborItems[item]) {
+                    if (changed[neighbor]) {
+                        recomputed[item] = true;
+                        break;
+                    }
+                }
+            }
+            targets = IntStream.range(0, itemCount).filter(item -> recomputed[item]).toArray();
+        }
+
+        pool.invoke(new SimilarityTask(next, targets, 0, targets.length, neighborCount, maxItemsPerUser));
+
+        if (base != null) {
+            for (int item : next.changedItems) {
+                int[] neighbors = next.neighborItems[item];
+                float[] similarities = next.neighborScores[item];
+                for (int n = 0; n < neighbors.length; n++) {
+                    if (!recomputed[neighbors[n]]) {
+                        patch(next, neighbors[n], item, similarities[n]);
+                    }
+                }
+            }
+        }
+    }
+
+    // item의 이웃 목록에 neighbor를 score로 넣거나 점수를 바꿈 (상위 k개, 점수 내림차순 유지)
+    private void patch(Model next, int item, int neighbor, float score) {
+        int[] items = next.neighborItems[item];
+        float[] scores = next.neighborScores[item];
+
+        int existing = -1;
+        for (int n = 0; n < items.length; n++) {
+            if (items[n] == neighbor) {
+                existing = n;
+                break;
+            }
+        }
+        if (existing < 0 && items.length >= neighborCount && score <= scores[scores.length - 1]) {
+            return;
+        }
+
+        int size = existing >= 0 ? items.length : Math.min(items.length + 1, neighborCount);
+        int[] nextItems = new int[size];
+        float[] nextScores = new float[size];
+        int out = 0;
+        boolean placed = false;
+        for (int n = 0; n < items.length && out < size; n++) {
+            if (n == existing) {
+                continue;
+            }
+            if (!placed && score > scores[n]) {
+                nextItems[out] = neighbor;
+                nextScores[out++] = score;
+                placed = true;
+                if (out == size) {
+                    break;
+                }
+            }
+            nextItems[out] = items[n];
+            nextScores[out++] = scores[n];
+        }
+        if (!placed && out < size) {
+            nextItems[out] = neighbor;
+            nextScores[out] = score;
+        }
+        next.neighborItems[item] = nextItems;
+        next.neighborScores[item] = nextScores;
+    }
+
+    /**
+     * 콘텐츠 범위를 반씩 나눠 병렬 계산
+     * 잎 작업마다 콘텐츠 수 크기의 내적 누적 배열 하나를 두고, 건드린 칸만 다시 0으로 되돌린다.
+     */
+    private static final class SimilarityTask extends RecursiveAction {
+        private final Model model;
+        private final int[] targets;
+        private final int from;
+        private final int to;
+        private final int k;
+        private final int maxItemsPerUser;
+
+        private SimilarityTask(Model model, int[] targets, int from, int to, int k, int maxItemsPerUser) {
+            this.model = model;
+            this.targets = targets;
+            this.from = from;
+            this.to = to;
+            this.k = k;
+            this.maxItemsPerUser = maxItemsPerUser;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > LEAF_ITEMS) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new SimilarityTask(model, targets, from, middle, k, maxItemsPerUser),
+                        new SimilarityTask(model, targets, middle, to, k, maxItemsPerUser));
+                return;
+            }
+
+            double[] dots = new double[model.itemIds.length];
+            int[] touched = new int[model.itemIds.length];
+            for (int t = from; t < to; t++) {
+                neighbors(targets[t], dots, touched);
+            }
+        }
+
+        private void neighbors(int item, double[] dots, int[] touched) {
+            Model m = model;
+            int touchedCount = 0;
+            for (int p = m.itemOffsets[item]; p < m.itemOffsets[item + 1]; p++) {
+                int user = m.itemUsers[p];
+                int start = m.userOffsets[user];
+                int end = m.userOffsets[user + 1];
+                if (end - start > maxItemsPerUser) {
+                    continue;
+                }
+                double weight = m.itemWeights[p];
+                for (int q = start; q < end; q++) {
+                    int other = m.userItems[q];
+                    if (other == item) {
+                        continue;
+                    }
+                    if (dots[other] == 0) {
+                        touched[touchedCount++] = other;
+                    }
+                    dots[other] += weight * m.userWeights[q];
+                }
+            }
+
+            // 상위 k개 (최소 힙)
+            int[] heapItems = new int[Math.min(k, touchedCount)];
+            float[] heapScores = new float[heapItems.length];
+            int size = 0;
+            for (int t = 0; t < touchedCount; t++) {
+                int other = touched[t];
+                float similarity = (float) (dots[other] / (m.norms[item] * m.norms[other]));
+                dots[other] = 0;
+                if (size < heapItems.length) {
+                    heapItems[size] = other;
+                    heapScores[size] = similarity;
+                    siftUp(heapItems, heapScores, size++);
+                } else if (size > 0 && similarity > heapScores[0]) {
+                    heapItems[0] = other;
+                    heapScores[0] = similarity;
+                    siftDown(heapItems, heapScores, size);
+                }
+            }
+
+            // 힙에서 꺼내 점수 내림차순으로
+            int[] items = new int[size];
+            float[] scores = new float[size];
+            for (int n = size - 1; n >= 0; n--) {
+                items[n] = heapItems[0];
+                scores[n] = heapScores[0];
+                heapItems[0] = heapItems[n];
+                heapScores[0] = heapScores[n];
+                siftDown(heapItems, heapScores, n);
+            }
+            m.neighborItems[item] = items;
+            m.neighborScores[item] = scores;
+        }
+
+        private static void siftUp(int[] items, float[] scores, int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (scores[parent] <= scores[index]) {
+                    return;
+                }
+                swap(items, scores, parent, index);
+                index = parent;
+            }
+        }
+
+        private static void siftDown(int[] items, float[] scores, int size) {
+            int index = 0;
+            while (true) {
+                int smallest = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < size && scores[left] < scores[smallest]) {
+                    smallest = left;
+                }
+                if (right < size && scores[right] < scores[smallest]) {
+                    smallest = right;
+                }
+                if (smallest == index) {
+                    return;
+                }
+                swap(items, scores, smallest, index);
+                index = smallest;
+            }
+        }
+
+        private static void swap(int[] items, float[] scores, int a, int b) {
+            int item = items[a];
+            items[a] = items[b];
+            items[b] = item;
+            float score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    // ==================== 모델 ====================
+
+    /**
+     * 사용자별 행(콘텐츠 순번 오름차순)과 콘텐츠별 열, 콘텐츠 벡터 크기, 이웃 목록
+     * 순번은 기존 모델의 순번을 그대로 두고 새 사용자/콘텐츠는 뒤에 붙인다.
+     */
+    private static final class Model {
+        private final long version;
+
+        private final long[] userIds;
+        private final Map<Long, Integer> userIndex;
+        private final long[] itemIds;
+        private final Map<Long, Integer> itemIndex;
+
+        private final int[] userOffsets;
+        private final int[] userItems;
+        private final float[] userWeights;
+        private final long[] userTimes;
+
+        private final int[] itemOffsets;
+        private final int[] itemUsers;
+        private final float[] itemWeights;
+        private final double[] norms;
+
+        // 이번에 행/열이 바뀐 콘텐츠 (증분 갱신 대상)
+        private final int[] changedItems;
+
+        private final int[][] neighborItems;
+        private final float[][] neighborScores;
+
+        private Model(long version, long[] userIds, Map<Long, Integer> userIndex, long[] itemIds,
+                      Map<Long, Integer> itemIndex, int[] userOffsets, int[] userItems, float[] userWeights,
+                      long[] userTimes, int[] changedItems) {
+            this.version = version;
+            this.userIds = userIds;
+            this.userIndex = userIndex;
+            this.itemIds = itemIds;
+            this.itemIndex = itemIndex;
+            this.userOffsets = userOffsets;
+            this.userItems = userItems;
+            this.userWeights = userWeights;
+            this.userTimes = userTimes;
+            this.changedItems = changedItems;
+
+            // 행 → 열 (전치)
+            int itemCount = itemIds.length;
+            int[] offsets = new int[itemCount + 1];
+            for (int item : userItems) {
+                offsets[item + 1]++;
+            }
+            for (int i = 0; i < itemCount; i++) {
+                offsets[i + 1] += offsets[i];
+            }
+            int[] fill = Arrays.copyOf(offsets, itemCount);
+            int[] users = new int[userItems.length];
+            float[] weights = new float[userItems.length];
+            double[] squares = new double[itemCount];
+            for (int user = 0; user < userIds.length; user++) {
+                for (int p = userOffsets[user]; p < userOffsets[user + 1]; p++) {
+                    int item = userItems[p];
+                    int slot = fill[item]++;
+                    users[slot] = user;
+                    weights[slot] = userWeights[p];
+                    squares[item] += (double) userWeights[p] * userWeights[p];
+                }
+            }
+            for (int i = 0; i < itemCount; i++) {
+                squares[i] = Math.sqrt(squares[i]);
+            }
+            this.itemOffsets = offsets;
+            this.itemUsers = users;
+            this.itemWeights = weights;
+            this.norms = squares;
+
+            this.neighborItems = new int[itemCount][];
+            this.neighborScores = new float[itemCount][];
+        }
+
+        /**
+         * base에 상호작용을 합친 새 모델 (base가 null이면 처음부터, 같은 쌍은 큰 가중치와 최근 시각)
+         */
+        static Model merge(Model base, Map<Long, List<Interaction>> interactions, long version) {
+            Map<Long, Integer> userIndex = base != null ? new HashMap<>(base.userIndex) : new HashMap<>();
+            Map<Long, Integer> itemIndex = base != null ? new HashMap<>(base.itemIndex) : new HashMap<>();
+            List<Long> userIds = new ArrayList<>();
+            List<Long> itemIds = new ArrayList<>();
+            if (base != null) {
+                Arrays.stream(base.userIds).forEach(userIds::add);
+                Arrays.stream(base.itemIds).forEach(itemIds::add);
+            }
+
+            // 사용자별 새 행 (정렬된 콘텐츠 순번)
+            Map<Integer, long[]> mergedKeys = new HashMap<>();
+            Map<Integer, float[]> mergedWeights = new HashMap<>();
+            Map<Integer, long[]> mergedTimes = new HashMap<>();
+            Set<Integer> changed = new HashSet<>();
+            interactions.forEach((userId, list) -> {
+                List<Interaction> copy;
+                synchronized (list) {
+                    copy = List.copyOf(list);
+                }
+                if (copy.isEmpty()) {
+                    return;
+                }
+                int user = userIndex.computeIfAbsent(userId, id -> {
+                    userIds.add(id);
+                    return userIds.size() - 1;
+                });
+
+                Map<Integer, Interaction> row = new HashMap<>();
+                if (base != null && user < base.userIds.length) {
+                    for (int p = base.userOffsets[user]; p < base.userOffsets[user + 1]; p++) {
+                        row.put(base.userItems[p], new Interaction(base.itemIds[base.userItems[p]],
+                                base.userWeights[p], base.userTimes[p]));
+                    }
+                }
+                for (Interaction interaction : copy) {
+                    int item = itemIndex.computeIfAbsent(interaction.contentId(), id -> {
+                        itemIds.add(id);
+                        return itemIds.size() - 1;
+                    });
+                    Interaction existing = row.get(item);
+                    if (existing == null) {
+                        row.put(item, interaction);
+                        changed.add(item);
+                        continue;
+                    }
+                    // 가중치가 바뀐 콘텐츠만 이웃을 다시 계산 (시각만 바뀌면 최근 순서에만 영향)
+                    float weight = Math.max(existing.weight(), interaction.weight());
+                    if (weight != existing.weight()) {
+                        changed.add(item);
+                    }
+                    row.put(item, new Interaction(interaction.contentId(), weight,
+                            Math.max(existing.at(), interaction.at())));
+                }
+
+                int[] items = row.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+                long[] keys = new long[items.length];
+                float[] weights = new float[items.length];
+                long[] times = new long[items.length];
+                for (int n = 0; n < items.length; n++) {
+                    Interaction interaction = row.get(items[n]);
+                    keys[n] = items[n];
+                    weights[n] = interaction.weight();
+                    times[n] = interaction.at();
+                }
+                mergedKeys.put(user, keys);
+                mergedWeights.put(user, weights);
+                mergedTimes.put(user, times);
+            });
+
+            // 행 배열 다시 쌓기 (바뀌지 않은 행은 그대로 복사)
+            int userCount = userIds.size();
+            int[] offsets = new int[userCount + 1];
+            for (int user = 0; user < userCount; user++) {
+                long[] keys = mergedKeys.get(user);
+                int length = keys != null ? keys.length : base.userOffsets[user + 1] - base.userOffsets[user];
+                offsets[user + 1] = offsets[user] + length;
+            }
+            int[] rowItems = new int[offsets[userCount]];
+            float[] rowWeights = new float[offsets[userCount]];
+            long[] rowTimes = new long[offsets[userCount]];
+            for (int user = 0; user < userCount; user++) {
+                long[] keys = mergedKeys.get(user);
+                if (keys == null) {
+                    int start = base.userOffsets[user];
+                    int length = base.userOffsets[user + 1] - start;
+                    System.arraycopy(base.userItems, start, rowItems, offsets[user], length);
+                    System.arraycopy(base.userWeights, start, rowWeights, offsets[user], length);
+                    System.arraycopy(base.userTimes, start, rowTimes, offsets[user], length);
+                    continue;
+                }
+                for (int n = 0; n < keys.length; n++) {
+                    rowItems[offsets[user] + n] = (int) keys[n];
+                }
+                System.arraycopy(mergedWeights.get(user), 0, rowWeights, offsets[user], keys.length);
+                System.arraycopy(mergedTimes.get(user), 0, rowTimes, offsets[user], keys.length);
+            }
+
+            return new Model(version,
+                    userIds.stream().mapToLong(Long::longValue).toArray(), userIndex,
+                    itemIds.stream().mapToLong(Long::longValue).toArray(), itemIndex,
+                    offsets, rowItems, rowWeights, rowTimes,
+                    changed.stream().mapToInt(Integer::intValue).sorted().toArray());
+        }
+
+        List<Interaction> history(long userId) {
+            Integer user = userIndex.get(userId);
+            if (user == null) {
+                return List.of();
+            }
+            List<Interaction> history = new ArrayList<>(userOffsets[user + 1] - userOffsets[user]);
+            for (int p = userOffsets[user]; p < userOffsets[user + 1]; p++) {
+                history.add(new Interaction(itemIds[userItems[p]], userWeights[p], userTimes[p]));
+            }
+            return history;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.ureca.web.catalog;
+
+import com.ureca.web.dto.ContentResponse;
+import com.ureca.web.entity.Content;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntPredicate;
+
+/**
+ * 정렬 기준 × 콘텐츠 타입별 상위 N개 (인기순, 최신순, 평점순 홈 화면 목록)
+ *
+ * 순위표마다 정렬 위치 배열을 최대 max-limit개까지 정렬된 상태로 두고,
+ * 조회수 반영/콘텐츠 변경 이벤트마다 바뀐 항목만 다시 끼워 넣는다.
+ * 순위표에서 빠진 항목이 생기면(삭제, 순위 하락) 그 순위표만 스냅샷에서 다시 채운다.
+ * 배열은 교체만 하므로 조회는 잠금 없이 limit개를 복사한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class Leaderboards {
+
+    private static final Content.ContentType[] TYPES = Content.ContentType.values();
+
+    private final CatalogSnapshotHolder catalogSnapshotHolder;
+
+    @Value("${leaderboard.max-limit:100}")
+    private int capacity;
+
+    // [정렬 기준][0: 전체, 1~: 타입] → 정렬된 위치 (null이면 다음 조회 때 생성)
+    private final AtomicReferenceArray<CatalogSnapshot.Position[]> boards =
+            new AtomicReferenceArray<>(CatalogSnapshot.Ordering.values().length * (TYPES.length + 1));
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile long loadVersion = -1;
+
+    /**
+     * 정렬 기준 상위 limit개를 주어진 스냅샷의 순번으로 (limit은 max-limit까지)
+     *
+     * 순위표는 최신 스냅샷 기준으로 유지되고 항목은 id로 들고 있으므로,
+     * 호출자가 먼저 읽은 스냅샷 사이에 교체가 있어도 그 스냅샷에서 다시 찾은 순번만 돌려준다 (없는 id는 빠짐).
+     */
+    public int[] top(CatalogSnapshot snapshot, CatalogSnapshot.Ordering ordering, Content.ContentType contentType,
+                     int limit) {
+        long version = catalogSnapshotHolder.current().getLoadVersion();
+        if (version != loadVersion) {
+            reset(version);
+        }
+
+        int slot = slot(ordering, contentType);
+        CatalogSnapshot.Position[] board = boards.get(slot);
+        if (board == null) {
+            board = build(slot, ordering, contentType);
+        }
+
+        int count = Math.max(0, Math.min(limit, board.length));
+        int[] ordinals = new int[count];
+        int found = 0;
+        for (int i = 0; i < count; i++) {
+            int ordinal = snapshot.ordinalOf(board[i].getId());
+            if (ordinal >= 0) {
+                ordinals[found++] = ordinal;
+            }
+        }
+        return found == count ? ordinals : Arrays.copyOf(ordinals, found);
+    }
+
+    // 스냅샷이 먼저 바뀐 뒤 반영
+    @Order(10)
+    @EventListener
+    public void onViewCountsFlushed(ViewCountsFlushedEvent event) {
+        CatalogSnapshot snapshot = catalogSnapshotHolder.current();
+        writeLock.lock();
+        try {
+            for (Long id : event.getDeltas().keySet()) {
+                int ordinal = snapshot.ordinalOf(id);
+                if (ordinal >= 0) {
+                    place(snapshot, ordinal, CatalogSnapshot.Ordering.POPULAR);
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Order(10)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        if (event.getType() == ContentChangedEvent.Type.RELOADED) {
+            // 다시 로딩한 스냅샷은 loadVersion이 바뀌므로 다음 조회 때 새로 만들어짐
+            return;
+        }
+
+        CatalogSnapshot snapshot = catalogSnapshotHolder.current();
+        writeLock.lock();
+        try {
+            ContentResponse before = event.getBefore();
+            ContentResponse after = event.getAfter();
+            for (CatalogSnapshot.Ordering ordering : CatalogSnapshot.Ordering.values()) {
+                // 삭제됐으면 모든 순위표에서, 타입이 바뀌었으면 이전 타입 순위표에서 빠짐
+                if (before != null && after == null) {
+                    remove(slot(ordering, null), event.getContentId());
+                }
+                if (before != null && typeOf(before) != null
+                        && (after == null || typeOf(before) != typeOf(after))) {
+                    remove(slot(ordering, typeOf(before)), event.getContentId());
+                }
+                int ordinal = after != null ? snapshot.ordinalOf(after.getId()) : -1;
+                if (ordinal >= 0) {
+                    place(snapshot, ordinal, ordering);
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // ==================== 순위표 갱신 (writeLock 안에서 호출) ====================
+
+    /**
+     * 항목의 새 위치를 전체/타입 순위표에 반영
+     */
+    private void place(CatalogSnapshot snapshot, int ordinal, CatalogSnapshot.Ordering ordering) {
+        CatalogSnapshot.Position position = snapshot.positionOf(ordering, ordinal);
+        update(slot(ordering, null), position);
+        Content.ContentType type = typeOf(snapshot.row(ordinal));
+        if (type != null) {
+            update(slot(ordering, type), position);
+        }
+    }
+
+    private void update(int slot, CatalogSnapshot.Position position) {
+        CatalogSnapshot.Position[] board = boards.get(slot);
+        if (board == null) {
+            return;
+        }
+
+        List<CatalogSnapshot.Position> next = new ArrayList<>(board.length + 1);
+        boolean removed = false;
+        for (CatalogSnapshot.Position entry : board) {
+            if (entry.getId() == position.getId()) {
+                removed = true;
+            } else {
+                next.add(entry);
+            }
+        }
+
+        int index = insertionPoint(next, position);
+        if (removed && board.length == capacity && index == next.size()) {
+            // 순위가 내려가 맨 끝 이후로 밀림 - 순위표 밖 항목이 더 앞설 수 있으므로 스냅샷에서 다시 채움
+            boards.set(slot, null);
+            return;
+        }
+        if (index >= capacity) {
+            return;
+        }
+        next.add(index, position);
+        if (next.size() > capacity) {
+            next.remove(next.size() - 1);
+        }
+        boards.set(slot, next.toArray(new CatalogSnapshot.Position[0]));
+    }
+
+    private void remove(int slot, long id) {
+        CatalogSnapshot.Position[] board = boards.get(slot);
+        if (board == null) {
+            return;
+        }
+        for (CatalogSnapshot.Position entry : board) {
+            if (entry.getId() == id) {
+                boards.set(slot, null);
+                return;
+            }
+        }
+    }
+
+    private static int insertionPoint(List<CatalogSnapshot.Position> board, CatalogSnapshot.Position position) {
+        int low = 0;
+        int high = board.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (board.get(mid).compareTo(position) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // ==================== 생성 ====================
+
+    private CatalogSnapshot.Position[] build(int slot, CatalogSnapshot.Ordering ordering, Content.ContentType contentType) {
+        writeLock.lock();
+        try {
+            CatalogSnapshot.Position[] board = boards.get(slot);
+            if (board != null) {
+                return board;
+            }
+
+            CatalogSnapshot snapshot = catalogSnapshotHolder.current();
+            IntPredicate filter = snapshot.matching(contentType != null ? contentType.name() : null, null);
+            int[] ordinals = snapshot.slice(ordering, filter, 0, capacity).getOrdinals();
+            board = new CatalogSnapshot.Position[ordinals.length];
+            for (int i = 0; i < ordinals.length; i++) {
+                board[i] = snapshot.positionOf(ordering, ordinals[i]);
+            }
+            boards.set(slot, board);
+            return board;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void reset(long version) {
+        writeLock.lock();
+        try {
+            if (loadVersion != version) {
+                for (int i = 0; i < boards.length(); i++) {
+                    boards.set(i, null);
+                }
+                loadVersion = version;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static int slot(CatalogSnapshot.Ordering ordering, Content.ContentType contentType) {
+        return ordering.ordinal() * (TYPES.length + 1) + (contentType != null ? contentType.ordinal() + 1 : 0);
+    }
+
+    private static Content.ContentType typeOf(ContentResponse content) {
+        for (Content.ContentType type : TYPES) {
+            if (type.name().equals(content.getContentType())) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
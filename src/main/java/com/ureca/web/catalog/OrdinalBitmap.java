@@ -0,0 +1,193 @@
+package com.ureca.web.catalog;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * 스냅샷 순번 집합 (불변)
+ *
+ * 원소가 적으면 정렬된 int 배열, 많으면 64비트 단위 비트맵으로 저장한다.
+ * 원소 하나당 배열은 32비트, 비트맵은 전체 크기 기준 1비트이므로 작은 쪽을 고른다.
+ * 교집합/합집합/교집합 크기는 두 표현 조합마다 따로 계산한다.
+ */
+public final class OrdinalBitmap implements IntPredicate {
+
+    private static final int[] NO_ORDINALS = new int[0];
+
+    private final long[] words;       // 비트맵 표현 (배열 표현이면 null)
+    private final int[] ordinals;     // 배열 표현 (오름차순)
+    private final int cardinality;
+
+    private OrdinalBitmap(long[] words, int[] ordinals, int cardinality) {
+        this.words = words;
+        this.ordinals = ordinals;
+        this.cardinality = cardinality;
+    }
+
+    public static OrdinalBitmap empty() {
+        return new OrdinalBitmap(null, NO_ORDINALS, 0);
+    }
+
+    /**
+     * 오름차순 순번 배열의 앞 count개 (size는 전체 순번 개수)
+     */
+    static OrdinalBitmap of(int[] sorted, int count, int size) {
+        if (isSparse(count, size)) {
+            return new OrdinalBitmap(null, Arrays.copyOf(sorted, count), count);
+        }
+        long[] words = new long[wordCount(size)];
+        for (int i = 0; i < count; i++) {
+            words[sorted[i] >>> 6] |= 1L << sorted[i];
+        }
+        return new OrdinalBitmap(words, null, count);
+    }
+
+    /**
+     * 여러 집합의 합집합
+     */
+    static OrdinalBitmap union(List<OrdinalBitmap> bitmaps, int size) {
+        if (bitmaps.isEmpty()) {
+            return empty();
+        }
+        if (bitmaps.size() == 1) {
+            return bitmaps.get(0);
+        }
+
+        long[] words = new long[wordCount(size)];
+        for (OrdinalBitmap bitmap : bitmaps) {
+            if (bitmap.words != null) {
+                for (int i = 0; i < Math.min(bitmap.words.length, words.length); i++) {
+                    words[i] |= bitmap.words[i];
+                }
+            } else {
+                for (int ordinal : bitmap.ordinals) {
+                    words[ordinal >>> 6] |= 1L << ordinal;
+                }
+            }
+        }
+        return compact(words, size);
+    }
+
+    @Override
+    public boolean test(int ordinal) {
+        if (words != null) {
+            int index = ordinal >>> 6;
+            return index < words.length && (words[index] & (1L << ordinal)) != 0;
+        }
+        return Arrays.binarySearch(ordinals, ordinal) >= 0;
+    }
+
+    public int cardinality() {
+        return cardinality;
+    }
+
+    /**
+     * 교집합 (한쪽이 배열이면 결과도 배열)
+     */
+    public OrdinalBitmap and(OrdinalBitmap other) {
+        if (words == null || other.words == null) {
+            OrdinalBitmap sparse = words == null ? this : other;
+            OrdinalBitmap probe = sparse == this ? other : this;
+            int[] result = new int[sparse.cardinality];
+            int count = 0;
+            for (int ordinal : sparse.ordinals) {
+                if (probe.test(ordinal)) {
+                    result[count++] = ordinal;
+                }
+            }
+            return new OrdinalBitmap(null, count == result.length ? result : Arrays.copyOf(result, count), count);
+        }
+
+        int length = Math.min(words.length, other.words.length);
+        long[] result = new long[length];
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            result[i] = words[i] & other.words[i];
+            count += Long.bitCount(result[i]);
+        }
+        return new OrdinalBitmap(result, null, count);
+    }
+
+    /**
+     * 교집합 크기 (집합을 만들지 않고 셈)
+     */
+    public int andCardinality(OrdinalBitmap other) {
+        if (words == null || other.words == null) {
+            OrdinalBitmap sparse = words == null ? this : other;
+            OrdinalBitmap probe = sparse == this ? other : this;
+            int count = 0;
+            for (int ordinal : sparse.ordinals) {
+                if (probe.test(ordinal)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        int length = Math.min(words.length, other.words.length);
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            count += Long.bitCount(words[i] & other.words[i]);
+        }
+        return count;
+    }
+
+    /**
+     * ordinal을 넣거나 뺀 새 집합 (size는 변경 후 전체 순번 개수)
+     */
+    OrdinalBitmap with(int ordinal, boolean member, int size) {
+        if (test(ordinal) == member) {
+            return this;
+        }
+        int count = cardinality + (member ? 1 : -1);
+
+        if (words != null) {
+            long[] next = Arrays.copyOf(words, Math.max(words.length, wordCount(size)));
+            next[ordinal >>> 6] ^= 1L << ordinal;
+            return isSparse(count, size) ? compact(next, size) : new OrdinalBitmap(next, null, count);
+        }
+
+        int[] next = new int[count];
+        int index = Arrays.binarySearch(ordinals, ordinal);
+        if (member) {
+            int position = -index - 1;
+            System.arraycopy(ordinals, 0, next, 0, position);
+            next[position] = ordinal;
+            System.arraycopy(ordinals, position, next, position + 1, ordinals.length - position);
+        } else {
+            System.arraycopy(ordinals, 0, next, 0, index);
+            System.arraycopy(ordinals, index + 1, next, index, ordinals.length - index - 1);
+        }
+        return isSparse(count, size) ? new OrdinalBitmap(null, next, count) : of(next, count, size);
+    }
+
+    private static OrdinalBitmap compact(long[] words, int size) {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        if (!isSparse(count, size)) {
+            return new OrdinalBitmap(words, null, count);
+        }
+
+        int[] ordinals = new int[count];
+        int k = 0;
+        for (int i = 0; i < words.length; i++) {
+            long word = words[i];
+            while (word != 0) {
+                ordinals[k++] = (i << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return new OrdinalBitmap(null, ordinals, count);
+    }
+
+    private static boolean isSparse(int count, int size) {
+        return (long) count * 32 < size;
+    }
+
+    private static int wordCount(int size) {
+        return size == 0 ? 0 : ((size - 1) >>> 6) + 1;
+    }
+}
@@ -0,0 +1,700 @@
+package com.ureca.web.catalog;
+
+import com.ureca.web.dto.ContentResponse;
+import com.ureca.web.util.HangulTokenizer;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+/**
+ * 콘텐츠 전문 검색 역색인 (제목, 설명, 출연진, 감독, 태그)
+ *
+ * 토큰(한글 bigram, 영문/숫자 단어와 그 접두사)마다 콘텐츠 id 오름차순 포스팅 목록을 두고,
+ * id 차이와 빈도를 varint로 이어 붙여 압축한다. 검색어의 모든 토큰을 포함하는 콘텐츠를
+ * 가장 짧은 목록을 기준으로 나머지 목록은 블록 단위로 건너뛰며 교집합을 찾고,
+ * BM25로 점수를 매겨 요청한 개수만큼 상위 항목만 힙으로 고른다.
+ * 필드 가중치는 토큰 빈도에 곱해서 반영한다 (제목 3, 출연진/감독/태그 2, 설명 1).
+ * 접두사는 검색용으로만 넣으므로 BM25 문서 길이에는 세지 않는다.
+ * 콘텐츠 변경 이벤트마다 바뀐 토큰의 포스팅만 다시 만든다.
+ * 전체 다시 로딩(RELOADED)은 별도 스레드에서 새 색인을 만들고, 만드는 동안 들어온 변경을 다시 적용한 뒤 교체한다
+ * (그동안 검색은 이전 색인 사용).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int PERSON_WEIGHT = 2;
+    private static final int TAG_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private final CatalogSnapshotHolder catalogSnapshotHolder;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index;    // lock으로 보호, 처음 검색할 때 생성
+    private List<ContentChangedEvent> pendingReplay;    // lock으로 보호, 재생성 중에 들어온 변경 (아니면 null)
+
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean(false);
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "search-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 검색어의 모든 토큰을 포함하고 filter를 통과하는 콘텐츠 중 점수 상위 limit개
+     * (점수 내림차순, 동점이면 id 내림차순, 전체 일치 수 포함)
+     */
+    public Hits search(String query, LongPredicate filter, int limit) {
+        Postings[] lists = lookup(query);
+        if (lists == null) {
+            return Hits.EMPTY;
+        }
+        try {
+            return index.rank(lists, filter, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 검색어의 모든 토큰을 포함하는 콘텐츠 id (오름차순, 점수 계산 없음)
+     */
+    public long[] matchingIds(String query) {
+        Postings[] lists = lookup(query);
+        if (lists == null) {
+            return new long[0];
+        }
+        try {
+            long[] ids = new long[lists[0].df];
+            int[] count = new int[1];
+            Index.intersect(lists, (id, cursors) -> ids[count[0]++] = id);
+            return Arrays.copyOf(ids, count[0]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 콘텐츠가 검색어의 모든 토큰을 포함하는지 (색인 없이 판단, 캐시 무효화용)
+     */
+    public static boolean contains(ContentResponse content, String query) {
+        Set<String> terms = new HashSet<>(HangulTokenizer.tokenize(query, false));
+        return !terms.isEmpty() && terms(content).frequencies().keySet().containsAll(terms);
+    }
+
+    /**
+     * 검색어 토큰의 포스팅 목록 (짧은 순), 하나라도 없으면 null
+     * null이 아니면 읽기 잠금을 잡은 상태로 반환
+     */
+    private Postings[] lookup(String query) {
+        Set<String> terms = new LinkedHashSet<>(HangulTokenizer.tokenize(query, false));
+        if (terms.isEmpty()) {
+            return null;
+        }
+
+        Index current = acquire();
+        Postings[] lists = new Postings[terms.size()];
+        int i = 0;
+        for (String term : terms) {
+            Postings list = current.postings.get(term);
+            if (list == null) {
+                lock.readLock().unlock();
+                return null;
+            }
+            lists[i++] = list;
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.df, b.df));
+        return lists;
+    }
+
+    @Order(10)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        if (event.getType() == ContentChangedEvent.Type.RELOADED) {
+            if (isBuilt()) {
+                scheduleRebuild();
+            }
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            // 아직 만들기 전이면 처음 검색할 때 스냅샷에서 만들어짐
+            if (index != null) {
+                index.update(event.getContentId(), event.getBefore(), event.getAfter());
+            }
+            if (pendingReplay != null) {
+                pendingReplay.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    private void scheduleRebuild() {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            rebuildExecutor.execute(() -> {
+                rebuildScheduled.set(false);
+                try {
+                    rebuild();
+                } catch (Exception e) {
+                    log.error("❌ 검색 색인 재생성 실패 - 이전 색인 유지", e);
+                }
+            });
+        }
+    }
+
+    private void rebuild() {
+        // 스냅샷을 읽기 전부터 변경을 모아야 새 색인에 빠지는 변경이 없음 (같은 변경을 두 번 적용해도 결과는 같음)
+        lock.writeLock().lock();
+        try {
+            pendingReplay = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Index rebuilt = null;
+        long startedAt = System.currentTimeMillis();
+        try {
+            rebuilt = Index.build(catalogSnapshotHolder.current());
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (rebuilt != null) {
+                    for (ContentChangedEvent event : pendingReplay) {
+                        rebuilt.update(event.getContentId(), event.getBefore(), event.getAfter());
+                    }
+                    index = rebuilt;
+                }
+                pendingReplay = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("🔎 검색 색인 재생성 - 문서 {}건, 토큰 {}개, {}ms",
+                rebuilt.docCount, rebuilt.postings.size(), System.currentTimeMillis() - startedAt);
+    }
+
+    private boolean isBuilt() {
+        lock.readLock().lock();
+        try {
+            return index != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 읽기 잠금을 잡은 상태로 색인 반환 (없으면 만든 뒤 반환)
+     */
+    private Index acquire() {
+        lock.readLock().lock();
+        if (index != null) {
+            return index;
+        }
+        lock.readLock().unlock();
+
+        lock.writeLock().lock();
+        try {
+            if (index == null) {
+                long startedAt = System.currentTimeMillis();
+                index = Index.build(catalogSnapshotHolder.current());
+                log.info("🔎 검색 색인 생성 - 문서 {}건, 토큰 {}개, {}ms",
+                        index.docCount, index.postings.size(), System.currentTimeMillis() - startedAt);
+            }
+            lock.readLock().lock();     // 쓰기 잠금을 놓기 전에 읽기 잠금으로 전환
+            return index;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 검색 결과 (ids[i]의 점수가 scores[i], total은 상위 개수 제한 전 전체 일치 수)
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Hits {
+        static final Hits EMPTY = new Hits(new long[0], new double[0], 0);
+
+        private final long[] ids;
+        private final double[] scores;
+        private final int total;
+
+        public int size() {
+            return ids.length;
+        }
+    }
+
+    // ==================== 색인 ====================
+
+    private static final class Index {
+        private final Map<String, Postings> postings;
+        private int[] lengths;      // id 위치에 문서 길이 + 1 (0이면 문서 없음)
+        private int docCount;
+        private long totalLength;
+
+        private Index(Map<String, Postings> postings, int[] lengths, int docCount, long totalLength) {
+            this.postings = postings;
+            this.lengths = lengths;
+            this.docCount = docCount;
+            this.totalLength = totalLength;
+        }
+
+        private static Index build(CatalogSnapshot snapshot) {
+            Map<String, PostingsBuilder> builders = new HashMap<>();
+            int[] lengths = new int[snapshot.size() > 0 ? slot(snapshot.idAt(snapshot.size() - 1)) + 1 : 0];
+            long totalLength = 0;
+
+            // 스냅샷 순번은 id 오름차순이므로 포스팅도 id 순으로 쌓임
+            for (int ordinal = 0; ordinal < snapshot.size(); ordinal++) {
+                long id = snapshot.idAt(ordinal);
+                Terms terms = terms(snapshot.row(ordinal));
+                for (Map.Entry<String, Integer> term : terms.frequencies().entrySet()) {
+                    builders.computeIfAbsent(term.getKey(), k -> new PostingsBuilder()).add(id, term.getValue());
+                }
+                lengths[slot(id)] = terms.length() + 1;
+                totalLength += terms.length();
+            }
+
+            Map<String, Postings> postings = new HashMap<>(builders.size() * 2);
+            builders.forEach((term, builder) -> postings.put(term, builder.build()));
+            return new Index(postings, lengths, snapshot.size(), totalLength);
+        }
+
+        /**
+         * 모든 목록에 있는 id마다 match 호출 (id 오름차순, cursors[i]는 lists[i]의 해당 항목)
+         * 가장 짧은 목록을 기준으로 나머지 목록은 블록 단위로 건너뛰며 찾는다.
+         */
+        private static void intersect(Postings[] lists, Match match) {
+            Cursor[] cursors = new Cursor[lists.length];
+            for (int i = 0; i < lists.length; i++) {
+                cursors[i] = new Cursor(lists[i]);
+            }
+
+            Cursor lead = cursors[0];
+            long target = 0;
+            while (lead.advance(target)) {
+                long id = lead.id;
+                boolean matched = true;
+                for (int i = 1; i < cursors.length && matched; i++) {
+                    if (!cursors[i].advance(id)) {
+                        return;
+                    }
+                    matched = cursors[i].id == id;
+                    target = cursors[i].id;
+                }
+                if (matched) {
+                    match.accept(id, cursors);
+                    target = id + 1;
+                }
+            }
+        }
+
+        /**
+         * BM25 점수 상위 limit개 (filter를 통과한 일치 항목만 집계)
+         */
+        private Hits rank(Postings[] lists, LongPredicate filter, int limit) {
+            double averageLength = docCount > 0 ? (double) totalLength / docCount : 1.0;
+            double[] idfs = new double[lists.length];
+            for (int i = 0; i < lists.length; i++) {
+                idfs[i] = Math.log(1 + (docCount - lists[i].df + 0.5) / (lists[i].df + 0.5));
+            }
+
+            TopHits top = new TopHits(Math.max(0, Math.min(limit, lists[0].df)));
+            intersect(lists, (id, cursors) -> {
+                if (filter != null && !filter.test(id)) {
+                    return;
+                }
+                double norm = K1 * (1 - B + B * length(id) / averageLength);
+                double score = 0;
+                for (int i = 0; i < cursors.length; i++) {
+                    int tf = cursors[i].tf;
+                    score += idfs[i] * (tf * (K1 + 1)) / (tf + norm);
+                }
+                top.offer(id, score);
+            });
+            return top.toHits();
+        }
+
+        private int length(long id) {
+            int slot = slot(id);
+            return slot < lengths.length && lengths[slot] > 0 ? lengths[slot] - 1 : 0;
+        }
+
+        /**
+         * 한 콘텐츠의 토큰만 다시 색인 (before의 토큰은 제거, after의 토큰은 교체)
+         */
+        private void update(Long id, ContentResponse before, ContentResponse after) {
+            Terms terms = after != null ? terms(after) : Terms.NONE;
+            Map<String, Integer> frequencies = terms.frequencies();
+            Set<String> affected = new HashSet<>(frequencies.keySet());
+            if (before != null) {
+                affected.addAll(terms(before).frequencies().keySet());
+            }
+
+            for (String term : affected) {
+                Postings current = postings.get(term);
+                Postings updated = current != null
+                        ? current.with(id, frequencies.getOrDefault(term, 0))
+                        : Postings.single(id, frequencies.getOrDefault(term, 0));
+                if (updated == null) {
+                    postings.remove(term);
+                } else {
+                    postings.put(term, updated);
+                }
+            }
+
+            // 같은 변경이 두 번 와도(색인 생성 직후 이벤트) 결과가 같도록 덮어쓰기
+            int slot = slot(id);
+            if (slot < lengths.length && lengths[slot] > 0) {
+                totalLength -= lengths[slot] - 1;
+                lengths[slot] = 0;
+                docCount--;
+            }
+            if (after != null) {
+                if (slot >= lengths.length) {
+                    lengths = Arrays.copyOf(lengths, Math.max(slot + 1, lengths.length + (lengths.length >> 1)));
+                }
+                lengths[slot] = terms.length() + 1;
+                totalLength += terms.length();
+                docCount++;
+            }
+        }
+
+        private static int slot(long id) {
+            return Math.toIntExact(id);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Match {
+        void accept(long id, Cursor[] cursors);
+    }
+
+    /**
+     * 점수 상위 항목만 유지하는 최소 힙 (점수 내림차순, 동점이면 id 내림차순)
+     */
+    private static final class TopHits {
+        private final long[] ids;
+        private final double[] scores;
+        private int size;
+        private int total;
+
+        private TopHits(int capacity) {
+            this.ids = new long[capacity];
+            this.scores = new double[capacity];
+        }
+
+        private void offer(long id, double score) {
+            total++;
+            if (size < ids.length) {
+                ids[size] = id;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (size > 0 && isBefore(score, id, scores[0], ids[0])) {
+                ids[0] = id;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        private Hits toHits() {
+            int count = size;
+            long[] sortedIds = new long[count];
+            double[] sortedScores = new double[count];
+            // 힙 맨 위가 가장 낮은 순위이므로 뒤에서부터 채움
+            for (int i = count - 1; i >= 0; i--) {
+                sortedIds[i] = ids[0];
+                sortedScores[i] = scores[0];
+                size--;
+                ids[0] = ids[size];
+                scores[0] = scores[size];
+                siftDown(0);
+            }
+            return new Hits(sortedIds, sortedScores, total);
+        }
+
+        private static boolean isBefore(double score, long id, double otherScore, long otherId) {
+            int result = Double.compare(score, otherScore);
+            return result != 0 ? result > 0 : id > otherId;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!isBefore(scores[parent], ids[parent], scores[i], ids[i])) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int lowest = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < size && isBefore(scores[lowest], ids[lowest], scores[left], ids[left])) {
+                    lowest = left;
+                }
+                if (right < size && isBefore(scores[lowest], ids[lowest], scores[right], ids[right])) {
+                    lowest = right;
+                }
+                if (lowest == i) {
+                    return;
+                }
+                swap(i, lowest);
+                i = lowest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            long id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+            double score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+
+    /**
+     * 한 문서의 토큰별 가중 빈도(접두사 포함)와 BM25 문서 길이(접두사 제외)
+     */
+    private record Terms(Map<String, Integer> frequencies, int length) {
+        private static final Terms NONE = new Terms(Map.of(), 0);
+    }
+
+    private static Terms terms(ContentResponse content) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = addTerms(frequencies, HangulTokenizer.tokenize(content.getTitle(), true), TITLE_WEIGHT)
+                + addTerms(frequencies, HangulTokenizer.tokenize(content.getCast(), false), PERSON_WEIGHT)
+                + addTerms(frequencies, HangulTokenizer.tokenize(content.getDirector(), false), PERSON_WEIGHT)
+                + addTerms(frequencies, HangulTokenizer.tokenize(content.getTags(), false), TAG_WEIGHT)
+                + addTerms(frequencies, HangulTokenizer.tokenize(content.getDescription(), false), DESCRIPTION_WEIGHT);
+        return new Terms(frequencies, length);
+    }
+
+    // 토큰과 (영문/숫자면) 접두사를 weight만큼 더하고, 문서 길이에 더할 값(토큰 수 × weight) 반환
+    private static int addTerms(Map<String, Integer> frequencies, List<String> tokens, int weight) {
+        for (String token : tokens) {
+            frequencies.merge(token, weight, Integer::sum);
+            for (String prefix : HangulTokenizer.prefixes(token)) {
+                frequencies.merge(prefix, weight, Integer::sum);
+            }
+        }
+        return tokens.size() * weight;
+    }
+
+    // ==================== 포스팅 목록 (varint 압축) ====================
+
+    /**
+     * (id 차이, 빈도) 쌍을 varint로 이어 붙인 불변 목록
+     * BLOCK_SIZE개마다 시작 위치를 따로 두어 긴 목록은 블록 단위로 건너뛴다.
+     */
+    private static final class Postings {
+        private static final int BLOCK_SIZE = 128;
+
+        private final byte[] data;
+        private final int df;
+        private final long[] blockFirstIds;     // 블록 첫 항목의 id
+        private final long[] blockBaseIds;      // 블록 직전 항목의 id (차이 복원용)
+        private final int[] blockOffsets;       // 블록 첫 항목의 data 위치
+
+        private Postings(byte[] data, int df, long[] blockFirstIds, long[] blockBaseIds, int[] blockOffsets) {
+            this.data = data;
+            this.df = df;
+            this.blockFirstIds = blockFirstIds;
+            this.blockBaseIds = blockBaseIds;
+            this.blockOffsets = blockOffsets;
+        }
+
+        private static Postings single(long id, int tf) {
+            if (tf == 0) {
+                return null;
+            }
+            PostingsBuilder builder = new PostingsBuilder();
+            builder.add(id, tf);
+            return builder.build();
+        }
+
+        /**
+         * id의 빈도를 tf로 바꾼 새 목록 (tf가 0이면 제거, 비면 null)
+         */
+        private Postings with(long id, int tf) {
+            PostingsBuilder builder = new PostingsBuilder();
+            boolean written = false;
+            Cursor cursor = new Cursor(this);
+            while (cursor.next()) {
+                if (!written && cursor.id >= id) {
+                    if (tf > 0) {
+                        builder.add(id, tf);
+                    }
+                    written = true;
+                    if (cursor.id == id) {
+                        continue;
+                    }
+                }
+                builder.add(cursor.id, cursor.tf);
+            }
+            if (!written && tf > 0) {
+                builder.add(id, tf);
+            }
+            return builder.df > 0 ? builder.build() : null;
+        }
+    }
+
+    /**
+     * 포스팅 목록 순방향 읽기
+     */
+    private static final class Cursor {
+        private final Postings list;
+        private int index = -1;     // 현재 항목 순번
+        private int position;       // 다음 항목의 data 위치
+        private long id;
+        private int tf;
+
+        private Cursor(Postings list) {
+            this.list = list;
+        }
+
+        private boolean next() {
+            if (index + 1 >= list.df) {
+                index = list.df;
+                return false;
+            }
+            id += readVarint();
+            tf = (int) readVarint();
+            index++;
+            return true;
+        }
+
+        /**
+         * id가 target 이상인 첫 항목으로 이동 (없으면 false)
+         */
+        private boolean advance(long target) {
+            if (index >= list.df) {
+                return false;
+            }
+            if (index >= 0 && id >= target) {
+                return true;
+            }
+
+            // 첫 id가 target 이하인 마지막 블록으로 건너뜀
+            int nextBlock = (index + 1) / Postings.BLOCK_SIZE;
+            int low = nextBlock + 1;
+            int high = list.blockFirstIds.length - 1;
+            int found = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (list.blockFirstIds[mid] <= target) {
+                    found = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            if (found >= 0) {
+                index = found * Postings.BLOCK_SIZE - 1;
+                position = list.blockOffsets[found];
+                id = list.blockBaseIds[found];
+            }
+
+            while (next()) {
+                if (id >= target) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private long readVarint() {
+            byte[] data = list.data;
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+
+    private static final class PostingsBuilder {
+        private byte[] data = new byte[16];
+        private int size;
+        private int df;
+        private long lastId;
+        private long[] blockFirstIds = new long[1];
+        private long[] blockBaseIds = new long[1];
+        private int[] blockOffsets = new int[1];
+
+        private void add(long id, int tf) {
+            if (df % Postings.BLOCK_SIZE == 0) {
+                int block = df / Postings.BLOCK_SIZE;
+                if (block == blockOffsets.length) {
+                    blockFirstIds = Arrays.copyOf(blockFirstIds, block * 2);
+                    blockBaseIds = Arrays.copyOf(blockBaseIds, block * 2);
+                    blockOffsets = Arrays.copyOf(blockOffsets, block * 2);
+                }
+                blockFirstIds[block] = id;
+                blockBaseIds[block] = lastId;
+                blockOffsets[block] = size;
+            }
+            writeVarint(id - lastId);
+            writeVarint(tf);
+            lastId = id;
+            df++;
+        }
+
+        private void writeVarint(long value) {
+            if (size + 10 > data.length) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            while ((value & ~0x7FL) != 0) {
+                data[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data[size++] = (byte) value;
+        }
+
+        private Postings build() {
+            int blocks = (df + Postings.BLOCK_SIZE - 1) / Postings.BLOCK_SIZE;
+            return new Postings(Arrays.copyOf(data, size), df,
+                    Arrays.copyOf(blockFirstIds, blocks), Arrays.copyOf(blockBaseIds, blocks),
+                    Arrays.copyOf(blockOffsets, blocks));
+        }
+    }
+}
@@ -0,0 +1,408 @@
+package com.ureca.web.catalog;
+
+import com.ureca.web.dto.ContentResponse;
+import com.ureca.web.dto.SuggestionResponse;
+import com.ureca.web.util.HangulJamo;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 검색어 자동완성 (제목, 출연진, 감독)
+ *
+ * 항목마다 단어 시작 위치부터의 문자열을 자모로 풀어 쓴 키와 초성 키를 만들고,
+ * 정렬된 키 배열에서 이진 탐색으로 접두사 구간을 찾는다 (트라이를 펼쳐 놓은 형태).
+ * 구간 안의 조회수 상위 k개는 최댓값 구간 트리에서 O(k log n)으로 꺼낸다.
+ * 사전은 불변이고, 카탈로그가 바뀌면 별도 스레드에서 다시 만든 뒤 참조만 교체한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SuggestIndex {
+
+    private final CatalogSnapshotHolder catalogSnapshotHolder;
+
+    private final ReentrantLock buildLock = new ReentrantLock();
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean(false);
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "suggest-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile Dictionary current;
+
+    /**
+     * 검색어로 시작하는 제목/인물 중 조회수 상위 limit개
+     * 초성만 입력하면 초성으로 비교 (예: "ㅂㅅㅎ" → 부산행)
+     */
+    public List<SuggestionResponse> suggest(String query, int limit) {
+        String normalized = HangulJamo.normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Dictionary dictionary = current;
+        if (dictionary == null) {
+            dictionary = build();
+        }
+        return HangulJamo.isChoseongOnly(normalized)
+                ? dictionary.lookup(dictionary.choseongKeys, normalized, limit)
+                : dictionary.lookup(dictionary.jamoKeys, HangulJamo.decompose(normalized), limit);
+    }
+
+    @Order(20)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        if (current != null) {
+            scheduleRebuild();
+        }
+    }
+
+    /**
+     * 조회수 변화(가중치) 반영 - 스냅샷이 바뀌었을 때만 다시 생성
+     */
+    @Scheduled(fixedDelayString = "${suggest.refresh-interval-ms:60000}",
+               initialDelayString = "${suggest.refresh-interval-ms:60000}")
+    public void scheduledRefresh() {
+        Dictionary dictionary = current;
+        if (dictionary != null && dictionary.version != catalogSnapshotHolder.current().getVersion()) {
+            scheduleRebuild();
+        }
+    }
+
+    private void scheduleRebuild() {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            rebuildExecutor.execute(() -> {
+                rebuildScheduled.set(false);
+                try {
+                    rebuild();
+                } catch (Exception e) {
+                    log.error("❌ 자동완성 사전 재생성 실패 - 이전 사전 유지", e);
+                }
+            });
+        }
+    }
+
+    // 처음 요청 때만 요청 스레드에서 생성
+    private Dictionary build() {
+        buildLock.lock();
+        try {
+            if (current == null) {
+                rebuild();
+            }
+            return current;
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    private void rebuild() {
+        buildLock.lock();
+        try {
+            long startedAt = System.currentTimeMillis();
+            Dictionary dictionary = Dictionary.build(catalogSnapshotHolder.current());
+            current = dictionary;
+            log.info("🔤 자동완성 사전 생성 - 항목 {}개, 키 {}개, {}ms", dictionary.texts.length,
+                    dictionary.jamoKeys.keys.length, System.currentTimeMillis() - startedAt);
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    // ==================== 사전 ====================
+
+    private static final class Dictionary {
+        private final long version;
+        private final String[] texts;
+        private final SuggestionResponse.Type[] types;
+        private final long[] contentIds;
+        private final long[] weights;
+        private final KeyTable jamoKeys;
+        private final KeyTable choseongKeys;
+
+        private Dictionary(long version, String[] texts, SuggestionResponse.Type[] types, long[] contentIds,
+                           long[] weights, KeyTable jamoKeys, KeyTable choseongKeys) {
+            this.version = version;
+            this.texts = texts;
+            this.types = types;
+            this.contentIds = contentIds;
+            this.weights = weights;
+            this.jamoKeys = jamoKeys;
+            this.choseongKeys = choseongKeys;
+        }
+
+        private static Dictionary build(CatalogSnapshot snapshot) {
+            List<Entry> entries = new ArrayList<>(snapshot.size());
+            Map<String, Entry> people = new HashMap<>();
+
+            for (int ordinal = 0; ordinal < snapshot.size(); ordinal++) {
+                ContentResponse row = snapshot.row(ordinal);
+                long views = snapshot.viewCountAt(ordinal);
+                if (row.getTitle() != null && !row.getTitle().isBlank()) {
+                    entries.add(new Entry(row.getTitle().trim(), SuggestionResponse.Type.TITLE, row.getId(), views));
+                }
+                addPeople(entries, people, row.getCast(), SuggestionResponse.Type.CAST, row.getId(), views);
+                addPeople(entries, people, row.getDirector(), SuggestionResponse.Type.DIRECTOR, row.getId(), views);
+            }
+
+            int count = entries.size();
+            String[] texts = new String[count];
+            SuggestionResponse.Type[] types = new SuggestionResponse.Type[count];
+            long[] contentIds = new long[count];
+            long[] weights = new long[count];
+            KeyTableBuilder jamoKeys = new KeyTableBuilder(count * 2);
+            KeyTableBuilder choseongKeys = new KeyTableBuilder(count * 2);
+
+            for (int i = 0; i < count; i++) {
+                Entry entry = entries.get(i);
+                texts[i] = entry.text;
+                types[i] = entry.type;
+                contentIds[i] = entry.contentId;
+                weights[i] = entry.weight;
+                for (String suffix : wordSuffixes(entry.text)) {
+                    jamoKeys.add(HangulJamo.decompose(suffix), i);
+                    choseongKeys.add(HangulJamo.choseong(suffix), i);
+                }
+            }
+
+            return new Dictionary(snapshot.getVersion(), texts, types, contentIds, weights,
+                    jamoKeys.build(weights), choseongKeys.build(weights));
+        }
+
+        /**
+         * 쉼표로 구분된 인물 이름 추가 (같은 이름은 조회수 합산, 가장 많이 본 콘텐츠로 연결)
+         */
+        private static void addPeople(List<Entry> entries, Map<String, Entry> people, String names,
+                                      SuggestionResponse.Type type, long contentId, long views) {
+            if (names == null || names.isBlank()) {
+                return;
+            }
+            for (String name : names.split(",")) {
+                String trimmed = name.trim();
+                String normalized = HangulJamo.normalize(trimmed);
+                if (normalized.isEmpty()) {
+                    continue;
+                }
+                Entry person = people.get(type + ":" + normalized);
+                if (person == null) {
+                    person = new Entry(trimmed, type, contentId, 0);
+                    people.put(type + ":" + normalized, person);
+                    entries.add(person);
+                } else if (views > person.topViews) {
+                    person.contentId = contentId;
+                }
+                person.topViews = Math.max(person.topViews, views);
+                person.weight += views;
+            }
+        }
+
+        /**
+         * 단어 시작 위치마다 그 뒤 전체 (정규화, "오징어 게임" → [오징어게임, 게임])
+         */
+        private static Set<String> wordSuffixes(String text) {
+            Set<String> suffixes = new LinkedHashSet<>();
+            String[] words = text.trim().split("\\s+");
+            StringBuilder suffix = new StringBuilder();
+            for (int i = words.length - 1; i >= 0; i--) {
+                suffix.insert(0, words[i]);
+                String normalized = HangulJamo.normalize(suffix.toString());
+                if (!normalized.isEmpty()) {
+                    suffixes.add(normalized);
+                }
+            }
+            return suffixes;
+        }
+
+        private List<SuggestionResponse> lookup(KeyTable table, String prefix, int limit) {
+            int from = table.lowerBound(prefix);
+            int to = table.lowerBound(prefix + Character.MAX_VALUE);
+
+            List<SuggestionResponse> suggestions = new ArrayList<>(Math.min(limit, to - from));
+            Set<Integer> seen = new HashSet<>();
+            table.forEachTop(from, to, keyIndex -> {
+                int entry = table.entries[keyIndex];
+                if (seen.add(entry)) {
+                    suggestions.add(SuggestionResponse.builder()
+                            .text(texts[entry])
+                            .type(types[entry])
+                            .contentId(contentIds[entry])
+                            .viewCount(weights[entry])
+                            .build());
+                }
+                return suggestions.size() < limit;
+            });
+            return suggestions;
+        }
+    }
+
+    private static final class Entry {
+        private final String text;
+        private final SuggestionResponse.Type type;
+        private long contentId;
+        private long weight;
+        private long topViews;
+
+        private Entry(String text, SuggestionResponse.Type type, long contentId, long weight) {
+            this.text = text;
+            this.type = type;
+            this.contentId = contentId;
+            this.weight = weight;
+            this.topViews = weight;
+        }
+    }
+
+    // ==================== 정렬된 키 + 최댓값 구간 트리 ====================
+
+    @FunctionalInterface
+    private interface KeyVisitor {
+        /**
+         * @return 계속 꺼내려면 true
+         */
+        boolean visit(int keyIndex);
+    }
+
+    private static final class KeyTable {
+        private final String[] keys;        // 오름차순
+        private final int[] entries;        // keys[i]의 항목 번호
+        private final long[] keyWeights;    // keys[i]의 조회수
+        private final int leafCount;        // 2의 거듭제곱
+        private final int[] tree;           // 노드 구간에서 조회수가 가장 큰 키 번호 (없으면 -1)
+
+        private KeyTable(String[] keys, int[] entries, long[] keyWeights) {
+            this.keys = keys;
+            this.entries = entries;
+            this.keyWeights = keyWeights;
+
+            int leaves = 1;
+            while (leaves < keys.length) {
+                leaves <<= 1;
+            }
+            this.leafCount = leaves;
+            this.tree = new int[leaves * 2];
+            Arrays.fill(tree, -1);
+            for (int i = 0; i < keys.length; i++) {
+                tree[leaves + i] = i;
+            }
+            for (int node = leaves - 1; node >= 1; node--) {
+                tree[node] = better(tree[node * 2], tree[node * 2 + 1]);
+            }
+        }
+
+        private int lowerBound(String key) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid].compareTo(key) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * [from, to) 구간의 키를 조회수 내림차순으로 방문
+         */
+        private void forEachTop(int from, int to, KeyVisitor visitor) {
+            if (from >= to) {
+                return;
+            }
+            PriorityQueue<Integer> nodes = new PriorityQueue<>(
+                    Comparator.comparingLong((Integer node) -> keyWeights[tree[node]]).reversed()
+                            .thenComparingInt(node -> tree[node]));
+
+            // 구간을 덮는 최소 노드들
+            for (int left = from + leafCount, right = to + leafCount; left < right; left >>= 1, right >>= 1) {
+                if ((left & 1) == 1) {
+                    nodes.add(left++);
+                }
+                if ((right & 1) == 1) {
+                    nodes.add(--right);
+                }
+            }
+
+            while (!nodes.isEmpty()) {
+                int node = nodes.poll();
+                if (node >= leafCount) {
+                    if (!visitor.visit(tree[node])) {
+                        return;
+                    }
+                    continue;
+                }
+                for (int child = node * 2; child <= node * 2 + 1; child++) {
+                    if (tree[child] >= 0) {
+                        nodes.add(child);
+                    }
+                }
+            }
+        }
+
+        private int better(int a, int b) {
+            if (a < 0) {
+                return b;
+            }
+            if (b < 0) {
+                return a;
+            }
+            return keyWeights[b] > keyWeights[a] ? b : a;
+        }
+    }
+
+    /**
+     * 키 뒤에 구분자(NUL)와 항목 번호 두 글자를 붙여 문자열 그대로 정렬
+     * 구분자는 어떤 글자보다 앞서므로 접두사 순서는 그대로 유지된다.
+     */
+    private static final class KeyTableBuilder {
+        private static final char SEPARATOR = '\u0000';
+
+        private final List<String> keys;
+
+        private KeyTableBuilder(int expected) {
+            this.keys = new ArrayList<>(expected);
+        }
+
+        private void add(String key, int entry) {
+            keys.add(key + SEPARATOR + (char) (entry >>> 16) + (char) entry);
+        }
+
+        private KeyTable build(long[] weights) {
+            String[] sorted = keys.toArray(new String[0]);
+            Arrays.parallelSort(sorted);
+
+            int[] entries = new int[sorted.length];
+            long[] keyWeights = new long[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                String key = sorted[i];
+                entries[i] = key.charAt(key.length() - 2) << 16 | key.charAt(key.length() - 1);
+                keyWeights[i] = weights[entries[i]];
+            }
+            return new KeyTable(sorted, entries, keyWeights);
+        }
+    }
+}
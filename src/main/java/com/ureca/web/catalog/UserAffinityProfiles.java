@@ -0,0 +1,478 @@
+package com.ureca.web.catalog;
+
+import com.ureca.web.dto.ContentResponse;
+import com.ureca.web.entity.Content;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 사용자별 장르/타입 선호도 (인기/최신 목록 개인화 정렬용)
+ *
+ * 사용자마다 [타입 슬롯 | 장르 슬롯] 길이의 byte 배열 하나를 둔다. 값은 시청 시간(분) 환산 누적치를
+ * 로그 눈금으로 양자화한 것 (q = 16 × log2(1 + 분), 한 칸 약 4.4%, 255면 약 1000시간).
+ * 한 칸보다 작은 증가분(하트비트 몇 초)은 칸 사이 위치만큼의 확률로 올림해서 기대값이 실제 누적치와 같도록 한다.
+ * 사용자 id와 값은 줄무늬(stripe)별 개방 주소법 표의 원시 배열에 두므로 객체 없이
+ * 사용자당 (8 + 차원 수) / 적재율 바이트 정도 (장르 30개면 약 80바이트, 100만 명에 80MB 안팎).
+ * 장르는 처음 들어온 순서로 슬롯을 주고, max-genres를 넘는 장르는 반영하지 않는다.
+ *
+ * 시청 세션에서 인정된 시청 초와 찜 추가/해제(± favorite-minutes)로 바로 갱신하고,
+ * 주기적으로 watch_sessions와 favorites를 한 번씩 행 단위로 흘려 읽어 새 표를 만든 뒤 교체한다
+ * (근사 오차와 누락은 이때 정리된다).
+ * 재생성 중 들어온 시청 시간은 새 표에도 더하고, 찜 변경은 favorites를 읽기 시작한 뒤의 것만 더한다
+ * (그 전에 커밋된 찜은 읽는 쪽에서 보이므로 두 번 세지 않도록).
+ * 근사인 부분:
+ * - 아직 닫히지 않았거나 저장 대기 중인 시청 세션의 시간은 재생성 시점에 DB에 없으므로 새 표에서 빠진다
+ *   (세션이 저장된 뒤 다음 재생성에서 들어옴).
+ * - 재생성 시작과 각 SELECT 시작 사이, 커밋과 커밋 후 반영 사이의 아주 짧은 구간에 든 갱신은
+ *   두 번 세거나 빠질 수 있다.
+ */
+@Slf4j
+@Component
+public class UserAffinityProfiles {
+
+    private static final String SESSIONS_SQL = "SELECT user_id, content_id, watched_seconds FROM watch_sessions";
+    private static final String FAVORITES_SQL = "SELECT user_id, content_id FROM favorites";
+
+    private static final Content.ContentType[] TYPES = Content.ContentType.values();
+
+    // 로그 눈금 - 2배마다 16칸
+    private static final double STEPS_PER_DOUBLING = 16.0;
+    private static final double[] DECODED = new double[256];
+
+    static {
+        for (int q = 0; q < DECODED.length; q++) {
+            DECODED[q] = Math.pow(2, q / STEPS_PER_DOUBLING) - 1;
+        }
+    }
+
+    private static final int STRIPES = 64;
+    private static final int INITIAL_CAPACITY = 256;
+
+    // 점수에서 타입 선호 비중 (나머지는 장르)
+    private static final double TYPE_SHARE = 0.3;
+
+    private final CatalogSnapshotHolder catalogSnapshotHolder;
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxGenres;
+    private final int dimensions;
+    private final double favoriteMinutes;
+
+    private final Map<String, Integer> genreSlots = new ConcurrentHashMap<>();
+    private final AtomicInteger nextGenreSlot = new AtomicInteger();
+
+    private volatile Store store;
+    private volatile Store building;            // 재생성 중인 표 (없으면 null)
+    private volatile Store buildingFavorites;   // favorites를 읽기 시작한 뒤의 재생성 중인 표 (없으면 null)
+
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "user-affinity-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public UserAffinityProfiles(
+            CatalogSnapshotHolder catalogSnapshotHolder,
+            JdbcTemplate jdbcTemplate,
+            @Value("${affinity.max-genres:30}") int maxGenres,
+            @Value("${affinity.favorite-minutes:30}") double favoriteMinutes) {
+        this.catalogSnapshotHolder = catalogSnapshotHolder;
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxGenres = maxGenres;
+        this.dimensions = TYPES.length + maxGenres;
+        this.favoriteMinutes = favoriteMinutes;
+        this.store = new Store(dimensions);
+    }
+
+    /**
+     * 한 사용자의 선호도 (양자화 값을 복원해서 타입/장르 각각 가장 큰 값을 1로)
+     */
+    public final class Profile {
+        private final double[] types;
+        private final double[] genres;
+
+        private Profile(double[] types, double[] genres) {
+            this.types = types;
+            this.genres = genres;
+        }
+
+        /**
+         * 콘텐츠가 이 사용자 취향에 맞는 정도 (0 ~ 1)
+         */
+        public double score(ContentResponse content) {
+            double score = 0;
+            int type = typeSlot(content.getContentType());
+            if (type >= 0) {
+                score += TYPE_SHARE * types[type];
+            }
+            Integer genre = content.getGenre() != null ? genreSlots.get(content.getGenre()) : null;
+            if (genre != null && genre >= 0) {
+                score += (1 - TYPE_SHARE) * genres[genre];
+            }
+            return score;
+        }
+    }
+
+    /**
+     * 사용자 선호도 (기록이 없으면 null)
+     */
+    public Profile profile(long userId) {
+        byte[] row = store.row(userId);
+        if (row == null) {
+            return null;
+        }
+
+        double[] types = new double[TYPES.length];
+        double[] genres = new double[maxGenres];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = DECODED[row[i] & 0xff];
+        }
+        for (int i = 0; i < genres.length; i++) {
+            genres[i] = DECODED[row[TYPES.length + i] & 0xff];
+        }
+        boolean hasType = normalize(types);
+        boolean hasGenre = normalize(genres);
+        if (!hasType && !hasGenre) {
+            return null;
+        }
+        return new Profile(types, genres);
+    }
+
+    /**
+     * 선호도가 바뀌었는지 비교할 값 (양자화 값이 같으면 정렬 결과도 같음)
+     */
+    public String stamp(long userId) {
+        byte[] row = store.row(userId);
+        return row != null ? Integer.toHexString(Arrays.hashCode(row)) : "0";
+    }
+
+    public long users() {
+        return store.size();
+    }
+
+    /**
+     * 시청 세션에서 인정된 시청 시간 반영
+     */
+    public void recordWatch(long userId, long contentId, int watchedSeconds) {
+        if (watchedSeconds > 0) {
+            apply(userId, contentId, watchedSeconds / 60.0, building);
+        }
+    }
+
+    /**
+     * 찜 추가/해제 반영 - 트랜잭션 안이면 커밋 후에 (롤백된 찜이 남지 않도록)
+     */
+    public void recordFavoriteAfterCommit(Long userId, Long contentId, boolean added) {
+        double minutes = added ? favoriteMinutes : -favoriteMinutes;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(userId, contentId, minutes, buildingFavorites);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(userId, contentId, minutes, buildingFavorites);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        scheduleRebuild();
+    }
+
+    /**
+     * 기록에서 다시 만들기 (찜 해제 누락, 확률 올림 오차 정리)
+     */
+    @Scheduled(fixedDelayString = "${affinity.rebuild-interval-ms:86400000}",
+               initialDelayString = "${affinity.rebuild-interval-ms:86400000}")
+    public void scheduledRebuild() {
+        scheduleRebuild();
+    }
+
+    private void scheduleRebuild() {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            rebuildExecutor.execute(() -> {
+                rebuildScheduled.set(false);
+                try {
+                    rebuild();
+                } catch (Exception e) {
+                    log.error("❌ 사용자 선호도 재생성 실패 - 이전 값 유지", e);
+                }
+            });
+        }
+    }
+
+    private void rebuild() {
+        long startedAt = System.currentTimeMillis();
+        CatalogSnapshot snapshot = catalogSnapshotHolder.current();
+        Store fresh = new Store(dimensions);
+        long[] rows = new long[1];
+
+        building = fresh;
+        try {
+            stream(SESSIONS_SQL, rs -> {
+                rows[0]++;
+                int seconds = rs.getInt(3);
+                if (seconds > 0) {
+                    apply(fresh, snapshot, rs.getLong(1), rs.getLong(2), seconds / 60.0);
+                }
+            });
+            buildingFavorites = fresh;
+            stream(FAVORITES_SQL, rs -> {
+                rows[0]++;
+                apply(fresh, snapshot, rs.getLong(1), rs.getLong(2), favoriteMinutes);
+            });
+            store = fresh;
+        } finally {
+            building = null;
+            buildingFavorites = null;
+        }
+        log.info("🧭 사용자 선호도 재생성 - 사용자: {}, 기록: {}건, 장르 슬롯: {}/{}, {}ms",
+                fresh.size(), rows[0], Math.min(nextGenreSlot.get(), maxGenres), maxGenres,
+                System.currentTimeMillis() - startedAt);
+    }
+
+    // 결과를 메모리에 모으지 않고 한 행씩 (MySQL 드라이버는 fetchSize가 Integer.MIN_VALUE일 때 행 단위 스트리밍)
+    private void stream(String sql, RowCallbackHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(Integer.MIN_VALUE);
+            return statement;
+        }, handler);
+    }
+
+    // rebuilding - 재생성 중인 표에도 더할 때 그 표 (아니면 null)
+    private void apply(long userId, long contentId, double minutes, Store rebuilding) {
+        CatalogSnapshot snapshot = catalogSnapshotHolder.current();
+        Store target = store;
+        apply(target, snapshot, userId, contentId, minutes);
+        if (rebuilding != null && rebuilding != target) {
+            apply(rebuilding, snapshot, userId, contentId, minutes);
+        }
+    }
+
+    // 카탈로그에 없는 콘텐츠는 무시
+    private void apply(Store target, CatalogSnapshot snapshot, long userId, long contentId, double minutes) {
+        int ordinal = snapshot.ordinalOf(contentId);
+        if (ordinal < 0) {
+            return;
+        }
+        ContentResponse row = snapshot.row(ordinal);
+        int genre = genreSlot(row.getGenre());
+        target.add(userId, typeSlot(row.getContentType()), genre >= 0 ? TYPES.length + genre : -1, minutes);
+    }
+
+    private static int typeSlot(String contentType) {
+        for (Content.ContentType type : TYPES) {
+            if (type.name().equals(contentType)) {
+                return type.ordinal();
+            }
+        }
+        return -1;
+    }
+
+    // 새 장르는 남은 슬롯이 있으면 다음 번호, 없으면 -1 (한 번 정해지면 바뀌지 않음)
+    private int genreSlot(String genre) {
+        if (genre == null) {
+            return -1;
+        }
+        Integer slot = genreSlots.get(genre);
+        if (slot != null) {
+            return slot;
+        }
+        return genreSlots.computeIfAbsent(genre, g -> {
+            int next = nextGenreSlot.getAndIncrement();
+            if (next >= maxGenres) {
+                log.warn("선호도 장르 슬롯 부족 ({}개) - 반영하지 않음: {}", maxGenres, g);
+                return -1;
+            }
+            return next;
+        });
+    }
+
+    // 가장 큰 값을 1로 (모두 0이면 false)
+    private static boolean normalize(double[] values) {
+        double max = 0;
+        for (double value : values) {
+            max = Math.max(max, value);
+        }
+        if (max <= 0) {
+            return false;
+        }
+        for (int i = 0; i < values.length; i++) {
+            values[i] /= max;
+        }
+        return true;
+    }
+
+    // 분 → 로그 눈금 칸 (아래 칸과 위 칸 사이 위치만큼의 확률로 위 칸)
+    static int encode(double minutes) {
+        if (minutes <= 0) {
+            return 0;
+        }
+        int lower = (int) (STEPS_PER_DOUBLING * Math.log1p(minutes) / Math.log(2));
+        if (lower >= DECODED.length - 1) {
+            return DECODED.length - 1;
+        }
+        double fraction = (minutes - DECODED[lower]) / (DECODED[lower + 1] - DECODED[lower]);
+        return ThreadLocalRandom.current().nextDouble() < fraction ? lower + 1 : lower;
+    }
+
+    static double decode(int q) {
+        return DECODED[q];
+    }
+
+    /**
+     * 사용자 id → 양자화 선호도 표 (줄무늬마다 잠금 하나, 해시 상위 비트로 줄무늬, 하위 비트로 칸)
+     */
+    private static final class Store {
+        private final Stripe[] stripes = new Stripe[STRIPES];
+
+        private Store(int dimensions) {
+            for (int i = 0; i < STRIPES; i++) {
+                stripes[i] = new Stripe(dimensions);
+            }
+        }
+
+        private void add(long userId, int first, int second, double minutes) {
+            long hash = hash(userId);
+            stripes[(int) (hash >>> 58)].add(userId, (int) hash, first, second, minutes);
+        }
+
+        private byte[] row(long userId) {
+            long hash = hash(userId);
+            return stripes[(int) (hash >>> 58)].row(userId, (int) hash);
+        }
+
+        private long size() {
+            long size = 0;
+            for (Stripe stripe : stripes) {
+                size += stripe.size();
+            }
+            return size;
+        }
+
+        private static long hash(long userId) {
+            long h = userId * 0x9E3779B97F4A7C15L;
+            return h ^ (h >>> 29);
+        }
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final int dimensions;
+        private long[] keys = new long[INITIAL_CAPACITY];   // 0 = 빈 칸
+        private byte[] values;                               // 칸 i의 값은 [i × dimensions, (i + 1) × dimensions)
+        private int size;
+
+        private Stripe(int dimensions) {
+            this.dimensions = dimensions;
+            this.values = new byte[INITIAL_CAPACITY * dimensions];
+        }
+
+        // first/second - 더할 차원 (음수면 건너뜀)
+        private void add(long userId, int hash, int first, int second, double minutes) {
+            if (userId == 0) {
+                return;
+            }
+            lock.lock();
+            try {
+                int index = find(userId, hash);
+                if (keys[index] == 0) {
+                    // 없는 사용자의 감소(찜 해제)는 기록하지 않음
+                    if (minutes <= 0) {
+                        return;
+                    }
+                    if ((size + 1) * 4L > keys.length * 3L) {
+                        grow();
+                        index = find(userId, hash);
+                    }
+                    keys[index] = userId;
+                    size++;
+                }
+                int base = index * dimensions;
+                if (first >= 0) {
+                    addTo(base + first, minutes);
+                }
+                if (second >= 0) {
+                    addTo(base + second, minutes);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void addTo(int position, double minutes) {
+            double current = DECODED[values[position] & 0xff];
+            values[position] = (byte) encode(current + minutes);
+        }
+
+        private byte[] row(long userId, int hash) {
+            lock.lock();
+            try {
+                int index = find(userId, hash);
+                if (keys[index] == 0) {
+                    return null;
+                }
+                return Arrays.copyOfRange(values, index * dimensions, (index + 1) * dimensions);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int size() {
+            lock.lock();
+            try {
+                return size;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // userId가 있는 칸, 없으면 들어갈 빈 칸 (선형 탐사)
+        private int find(long userId, int hash) {
+            int mask = keys.length - 1;
+            int index = hash & mask;
+            while (keys[index] != 0 && keys[index] != userId) {
+                index = (index + 1) & mask;
+            }
+            return index;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            byte[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new byte[keys.length * dimensions];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    int index = find(oldKeys[i], (int) Store.hash(oldKeys[i]));
+                    keys[index] = oldKeys[i];
+                    System.arraycopy(oldValues, i * dimensions, values, index * dimensions, dimensions);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.ureca.web.catalog;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * 누적된 조회수가 DB에 반영됨 (contentId → 증가분)
+ */
+@Getter
+@RequiredArgsConstructor
+public class ViewCountsFlushedEvent {
+
+    private final Map<Long, Long> deltas;
+}
@@ -0,0 +1,117 @@
+package com.ureca.web.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 가상 스레드 모드의 DB 커넥션 동시 사용 제한
+ *
+ * 가상 스레드는 요청 수만큼 생기므로 스레드 풀이 더 이상 커넥션 풀 앞의 완충 역할을 하지 않는다.
+ * 요청 전체가 아니라 커넥션을 빌릴 때 허가를 받고 커넥션을 닫을 때(풀에 반납) 돌려주므로
+ * 스냅샷/캐시 적중, 응답 쓰기, 스트리밍 업로드 읽기처럼 DB를 쓰지 않는 구간은 제한받지 않는다.
+ * 허가 수는 커넥션 풀 크기와 같고, wait-timeout 안에 받지 못하면 커넥션 풀 타임아웃까지 기다리지 않고
+ * DbBusyException으로 바로 실패한다 (API 응답은 503).
+ */
+@Slf4j
+public class ConcurrencyLimitedDataSource extends DelegatingDataSource {
+
+    /**
+     * wait-timeout 안에 커넥션 허가를 받지 못함
+     */
+    public static class DbBusyException extends SQLTransientConnectionException {
+        public DbBusyException(long waitTimeoutMillis) {
+            super("DB 커넥션 대기 시간 초과 (" + waitTimeoutMillis + "ms)");
+        }
+    }
+
+    private final Semaphore permits;
+    private final long waitTimeoutMillis;
+    private final LongAdder rejected = new LongAdder();
+
+    public ConcurrencyLimitedDataSource(DataSource target, int maxConnections, long waitTimeoutMillis) {
+        super(target);
+        this.permits = new Semaphore(maxConnections, true);
+        this.waitTimeoutMillis = waitTimeoutMillis;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return limited(obtainTargetDataSource().getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return limited(obtainTargetDataSource().getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    private void acquire() throws SQLException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.increment();
+            log.warn("⏳ DB 커넥션 동시 사용 한도 초과 - {}ms 대기 후 실패", waitTimeoutMillis);
+            throw new DbBusyException(waitTimeoutMillis);
+        }
+    }
+
+    // close()가 처음 호출될 때 허가 반환 (나머지 호출은 그대로 위임)
+    private Connection limited(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                        try {
+                            connection.close();
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                permits.release();
+                            }
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
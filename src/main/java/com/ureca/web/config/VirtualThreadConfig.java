@@ -0,0 +1,40 @@
+package com.ureca.web.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * 가상 스레드 실행 모드 (spring.threads.virtual.enabled=true 일 때만)
+ *
+ * Spring Boot가 Tomcat 요청 처리, @Scheduled, @Async를 가상 스레드에서 실행하므로
+ * 서비스의 JPA/JDBC 호출도 요청 스레드(가상 스레드) 위에서 블로킹된다.
+ * 여기서는 DB 커넥션 풀이 넘치지 않도록 DataSource를 커넥션 동시 사용 제한으로 감싸기만 한다.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    // 다른 빈보다 먼저 만들어져야 하므로 static (JPA, JdbcTemplate 모두 감싼 DataSource를 받음)
+    @Bean
+    public static BeanPostProcessor dbConnectionLimiter(
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+            @Value("${db-limiter.wait-timeout-ms:2000}") long waitTimeoutMillis) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConcurrencyLimitedDataSource) {
+                    return bean;
+                }
+                log.info("🧵 가상 스레드 모드 - DB 커넥션 동시 사용 한도: {} (대기 {}ms)", poolSize, waitTimeoutMillis);
+                return new ConcurrencyLimitedDataSource(dataSource, poolSize, waitTimeoutMillis);
+            }
+        };
+    }
+}
@@ -2,6 +2,8 @@ package com.ureca.web.controller;
 
 import com.ureca.web.dto.*;
 import com.ureca.web.service.AdminService;
+import com.ureca.web.service.ContentImportService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -18,6 +20,7 @@ import java.util.List;
 public class AdminController {
 
     private final AdminService adminService;
+    private final ContentImportService contentImportService;
 
     // ==================== 통계 API ====================
     
@@ -50,6 +53,22 @@ public class AdminController {
         }
     }
 
+    @GetMapping("/cache-stats")
+//    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<List<CacheStatsResponse>>> getCacheStats() {
+        log.info("=== 캐시 통계 조회 API 호출 ===");
+
+        List<CacheStatsResponse> stats = adminService.getCacheStats();
+
+        ApiResponse<List<CacheStatsResponse>> response = ApiResponse.<List<CacheStatsResponse>>builder()
+                .success(true)
+                .message("캐시 통계 조회에 성공했습니다.")
+                .data(stats)
+                .build();
+
+        return ResponseEntity.ok(response);
+    }
+
     // ==================== 회원 관리 API ====================
     
     @GetMapping("/users")
@@ -172,6 +191,38 @@ public class AdminController {
         }
     }
     
+    @PostMapping(value = "/contents/import", consumes = {"application/x-ndjson", "text/csv"})
+//    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<ContentImportResponse>> importContents(HttpServletRequest request) {
+        log.info("=== 콘텐츠 대량 등록 API 호출 === Content-Type: {}", request.getContentType());
+
+        try {
+            ContentImportService.Format format = request.getContentType().startsWith("text/csv")
+                    ? ContentImportService.Format.CSV
+                    : ContentImportService.Format.NDJSON;
+            ContentImportResponse result = contentImportService.importContents(request.getInputStream(), format);
+
+            ApiResponse<ContentImportResponse> response = ApiResponse.<ContentImportResponse>builder()
+                    .success(true)
+                    .message("콘텐츠 대량 등록이 완료되었습니다.")
+                    .data(result)
+                    .build();
+
+            log.info("✅ 콘텐츠 대량 등록 성공, 등록: {}, 실패: {}", result.getImported(), result.getFailed());
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            log.error("❌ 콘텐츠 대량 등록 실패: {}", e.getMessage());
+
+            ApiResponse<ContentImportResponse> response = ApiResponse.<ContentImportResponse>builder()
+                    .success(false)
+                    .message("콘텐츠 대량 등록에 실패했습니다: " + e.getMessage())
+                    .build();
+
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
     @PutMapping("/contents/{contentId}")
 //    @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<ContentResponse>> updateContent(
@@ -0,0 +1,54 @@
+package com.ureca.web.controller;
+
+import com.ureca.web.config.ConcurrencyLimitedDataSource;
+import com.ureca.web.dto.ApiResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.TransactionException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * 컨트롤러 밖으로 나온 예외 → ApiResponse 응답
+ *
+ * 서비스 대부분은 예외를 잡아 ApiResponse.error로 돌려주므로, 여기서는 잡지 않고 올라오는 경우만 처리한다.
+ */
+@Slf4j
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    /**
+     * 잘못된 요청 값 (커서 형식, view 값, 페이지 번호 등) - 400
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ApiResponse<Void>> handleIllegalArgument(IllegalArgumentException e) {
+        log.warn("⚠️ 잘못된 요청: {}", e.getMessage());
+        return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+    }
+
+    /**
+     * DB 접근 실패 - 커넥션 동시 사용 한도 초과면 503 (Retry-After), 그 밖에는 500
+     */
+    @ExceptionHandler({DataAccessException.class, TransactionException.class})
+    public ResponseEntity<ApiResponse<Void>> handleDataAccess(RuntimeException e) {
+        if (isDbBusy(e)) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", "1")
+                    .body(ApiResponse.error("요청이 많아 잠시 후 다시 시도해주세요."));
+        }
+        log.error("❌ DB 처리 중 오류 발생", e);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("처리 중 오류가 발생했습니다."));
+    }
+
+    private static boolean isDbBusy(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConcurrencyLimitedDataSource.DbBusyException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
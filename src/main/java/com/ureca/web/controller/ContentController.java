@@ -1,14 +1,26 @@
 package com.ureca.web.controller;
 
+import com.ureca.web.cache.JsonBodyCache;
 import com.ureca.web.dto.ApiResponse;
 import com.ureca.web.dto.ContentListResponse;
 import com.ureca.web.dto.ContentResponse;
+import com.ureca.web.dto.SuggestionResponse;
+import com.ureca.web.dto.TagCountResponse;
 import com.ureca.web.entity.Content;
 import com.ureca.web.service.ContentService;
+import com.ureca.web.service.ViewEventPipeline;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
+import java.time.ZoneId;
 import java.util.List;
 
 @RestController
@@ -18,68 +30,185 @@ import java.util.List;
 public class ContentController {
     
     private final ContentService contentService;
+    private final JsonBodyCache jsonBodyCache;
+    private final ViewEventPipeline viewEventPipeline;
+    
+    // 응답 캐시 정책 - 목록은 스냅샷 버전 ETag로, 상세는 수정 시각/반영된 조회수/찜 수 ETag로 재검증 (같으면 304, 본문 없음)
+    // 상세는 조회수 집계를 위해 매번 재검증, 홈 목록은 짧게, 추천/태그처럼 잘 안 바뀌는 목록은 길게 재사용
+    private static final CacheControl DETAIL_CACHE = CacheControl.noCache();
+    private static final CacheControl LIST_CACHE = CacheControl.maxAge(Duration.ofSeconds(30)).cachePublic();
+    private static final CacheControl POPULAR_CACHE = CacheControl.maxAge(Duration.ofSeconds(30)).cachePublic();
+    private static final CacheControl LATEST_CACHE = CacheControl.maxAge(Duration.ofSeconds(60)).cachePublic();
+    private static final CacheControl RECOMMENDED_CACHE = CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic();
+    private static final CacheControl PERSONAL_RECOMMENDED_CACHE = CacheControl.maxAge(Duration.ofSeconds(60)).cachePrivate();
+    private static final CacheControl PERSONAL_ROW_CACHE = CacheControl.maxAge(Duration.ofSeconds(30)).cachePrivate();
+    private static final CacheControl TAG_CACHE = CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic();
+    private static final CacheControl SUGGEST_CACHE = CacheControl.maxAge(Duration.ofSeconds(60)).cachePublic();
     
     /**
      * 콘텐츠 목록 조회 (필터링, 검색, 정렬, 페이징)
+     * cursor를 보내면 커서 방식 (빈 값이면 첫 페이지, 다음 페이지는 pageInfo.nextCursor)
+     * withTotal=false면 전체 개수 없이 pageInfo.hasNext만
+     * contentType, genre, year, country, language는 여러 값 가능 (genre=드라마&genre=액션 또는 genre=드라마,액션)
+     * tags=a,b는 match=any(기본)면 하나 이상, match=all이면 모두 붙은 콘텐츠
+     * facets=true면 항목별 값 개수(facets)를 함께 반환
+     * view=card면 contents 대신 포스터 카드용 값만 담은 cards (id, 제목, 이미지, 장르, 연도, 평점, 타입)
      */
     @GetMapping
     public ResponseEntity<ApiResponse<ContentListResponse>> getContents(
-            @RequestParam(required = false) Content.ContentType contentType,
-            @RequestParam(required = false) String genre,
+            @RequestParam(required = false) List<Content.ContentType> contentType,
+            @RequestParam(required = false) List<String> genre,
+            @RequestParam(required = false) List<Integer> year,
+            @RequestParam(required = false) List<String> country,
+            @RequestParam(required = false) List<String> language,
+            @RequestParam(required = false) List<String> tags,
+            @RequestParam(defaultValue = "any") String match,
             @RequestParam(required = false) String keyword,
             @RequestParam(required = false, defaultValue = "latest") String sortBy,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            @RequestParam(defaultValue = "false") boolean facets,
+            @RequestParam(defaultValue = "full") String view,
+            WebRequest request
     ) {
+        if (request.checkNotModified(contentService.getCatalogETag(), contentService.getCatalogLastModified())) {
+            return notModified(LIST_CACHE);
+        }
+        
         ContentListResponse response = contentService.getContents(
-                contentType, genre, keyword, sortBy, page, size
+                contentType, genre, year, country, language, tags, "all".equalsIgnoreCase(match),
+                keyword, sortBy, page, size, cursor, withTotal, facets, isCardView(view)
         );
         
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return ResponseEntity.ok().cacheControl(LIST_CACHE).body(ApiResponse.success(response));
+    }
+    
+    /**
+     * 태그 클라우드 (태그별 콘텐츠 수, 많은 순)
+     */
+    @GetMapping("/tags")
+    public ResponseEntity<ApiResponse<List<TagCountResponse>>> getTagCloud(
+            @RequestParam(required = false) Content.ContentType contentType,
+            @RequestParam(required = false) String genre,
+            @RequestParam(defaultValue = "50") int limit,
+            WebRequest request
+    ) {
+        if (request.checkNotModified(contentService.getCatalogETag(), contentService.getCatalogLastModified())) {
+            return notModified(TAG_CACHE);
+        }
+        
+        List<TagCountResponse> response = contentService.getTagCloud(contentType, genre, limit);
+        return ResponseEntity.ok().cacheControl(TAG_CACHE).body(ApiResponse.success(response));
     }
     
     /**
      * 콘텐츠 상세 조회
+     * 본문을 정하는 값(수정 시각, 반영된 조회수, 찜 수)으로 ETag를 만들어 셋이 모두 같을 때만 304
+     * (조회수는 반영 주기마다만 바뀌므로 그 사이 재검증은 304, 수정 시각만으로는 304 뒤에 숫자가 낡음)
+     * 본문은 같은 값이면 직렬화해 둔 바이트를 그대로 쓴다.
+     * 조회수는 비동기로 집계하고, 같은 조회자(userId 또는 접속 주소 + User-Agent)의 반복 조회는 일정 시간 한 번만 센다.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<ContentResponse>> getContentById(@PathVariable Long id) {
+    public ResponseEntity<byte[]> getContentById(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long userId,
+            HttpServletRequest servletRequest,
+            WebRequest request
+    ) {
         ContentResponse response = contentService.getContentById(id);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        viewEventPipeline.record(id, userId, servletRequest.getRemoteAddr(), servletRequest.getHeader(HttpHeaders.USER_AGENT));
+        
+        long updatedAt = response.getUpdatedAt() != null
+                ? response.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : 0L;
+        String stamp = updatedAt + "-" + response.getViewCount() + "-" + response.getLikeCount();
+        if (request.checkNotModified("\"" + id + "-" + stamp + "\"")) {
+            return notModified(DETAIL_CACHE);
+        }
+        
+        return json(jsonBodyCache.get("content:" + id, stamp, () -> response), DETAIL_CACHE, request);
     }
     
     /**
      * 추천 콘텐츠 조회
+     * userId가 있으면 찜/시청 기록 기반 맞춤 추천 (사용자별 응답이므로 private 캐시, 추천 모델 버전까지 ETag에 포함)
      */
     @GetMapping("/recommended")
     public ResponseEntity<ApiResponse<List<ContentResponse>>> getRecommendedContents(
-            @RequestParam(defaultValue = "10") int limit
+            @RequestParam(required = false) Long userId,
+            @RequestParam(defaultValue = "10") int limit,
+            WebRequest request
     ) {
-        List<ContentResponse> response = contentService.getRecommendedContents(limit);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        CacheControl cacheControl = userId != null ? PERSONAL_RECOMMENDED_CACHE : RECOMMENDED_CACHE;
+        boolean notModified = userId != null
+                ? request.checkNotModified(contentService.getRecommendationETag())
+                : request.checkNotModified(contentService.getCatalogETag(), contentService.getCatalogLastModified());
+        if (notModified) {
+            return notModified(cacheControl);
+        }
+        
+        List<ContentResponse> response = contentService.getRecommendedContents(userId, limit);
+        return ResponseEntity.ok().cacheControl(cacheControl).body(ApiResponse.success(response));
     }
     
     /**
      * 인기 콘텐츠 조회
+     * userId가 있으면 사용자 선호 장르/타입 순으로 다시 정렬 (사용자별 응답이므로 본문 캐시 없이 private 캐시)
      */
     @GetMapping("/popular")
-    public ResponseEntity<ApiResponse<List<ContentResponse>>> getPopularContents(
+    public ResponseEntity<byte[]> getPopularContents(
             @RequestParam(required = false) Content.ContentType contentType,
-            @RequestParam(defaultValue = "10") int limit
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) Long userId,
+            WebRequest request
     ) {
-        List<ContentResponse> response = contentService.getPopularContents(contentType, limit);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        if (userId != null) {
+            if (request.checkNotModified(contentService.getAffinityETag(userId))) {
+                return notModified(PERSONAL_ROW_CACHE);
+            }
+            return json(jsonBodyCache.serialize(contentService.getPopularContents(contentType, limit, userId)),
+                    PERSONAL_ROW_CACHE, request);
+        }
+        
+        String etag = contentService.getCatalogETag();
+        if (request.checkNotModified(etag, contentService.getCatalogLastModified())) {
+            return notModified(POPULAR_CACHE);
+        }
+        
+        JsonBodyCache.Body body = jsonBodyCache.get("popular:" + contentType + ":" + limit, etag,
+                () -> contentService.getPopularContents(contentType, limit));
+        return json(body, POPULAR_CACHE, request);
     }
     
     /**
      * 최신 콘텐츠 조회
+     * userId가 있으면 사용자 선호 장르/타입 순으로 다시 정렬 (사용자별 응답이므로 본문 캐시 없이 private 캐시)
      */
     @GetMapping("/latest")
-    public ResponseEntity<ApiResponse<List<ContentResponse>>> getLatestContents(
+    public ResponseEntity<byte[]> getLatestContents(
             @RequestParam(required = false) Content.ContentType contentType,
-            @RequestParam(defaultValue = "10") int limit
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) Long userId,
+            WebRequest request
     ) {
-        List<ContentResponse> response = contentService.getLatestContents(contentType, limit);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        if (userId != null) {
+            if (request.checkNotModified(contentService.getAffinityETag(userId))) {
+                return notModified(PERSONAL_ROW_CACHE);
+            }
+            return json(jsonBodyCache.serialize(contentService.getLatestContents(contentType, limit, userId)),
+                    PERSONAL_ROW_CACHE, request);
+        }
+        
+        String etag = contentService.getCatalogETag();
+        if (request.checkNotModified(etag, contentService.getCatalogLastModified())) {
+            return notModified(LATEST_CACHE);
+        }
+        
+        JsonBodyCache.Body body = jsonBodyCache.get("latest:" + contentType + ":" + limit, etag,
+                () -> contentService.getLatestContents(contentType, limit));
+        return json(body, LATEST_CACHE, request);
     }
     
     /**
@@ -89,10 +218,19 @@ public class ContentController {
     public ResponseEntity<ApiResponse<ContentListResponse>> getContentsByGenre(
             @PathVariable String genre,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            @RequestParam(defaultValue = "full") String view,
+            WebRequest request
     ) {
-        ContentListResponse response = contentService.getContentsByGenre(genre, page, size);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        if (request.checkNotModified(contentService.getCatalogETag(), contentService.getCatalogLastModified())) {
+            return notModified(LIST_CACHE);
+        }
+        
+        ContentListResponse response = contentService.getContentsByGenre(genre, page, size, cursor, withTotal,
+                isCardView(view));
+        return ResponseEntity.ok().cacheControl(LIST_CACHE).body(ApiResponse.success(response));
     }
     
     /**
@@ -103,12 +241,80 @@ public class ContentController {
             @RequestParam String keyword,
             @RequestParam(required = false) Content.ContentType contentType,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "full") String view,
+            WebRequest request
     ) {
-        ContentListResponse response = contentService.getContents(
-                contentType, null, keyword, "latest", page, size
-        );
+        if (request.checkNotModified(contentService.getCatalogETag(), contentService.getCatalogLastModified())) {
+            return notModified(LIST_CACHE);
+        }
         
-        return ResponseEntity.ok(ApiResponse.success(response));
+        ContentListResponse response = contentService.searchContents(keyword, contentType, page, size,
+                isCardView(view));
+        
+        return ResponseEntity.ok().cacheControl(LIST_CACHE).body(ApiResponse.success(response));
+    }
+    
+    /**
+     * 검색어 자동완성 (제목, 출연진, 감독 / 초성 검색 지원)
+     * 자동완성 색인은 스냅샷보다 늦게 비동기로 다시 만들어지므로 ETag 없이 짧게만 재사용
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<ApiResponse<List<SuggestionResponse>>> getSuggestions(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        List<SuggestionResponse> response = contentService.getSuggestions(q, limit);
+        return ResponseEntity.ok().cacheControl(SUGGEST_CACHE).body(ApiResponse.success(response));
+    }
+    
+    // 목록 표현 (card: 포스터 카드 값만, full: 전체 행)
+    private static boolean isCardView(String view) {
+        if ("card".equalsIgnoreCase(view)) {
+            return true;
+        }
+        if ("full".equalsIgnoreCase(view)) {
+            return false;
+        }
+        throw new IllegalArgumentException("view는 card 또는 full이어야 합니다: " + view);
+    }
+    
+    // 직렬화해 둔 본문 응답 (클라이언트가 gzip을 받으면 압축본)
+    private static ResponseEntity<byte[]> json(JsonBodyCache.Body body, CacheControl cacheControl, WebRequest request) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (body.gzip() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.gzip());
+        }
+        return builder.body(body.json());
+    }
+    
+    // Accept-Encoding에 gzip(또는 *)이 q=0이 아닌 값으로 있는지
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (!name.equalsIgnoreCase("gzip") && !name.equals("*")) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=") && param.substring(2).trim().matches("0(\\.0*)?")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+    
+    // 304 (ETag/Last-Modified 헤더는 checkNotModified가 이미 설정)
+    private static <T> ResponseEntity<T> notModified(CacheControl cacheControl) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
     }
 }
\ No newline at end of file
@@ -1,7 +1,9 @@
 package com.ureca.web.controller;
 
 import com.ureca.web.dto.ApiResponse;
+import com.ureca.web.dto.SaveWatchHistoryBatchRequest;
 import com.ureca.web.dto.SaveWatchHistoryRequest;
+import com.ureca.web.dto.WatchHistoryBatchResponse;
 import com.ureca.web.dto.WatchHistoryResponse;
 import com.ureca.web.service.WatchHistoryService;
 import lombok.RequiredArgsConstructor;
@@ -41,6 +43,26 @@ public class WatchHistoryController {
         }
     }
 
+    /**
+     * 시청 위치 일괄 저장 (오프라인 중 쌓인 하트비트 재전송)
+     * POST /api/watch-history/batch
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<WatchHistoryBatchResponse>> saveWatchHistoryBatch(
+            @RequestBody SaveWatchHistoryBatchRequest request) {
+
+        log.info("💾 시청 위치 일괄 저장 API 호출 - {}건",
+                request.getEntries() != null ? request.getEntries().size() : 0);
+
+        ApiResponse<WatchHistoryBatchResponse> response = watchHistoryService.saveWatchHistoryBatch(request);
+
+        if (response.isSuccess()) {
+            return ResponseEntity.ok(response);
+        } else {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+    }
+
     /**
      * 시청 위치 조회
      * GET /api/watch-history
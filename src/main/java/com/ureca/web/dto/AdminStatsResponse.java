@@ -40,6 +40,7 @@ public class AdminStatsResponse {
         private Long newUsers;
         private Long activeUsers;
         private Long totalViews;
+        private Long watchSeconds;  // 실제 시청 시간 (초)
     }
     
     @Getter
@@ -65,5 +66,6 @@ public class AdminStatsResponse {
         private String type;
         private Long viewCount;
         private Long favoriteCount;
+        private Long watchSeconds;  // 누적 시청 시간 (초)
     }
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.ureca.web.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CacheStatsResponse {
+    private String name;
+    private long size;
+    private long maxSize;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private double hitRatio;
+    private double missRatio;
+
+    public static CacheStatsResponse of(String name, long size, long maxSize, long hits, long misses, long evictions) {
+        long requests = hits + misses;
+        return CacheStatsResponse.builder()
+                .name(name)
+                .size(size)
+                .maxSize(maxSize)
+                .hits(hits)
+                .misses(misses)
+                .evictions(evictions)
+                .hitRatio(requests == 0 ? 0.0 : (double) hits / requests)
+                .missRatio(requests == 0 ? 0.0 : (double) misses / requests)
+                .build();
+    }
+}
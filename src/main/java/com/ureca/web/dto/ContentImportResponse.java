@@ -0,0 +1,29 @@
+package com.ureca.web.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ContentImportResponse {
+    private long totalRows;
+    private long imported;
+    private long failed;
+    private long elapsedMs;
+    private List<RowError> errors;      // 최대 max-errors개까지
+    private boolean errorsTruncated;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
@@ -1,8 +1,10 @@
 package com.ureca.web.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 
 import java.util.List;
+import java.util.Map;
 
 @Getter
 @Setter
@@ -11,18 +13,72 @@ import java.util.List;
 @Builder
 public class ContentListResponse {
     
+    // view=card면 contents 대신 cards (포스터 카드에 필요한 값만)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<ContentResponse> contents;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<ContentCard> cards;
     private PageInfo pageInfo;
     
+    // 필터 항목별 값 개수 (facets=true로 요청했을 때만, 예: "genre" → [{드라마, 132}, ...])
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<String, List<FacetValue>> facets;
+    
     @Getter
     @Setter
     @NoArgsConstructor
     @AllArgsConstructor
     @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     public static class PageInfo {
-        private int page;
-        private int size;
-        private long totalElements;
-        private int totalPages;
+        // 페이지 번호 방식 (커서 방식이면 null)
+        private Integer page;
+        private Integer size;
+        private Long totalElements;
+        private Integer totalPages;
+        
+        // 커서 방식 (다음 요청의 cursor 값, 마지막이면 null)
+        private String nextCursor;
+        private Boolean hasNext;
+    }
+    
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class FacetValue {
+        private String value;
+        private Integer count;
+    }
+    
+    // 목록 카드 (설명/출연진/태그 등 긴 텍스트와 조회수/찜 수 제외)
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ContentCard {
+        private Long id;
+        private String title;
+        private String image;
+        private String thumbnailUrl;
+        private String genre;
+        private Integer year;
+        private Double rating;
+        private String contentType;
+        
+        public static ContentCard from(ContentResponse content) {
+            return ContentCard.builder()
+                    .id(content.getId())
+                    .title(content.getTitle())
+                    .image(content.getImage())
+                    .thumbnailUrl(content.getThumbnailUrl())
+                    .genre(content.getGenre())
+                    .year(content.getYear())
+                    .rating(content.getRating())
+                    .contentType(content.getContentType())
+                    .build();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,54 @@
+package com.ureca.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 아직 DB에 반영되지 않은 시청 위치 (불변)
+ */
+@Getter
+@AllArgsConstructor
+public class PendingWatch {
+
+    private final Long userId;
+    private final Long contentId;
+    private final Integer watchPosition;
+    private final Integer watchDuration;
+    private final Boolean completed;        // null이면 기존 값 유지
+    private final LocalDateTime lastWatchedAt;
+
+    public static PendingWatch of(Long userId, Long contentId, Integer watchPosition, Boolean completed) {
+        return of(userId, contentId, watchPosition, completed, LocalDateTime.now());
+    }
+
+    public static PendingWatch of(Long userId, Long contentId, Integer watchPosition, Boolean completed,
+                                  LocalDateTime watchedAt) {
+        return new PendingWatch(userId, contentId, watchPosition, watchPosition, completed, watchedAt);
+    }
+
+    /**
+     * 나중에 들어온 하트비트와 병합 - 위치/완료 여부는 시청 시각이 늦은 쪽(같으면 나중에 들어온 쪽), 시청 시간은 최대값
+     * 재전송된 오래된 하트비트가 더 최신 위치를 되돌리지 않는다.
+     */
+    public PendingWatch merge(PendingWatch later) {
+        PendingWatch older = isAfter(later) ? later : this;
+        PendingWatch newer = older == this ? later : this;
+        return new PendingWatch(
+                userId,
+                contentId,
+                newer.watchPosition,
+                Math.max(watchDuration, later.watchDuration),
+                newer.completed != null ? newer.completed : older.completed,
+                newer.lastWatchedAt
+        );
+    }
+
+    /**
+     * other보다 시청 시각이 늦은지 (시각을 모르면 false)
+     */
+    public boolean isAfter(PendingWatch other) {
+        return lastWatchedAt != null && other.lastWatchedAt != null && lastWatchedAt.isAfter(other.lastWatchedAt);
+    }
+}
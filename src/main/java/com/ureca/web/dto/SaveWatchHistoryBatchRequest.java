@@ -0,0 +1,16 @@
+package com.ureca.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaveWatchHistoryBatchRequest {
+    private List<SaveWatchHistoryRequest> entries;  // 오프라인 중 쌓인 하트비트 (항목별 watchedAt 기준으로 최신 위치 반영)
+}
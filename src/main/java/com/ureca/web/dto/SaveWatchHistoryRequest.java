@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -14,4 +16,5 @@ public class SaveWatchHistoryRequest {
     private Long contentId;
     private Integer watchPosition;  // 시청 위치 (초)
     private Boolean completed;      // 시청 완료 여부
+    private LocalDateTime watchedAt; // 하트비트 시각 (일괄 저장에서만 사용, 없으면 수신 시각)
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.ureca.web.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SuggestionResponse {
+    private String text;
+    private Type type;
+    private Long contentId;     // 제목이면 해당 콘텐츠, 인물이면 가장 많이 본 출연/연출작
+    private Long viewCount;     // 인물이면 출연/연출작 조회수 합계
+
+    public enum Type {
+        TITLE, CAST, DIRECTOR
+    }
+}
@@ -0,0 +1,13 @@
+package com.ureca.web.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TagCountResponse {
+    private String tag;         // 정규화된 태그 (소문자, 공백 한 칸)
+    private Integer count;      // 태그가 붙은 콘텐츠 수
+}
@@ -21,6 +21,7 @@ public class UserManagementResponse {
     private LocalDateTime updatedAt;
     private Long totalWatchCount;
     private Long totalFavoriteCount;
+    private Long totalWatchSeconds;
     
     public static UserManagementResponse fromEntity(User user, Long watchCount, Long favoriteCount) {
         return UserManagementResponse.builder()
@@ -0,0 +1,35 @@
+package com.ureca.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WatchHistoryBatchResponse {
+    private int total;
+    private int succeeded;
+    private int failed;
+    private List<EntryResult> results;  // 요청 순서와 동일
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class EntryResult {
+        private int index;
+        private Long userId;
+        private Long contentId;
+        private Status status;
+        private String message;
+    }
+
+    public enum Status {
+        CREATED, UPDATED, ACCEPTED, INVALID, FAILED     // ACCEPTED: 버퍼에 반영 (DB 반영과 사용자/콘텐츠 확인은 flush 때)
+    }
+}
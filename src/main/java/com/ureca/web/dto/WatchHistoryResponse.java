@@ -9,7 +9,7 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class WatchHistoryResponse {
@@ -40,4 +40,33 @@ public class WatchHistoryResponse {
                 .createdAt(history.getCreatedAt())
                 .build();
     }
+
+    // 아직 DB에 반영되지 않은 시청 위치로 응답 생성
+    public static WatchHistoryResponse fromPending(PendingWatch pending) {
+        return WatchHistoryResponse.builder()
+                .userId(pending.getUserId())
+                .contentId(pending.getContentId())
+                .watchPosition(pending.getWatchPosition())
+                .watchDuration(pending.getWatchDuration())
+                .completed(pending.getCompleted() != null ? pending.getCompleted() : false)
+                .lastWatchedAt(pending.getLastWatchedAt())
+                .build();
+    }
+
+    // DB 값 위에 대기 중인 최신 위치를 덮어씀 (대기 중인 하트비트가 더 오래됐으면 시청 시간만 반영)
+    public WatchHistoryResponse applyPending(PendingWatch pending) {
+        this.watchDuration = watchDuration != null
+                ? Math.max(watchDuration, pending.getWatchDuration())
+                : pending.getWatchDuration();
+        if (lastWatchedAt != null && pending.getLastWatchedAt() != null
+                && pending.getLastWatchedAt().isBefore(lastWatchedAt)) {
+            return this;
+        }
+        this.watchPosition = pending.getWatchPosition();
+        if (pending.getCompleted() != null) {
+            this.completed = pending.getCompleted();
+        }
+        this.lastWatchedAt = pending.getLastWatchedAt();
+        return this;
+    }
 }
\ No newline at end of file
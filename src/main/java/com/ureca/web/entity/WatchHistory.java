@@ -7,7 +7,10 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "watch_history")
+@Table(
+        name = "watch_history",
+        uniqueConstraints = @UniqueConstraint(name = "uk_watch_history_user_content", columnNames = {"user_id", "content_id"})
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,55 @@
+package com.ureca.web.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 시청 세션 - 하트비트 흐름을 유휴 시간 기준으로 끊은 한 번의 연속 시청
+ * 집계 전용 테이블이므로 사용자/콘텐츠는 연관관계 없이 ID만 저장
+ */
+@Entity
+@Table(
+        name = "watch_sessions",
+        indexes = {
+                @Index(name = "idx_watch_sessions_started_at", columnList = "started_at"),
+                @Index(name = "idx_watch_sessions_user_started_at", columnList = "user_id, started_at"),
+                @Index(name = "idx_watch_sessions_content_started_at", columnList = "content_id, started_at")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WatchSession {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "content_id", nullable = false)
+    private Long contentId;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "ended_at", nullable = false)
+    private LocalDateTime endedAt;
+
+    @Column(name = "start_position", nullable = false)
+    private Integer startPosition;  // 세션 시작 위치 (초 단위)
+
+    @Column(name = "end_position", nullable = false)
+    private Integer endPosition;    // 세션 마지막 위치 (초 단위)
+
+    @Column(name = "watched_seconds", nullable = false)
+    private Integer watchedSeconds; // 실제 재생한 시간 (건너뛰기/되감기 제외)
+
+    @Column(name = "completed", nullable = false)
+    private Boolean completed;
+}
@@ -0,0 +1,318 @@
+package com.ureca.web.journal;
+
+import com.ureca.web.dto.PendingWatch;
+import com.ureca.web.service.WatchHistoryWriter;
+import com.ureca.web.util.WatchKey;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * 시청 하트비트 append-only 저널 (메모리 매핑 세그먼트)
+ *
+ * 하트비트마다 32바이트 고정 크기 레코드를 현재 세그먼트 파일에 순차 기록한다.
+ * write-behind 버퍼가 flush에 성공하면 그 시점까지의 순번을 checkpoint 파일에 남기고,
+ * 기동 시 checkpoint 이후 레코드를 모아 DB에 일괄 반영한다 (프로세스 장애에도 시청 위치 보존).
+ * 반영이 끝난 세그먼트는 분석용으로 retain-segments 개까지 보관한다.
+ *
+ * 레코드 형식 (little-endian)
+ *  0  userId     long
+ *  8  contentId  long
+ * 16  position   int
+ * 20  timestamp  long (epoch millis)
+ * 28  completed  byte (0 false, 1 true, 2 변경 없음)
+ * 29  type       byte (0 하트비트, 1 삭제)
+ * 30  marker     short (기록 완료 표시, 마지막에 기록)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WatchEventJournal {
+
+    public static final int RECORD_SIZE = 32;
+
+    private static final short COMMITTED = 0x5741;
+    private static final byte TYPE_HEARTBEAT = 0;
+    private static final byte TYPE_DISCARD = 1;
+    private static final int REPLAY_CHUNK_SIZE = 1000;
+
+    // 재생은 마지막 기록 완료 레코드 뒤로 이만큼 빈 칸이 이어지면 끝으로 본다
+    // (장애 시점에 동시에 기록 중이던 하트비트가 남긴 빈 칸은 건너뛰고, 세그먼트의 나머지 빈 영역은 읽지 않음)
+    private static final int REPLAY_GAP_LIMIT = 1024;
+
+    private static final VarHandle MARKER =
+            MethodHandles.byteBufferViewVarHandle(short[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final WatchHistoryWriter watchHistoryWriter;
+
+    @Value("${watch-history.journal.enabled:false}")
+    private boolean enabled;
+
+    @Value("${watch-history.journal.dir:./data/journal}")
+    private String dir;
+
+    @Value("${watch-history.journal.records-per-segment:1048576}")
+    private int recordsPerSegment;
+
+    @Value("${watch-history.journal.retain-segments:8}")
+    private int retainSegments;
+
+    private Path directory;
+    private FileChannel checkpointChannel;
+    private final AtomicLong nextSequence = new AtomicLong();
+    private volatile long checkpointSequence;
+    private final Map<Long, MappedByteBuffer> segments = new ConcurrentHashMap<>();
+
+    // synchronized 대신 ReentrantLock - 가상 스레드에서 force/세그먼트 삭제 대기 중 캐리어 스레드를 붙잡지 않음
+    private final ReentrantLock checkpointLock = new ReentrantLock();
+
+    @PostConstruct
+    public void init() throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        directory = Paths.get(dir);
+        Files.createDirectories(directory);
+        checkpointChannel = FileChannel.open(directory.resolve("checkpoint"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        ByteBuffer checkpoint = ByteBuffer.allocate(Long.BYTES);
+        checkpointSequence = checkpointChannel.read(checkpoint, 0) == Long.BYTES ? checkpoint.flip().getLong() : 0L;
+
+        replay();
+        log.info("📒 시청 저널 시작 - 경로: {}, 다음 순번: {}", directory.toAbsolutePath(), nextSequence.get());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 다음에 기록될 레코드 순번 (이 값 이전의 레코드는 모두 기록됨)
+     */
+    public long nextSequence() {
+        return nextSequence.get();
+    }
+
+    /**
+     * 하트비트 기록 (timestamp는 기록 시각이 아니라 하트비트 시각 - 재생 후에도 last_watched_at으로 그대로 반영)
+     */
+    public long append(PendingWatch watch) {
+        Boolean completed = watch.getCompleted();
+        long timestamp = watch.getLastWatchedAt() != null
+                ? watch.getLastWatchedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : System.currentTimeMillis();
+        return write(watch.getUserId(), watch.getContentId(), watch.getWatchPosition(), timestamp,
+                completed == null ? 2 : (byte) (completed ? 1 : 0), TYPE_HEARTBEAT);
+    }
+
+    /**
+     * 시청 기록 삭제 표시 - 재생 시 이전 하트비트가 기록을 되살리지 않도록 함
+     */
+    public long appendDiscard(Long userId, Long contentId) {
+        return write(userId, contentId, 0, System.currentTimeMillis(), (byte) 2, TYPE_DISCARD);
+    }
+
+    private long write(long userId, long contentId, int position, long timestamp, byte completed, byte type) {
+        long sequence = nextSequence.getAndIncrement();
+        MappedByteBuffer segment = segment(sequence / recordsPerSegment);
+        int offset = (int) (sequence % recordsPerSegment) * RECORD_SIZE;
+
+        segment.putLong(offset, userId);
+        segment.putLong(offset + 8, contentId);
+        segment.putInt(offset + 16, position);
+        segment.putLong(offset + 20, timestamp);
+        segment.put(offset + 28, completed);
+        segment.put(offset + 29, type);
+        MARKER.setRelease(segment, offset + 30, COMMITTED);
+        return sequence;
+    }
+
+    /**
+     * sequence 이전 레코드가 DB에 반영되었음을 기록
+     */
+    public void checkpoint(long sequence) {
+        if (!enabled) {
+            return;
+        }
+
+        checkpointLock.lock();
+        try {
+            if (sequence <= checkpointSequence) {
+                return;
+            }
+
+            try {
+                checkpointChannel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, sequence), 0);
+                checkpointChannel.force(false);
+                checkpointSequence = sequence;
+            } catch (IOException e) {
+                throw new UncheckedIOException("저널 checkpoint 기록 실패", e);
+            }
+
+            deleteExpiredSegments();
+        } finally {
+            checkpointLock.unlock();
+        }
+    }
+
+    /**
+     * 기록된 페이지를 디스크에 반영 (OS 장애 시 손실 구간을 force 주기로 제한)
+     */
+    @Scheduled(fixedDelayString = "${watch-history.journal.force-interval-ms:1000}")
+    public void force() {
+        if (!enabled) {
+            return;
+        }
+        long current = (nextSequence.get() - 1) / recordsPerSegment;
+        for (long index = Math.max(0, current - 1); index <= current; index++) {
+            MappedByteBuffer segment = segments.get(index);
+            if (segment != null) {
+                segment.force();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        segments.values().forEach(MappedByteBuffer::force);
+        segments.clear();
+        checkpointChannel.close();
+    }
+
+    /**
+     * checkpoint 이후 레코드를 (userId, contentId)별로 병합해 DB에 반영
+     * 레코드는 순번 순서로 기록되므로 checkpoint가 있는 세그먼트부터 읽다가 빈 칸이 REPLAY_GAP_LIMIT개 이어지면 멈춘다.
+     * 레코드의 하트비트 시각은 그대로 last_watched_at으로 반영된다.
+     */
+    private void replay() throws IOException {
+        long from = checkpointSequence;
+        long end = from;
+        Map<Long, PendingWatch> latest = new LinkedHashMap<>();
+        int records = 0;
+
+        scan:
+        for (long index : segmentIndexes()) {
+            if ((index + 1) * recordsPerSegment <= from) {
+                continue;
+            }
+            if (index * recordsPerSegment > end + REPLAY_GAP_LIMIT) {
+                break;
+            }
+            MappedByteBuffer segment = segment(index);
+            long first = Math.max(from, index * recordsPerSegment);
+
+            for (long sequence = first; sequence < (index + 1) * recordsPerSegment; sequence++) {
+                int offset = (int) (sequence % recordsPerSegment) * RECORD_SIZE;
+                if ((short) MARKER.getAcquire(segment, offset + 30) != COMMITTED) {
+                    if (sequence - end >= REPLAY_GAP_LIMIT) {
+                        break scan;
+                    }
+                    continue;
+                }
+
+                long userId = segment.getLong(offset);
+                long contentId = segment.getLong(offset + 8);
+                long key = WatchKey.pack(userId, contentId);
+                records++;
+                end = sequence + 1;
+
+                if (segment.get(offset + 29) == TYPE_DISCARD) {
+                    latest.remove(key);
+                    continue;
+                }
+
+                byte completed = segment.get(offset + 28);
+                PendingWatch watch = new PendingWatch(userId, contentId,
+                        segment.getInt(offset + 16), segment.getInt(offset + 16),
+                        completed == 2 ? null : completed == 1,
+                        LocalDateTime.ofInstant(Instant.ofEpochMilli(segment.getLong(offset + 20)), ZoneId.systemDefault()));
+                latest.merge(key, watch, PendingWatch::merge);
+            }
+        }
+
+        nextSequence.set(end);
+        if (records == 0) {
+            return;
+        }
+
+        log.info("📒 시청 저널 재생 - 레코드 {}건, 반영 대상 {}건", records, latest.size());
+        List<PendingWatch> batch = new ArrayList<>(latest.values());
+        for (int i = 0; i < batch.size(); i += REPLAY_CHUNK_SIZE) {
+            watchHistoryWriter.applyBatch(batch.subList(i, Math.min(i + REPLAY_CHUNK_SIZE, batch.size())));
+        }
+        checkpoint(end);
+    }
+
+    private MappedByteBuffer segment(long index) {
+        return segments.computeIfAbsent(index, i -> {
+            Path path = directory.resolve(String.format("watch-%016d.seg", i));
+            try (FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                        (long) recordsPerSegment * RECORD_SIZE);
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+                return buffer;
+            } catch (IOException e) {
+                throw new UncheckedIOException("저널 세그먼트 생성 실패: " + path, e);
+            }
+        });
+    }
+
+    private long[] segmentIndexes() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith("watch-") && name.endsWith(".seg"))
+                    .mapToLong(name -> Long.parseLong(name.substring(6, name.length() - 4)))
+                    .sorted()
+                    .toArray();
+        }
+    }
+
+    private void deleteExpiredSegments() {
+        long appliedSegments = checkpointSequence / recordsPerSegment;   // 이 번호 미만은 모두 반영됨
+        try {
+            for (long index : segmentIndexes()) {
+                if (index >= appliedSegments - retainSegments) {
+                    break;
+                }
+                segments.remove(index);
+                Files.deleteIfExists(directory.resolve(String.format("watch-%016d.seg", index)));
+            }
+        } catch (IOException e) {
+            log.warn("⚠️ 오래된 저널 세그먼트 삭제 실패 - {}", e.getMessage());
+        }
+    }
+}
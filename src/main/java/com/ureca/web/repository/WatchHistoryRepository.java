@@ -1,7 +1,9 @@
 package com.ureca.web.repository;
 
 import com.ureca.web.entity.WatchHistory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -11,18 +13,52 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface WatchHistoryRepository extends JpaRepository<WatchHistory, Long> {
+public interface WatchHistoryRepository extends JpaRepository<WatchHistory, Long>, WatchHistoryRepositoryCustom {
 
     // 사용자와 콘텐츠로 시청 기록 찾기
     Optional<WatchHistory> findByUserIdAndContentId(Long userId, Long contentId);
 
+    // 사용자와 콘텐츠로 시청 기록 찾기 (Content 정보 포함)
+    @Query("SELECT w FROM WatchHistory w JOIN FETCH w.content WHERE w.user.id = :userId AND w.content.id = :contentId")
+    Optional<WatchHistory> findByUserIdAndContentIdWithContent(@Param("userId") Long userId, @Param("contentId") Long contentId);
+
+    // 시청 위치 upsert (uk_watch_history_user_content 기준, 한 번의 왕복)
+    // last_watched_at은 반영 시각이 아니라 하트비트 시각 (버퍼/저널로 늦게 반영돼도 그대로, 더 이른 값으로 되돌리지 않음)
+    // 위치/완료 여부는 저장된 것보다 늦은 하트비트만 반영 (재전송된 오래된 하트비트 무시)
+    // MySQL은 UPDATE 절을 왼쪽부터 평가하므로 last_watched_at은 마지막에 바꿔야 함
+    // 영향받은 행 수: 신규 1, 갱신 2, 바뀐 값 없음 0 (useAffectedRows=true 기준 - 없으면 0 대신 1이 되어 신규와 구분되지 않음)
+    @Modifying
+    @Query(value = "INSERT INTO watch_history " +
+            "(user_id, content_id, watch_position, watch_duration, completed, last_watched_at, created_at) " +
+            "VALUES (:userId, :contentId, :position, :duration, COALESCE(:completed, FALSE), :lastWatchedAt, NOW(6)) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "watch_position = IF(VALUES(last_watched_at) >= COALESCE(last_watched_at, VALUES(last_watched_at)), " +
+            "VALUES(watch_position), watch_position), " +
+            "watch_duration = GREATEST(COALESCE(watch_duration, 0), VALUES(watch_duration)), " +
+            "completed = IF(VALUES(last_watched_at) >= COALESCE(last_watched_at, VALUES(last_watched_at)), " +
+            "COALESCE(:completed, completed), completed), " +
+            "last_watched_at = GREATEST(COALESCE(last_watched_at, VALUES(last_watched_at)), VALUES(last_watched_at))",
+            nativeQuery = true)
+    int upsert(@Param("userId") Long userId,
+               @Param("contentId") Long contentId,
+               @Param("position") Integer position,
+               @Param("duration") Integer duration,
+               @Param("completed") Boolean completed,
+               @Param("lastWatchedAt") LocalDateTime lastWatchedAt);
+
+    // upsert 후 새로운 시청 기록이 생성되었는지 여부 반환
+    default boolean upsertWatchHistory(Long userId, Long contentId, Integer position, Integer duration, Boolean completed,
+                                       LocalDateTime lastWatchedAt) {
+        return upsert(userId, contentId, position, duration, completed, lastWatchedAt) == 1;
+    }
+
     // 사용자의 시청 기록 목록 조회 (최신순, Content 정보 포함)
     @Query("SELECT w FROM WatchHistory w JOIN FETCH w.content WHERE w.user.id = :userId ORDER BY w.lastWatchedAt DESC")
     List<WatchHistory> findByUserIdWithContent(@Param("userId") Long userId);
 
-    // 사용자의 시청 중인 콘텐츠 (완료되지 않은 것만)
+    // 사용자의 시청 중인 콘텐츠 (완료되지 않은 것만, 최근 시청순으로 pageable 크기만큼)
     @Query("SELECT w FROM WatchHistory w JOIN FETCH w.content WHERE w.user.id = :userId AND w.completed = false ORDER BY w.lastWatchedAt DESC")
-    List<WatchHistory> findContinueWatchingByUserId(@Param("userId") Long userId);
+    List<WatchHistory> findContinueWatchingByUserId(@Param("userId") Long userId, Pageable pageable);
 
     // 콘텐츠의 시청 기록 수
     long countByContentId(Long contentId);
@@ -0,0 +1,14 @@
+package com.ureca.web.repository;
+
+import com.ureca.web.dto.PendingWatch;
+
+import java.util.List;
+
+public interface WatchHistoryRepositoryCustom {
+
+    /**
+     * 여러 시청 위치를 JDBC 배치 한 번으로 upsert
+     * 반환값은 항목별 영향받은 행 수 (신규 1, 갱신 2, 실패 Statement.EXECUTE_FAILED)
+     */
+    int[] batchUpsert(List<PendingWatch> entries);
+}
@@ -0,0 +1,64 @@
+package com.ureca.web.repository;
+
+import com.ureca.web.dto.PendingWatch;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.BatchUpdateException;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class WatchHistoryRepositoryCustomImpl implements WatchHistoryRepositoryCustom {
+
+    // WatchHistoryRepository.upsert와 같은 문장 (위치 기반 파라미터)
+    private static final String UPSERT_SQL = "INSERT INTO watch_history " +
+            "(user_id, content_id, watch_position, watch_duration, completed, last_watched_at, created_at) " +
+            "VALUES (?, ?, ?, ?, COALESCE(?, FALSE), ?, NOW(6)) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "watch_position = IF(VALUES(last_watched_at) >= COALESCE(last_watched_at, VALUES(last_watched_at)), " +
+            "VALUES(watch_position), watch_position), " +
+            "watch_duration = GREATEST(COALESCE(watch_duration, 0), VALUES(watch_duration)), " +
+            "completed = IF(VALUES(last_watched_at) >= COALESCE(last_watched_at, VALUES(last_watched_at)), " +
+            "COALESCE(?, completed), completed), " +
+            "last_watched_at = GREATEST(COALESCE(last_watched_at, VALUES(last_watched_at)), VALUES(last_watched_at))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int[] batchUpsert(List<PendingWatch> entries) {
+        if (entries.isEmpty()) {
+            return new int[0];
+        }
+
+        return jdbcTemplate.execute((ConnectionCallback<int[]>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(UPSERT_SQL)) {
+                for (PendingWatch entry : entries) {
+                    statement.setLong(1, entry.getUserId());
+                    statement.setLong(2, entry.getContentId());
+                    statement.setInt(3, entry.getWatchPosition());
+                    statement.setInt(4, entry.getWatchDuration());
+                    statement.setObject(5, entry.getCompleted(), Types.BOOLEAN);
+                    statement.setObject(6, entry.getLastWatchedAt());
+                    statement.setObject(7, entry.getCompleted(), Types.BOOLEAN);
+                    statement.addBatch();
+                }
+
+                try {
+                    return statement.executeBatch();
+                } catch (BatchUpdateException e) {
+                    // 외래 키 위반 등 일부 항목만 실패한 경우 - 나머지 결과는 그대로 사용
+                    int[] counts = Arrays.copyOf(e.getUpdateCounts(), entries.size());
+                    for (int i = e.getUpdateCounts().length; i < counts.length; i++) {
+                        counts[i] = Statement.EXECUTE_FAILED;
+                    }
+                    return counts;
+                }
+            }
+        });
+    }
+}
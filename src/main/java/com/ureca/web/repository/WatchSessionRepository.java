@@ -0,0 +1,27 @@
+package com.ureca.web.repository;
+
+import com.ureca.web.entity.WatchSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface WatchSessionRepository extends JpaRepository<WatchSession, Long> {
+
+    // 기간 내 전체 시청 시간 (초)
+    @Query("SELECT COALESCE(SUM(s.watchedSeconds), 0) FROM WatchSession s WHERE s.startedAt BETWEEN :start AND :end")
+    Long sumWatchedSecondsBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    // 사용자별 누적 시청 시간 (초)
+    @Query("SELECT COALESCE(SUM(s.watchedSeconds), 0) FROM WatchSession s WHERE s.userId = :userId")
+    Long sumWatchedSecondsByUserId(@Param("userId") Long userId);
+
+    // 콘텐츠별 누적 시청 시간 (초) - [contentId, seconds]
+    @Query("SELECT s.contentId, SUM(s.watchedSeconds) FROM WatchSession s " +
+           "WHERE s.contentId IN :contentIds GROUP BY s.contentId")
+    List<Object[]> sumWatchedSecondsByContentIds(@Param("contentIds") List<Long> contentIds);
+}
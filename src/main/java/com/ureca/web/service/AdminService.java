@@ -1,11 +1,15 @@
 package com.ureca.web.service;
 
+import com.ureca.web.cache.CacheStatsSource;
+import com.ureca.web.catalog.ContentChangedEvent;
 import com.ureca.web.dto.*;
 import com.ureca.web.entity.Content;
 import com.ureca.web.entity.User;
 import com.ureca.web.repository.*;
+import com.ureca.web.util.TagNormalizer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,6 +30,9 @@ public class AdminService {
     private final ContentRepository contentRepository;
     private final WatchHistoryRepository watchHistoryRepository;
     private final FavoriteRepository favoriteRepository;
+    private final WatchSessionRepository watchSessionRepository;
+    private final List<CacheStatsSource> cacheStatsSources;
+    private final ApplicationEventPublisher eventPublisher;
 
     // ==================== 통계 ====================
     
@@ -94,12 +101,14 @@ public class AdminService {
                 Long newUsers = userRepository.countByCreatedAtBetween(startOfDay, endOfDay);
                 Long activeUsers = watchHistoryRepository.countDistinctUsersByLastWatchedAtBetween(startOfDay, endOfDay);
                 Long views = watchHistoryRepository.countByLastWatchedAtBetween(startOfDay, endOfDay);
+                Long watchSeconds = watchSessionRepository.sumWatchedSecondsBetween(startOfDay, endOfDay);
                 
                 stats.add(AdminStatsResponse.DailyStats.builder()
                         .date(date.format(formatter))
                         .newUsers(newUsers != null ? newUsers : 0L)
                         .activeUsers(activeUsers != null ? activeUsers : 0L)
                         .totalViews(views != null ? views : 0L)
+                        .watchSeconds(watchSeconds != null ? watchSeconds : 0L)
                         .build());
             }
         } catch (Exception e) {
@@ -141,7 +150,7 @@ public class AdminService {
         try {
             List<Content> contents = contentRepository.findAll();
             
-            return contents.stream()
+            List<AdminStatsResponse.PopularContent> popular = contents.stream()
                     .map(content -> {
                         Long favoriteCount = favoriteRepository.countByContentId(content.getId());
                         return AdminStatsResponse.PopularContent.builder()
@@ -155,6 +164,19 @@ public class AdminService {
                     .sorted((a, b) -> Long.compare(b.getViewCount(), a.getViewCount()))
                     .limit(10)
                     .collect(Collectors.toList());
+
+            // 시청 세션 기준 누적 시청 시간
+            Map<Long, Long> watchSeconds = new HashMap<>();
+            List<Long> contentIds = popular.stream()
+                    .map(AdminStatsResponse.PopularContent::getContentId)
+                    .collect(Collectors.toList());
+            if (!contentIds.isEmpty()) {
+                for (Object[] row : watchSessionRepository.sumWatchedSecondsByContentIds(contentIds)) {
+                    watchSeconds.put((Long) row[0], ((Number) row[1]).longValue());
+                }
+            }
+            popular.forEach(item -> item.setWatchSeconds(watchSeconds.getOrDefault(item.getContentId(), 0L)));
+            return popular;
         } catch (Exception e) {
             log.error("❌ 인기 콘텐츠 조회 실패: {}", e.getMessage());
             return new ArrayList<>();
@@ -173,6 +195,14 @@ public class AdminService {
         }
     }
 
+    // 인메모리 캐시 적중률
+    @Transactional(readOnly = true)
+    public List<CacheStatsResponse> getCacheStats() {
+        return cacheStatsSources.stream()
+                .map(CacheStatsSource::getCacheStats)
+                .collect(Collectors.toList());
+    }
+
     // ==================== 회원 관리 ====================
     
     @Transactional(readOnly = true)
@@ -186,7 +216,9 @@ public class AdminService {
                     .map(user -> {
                         Long watchCount = watchHistoryRepository.countByUserId(user.getId());
                         Long favoriteCount = favoriteRepository.countByUserId(user.getId());
-                        return UserManagementResponse.fromEntity(user, watchCount, favoriteCount);
+                        UserManagementResponse response = UserManagementResponse.fromEntity(user, watchCount, favoriteCount);
+                        response.setTotalWatchSeconds(watchSessionRepository.sumWatchedSecondsByUserId(user.getId()));
+                        return response;
                     })
                     .collect(Collectors.toList());
         } catch (Exception e) {
@@ -254,7 +286,7 @@ public class AdminService {
                     .ageRating(request.getAgeRating())
                     .country(request.getCountry())
                     .language(request.getLanguage())
-                    .tags(request.getTags())
+                    .tags(TagNormalizer.normalize(request.getTags()))
                     .viewCount(0L)
                     .likeCount(0L)
                     .build();
@@ -262,6 +294,9 @@ public class AdminService {
             Content savedContent = contentRepository.save(content);
             log.info("✅ 콘텐츠 생성 완료 - id: {}", savedContent.getId());
             
+            // 커밋 후 카탈로그 스냅샷에 반영
+            eventPublisher.publishEvent(ContentChangedEvent.created(ContentResponse.fromEntity(savedContent)));
+            
             return ContentResponse.fromEntity(savedContent);
         } catch (Exception e) {
             log.error("❌ 콘텐츠 생성 실패: {}", e.getMessage());
@@ -275,6 +310,7 @@ public class AdminService {
         try {
             Content content = contentRepository.findById(contentId)
                     .orElseThrow(() -> new RuntimeException("콘텐츠를 찾을 수 없습니다."));
+            ContentResponse before = ContentResponse.fromEntity(content);
             
             // 수정 가능한 필드 업데이트
             if (request.getTitle() != null && !request.getTitle().trim().isEmpty()) {
@@ -329,12 +365,14 @@ public class AdminService {
                 content.setLanguage(request.getLanguage());
             }
             if (request.getTags() != null) {
-                content.setTags(request.getTags());
+                content.setTags(TagNormalizer.normalize(request.getTags()));
             }
             
             Content updatedContent = contentRepository.save(content);
             log.info("✅ 콘텐츠 수정 완료");
             
+            eventPublisher.publishEvent(ContentChangedEvent.updated(before, ContentResponse.fromEntity(updatedContent)));
+            
             return ContentResponse.fromEntity(updatedContent);
         } catch (Exception e) {
             log.error("❌ 콘텐츠 수정 실패: {}", e.getMessage());
@@ -346,12 +384,14 @@ public class AdminService {
         log.info("🗑️ 콘텐츠 삭제 - contentId: {}", contentId);
         
         try {
-            if (!contentRepository.existsById(contentId)) {
-                throw new RuntimeException("콘텐츠를 찾을 수 없습니다.");
-            }
+            Content content = contentRepository.findById(contentId)
+                    .orElseThrow(() -> new RuntimeException("콘텐츠를 찾을 수 없습니다."));
+            ContentResponse before = ContentResponse.fromEntity(content);
             
-            contentRepository.deleteById(contentId);
+            contentRepository.delete(content);
             log.info("✅ 콘텐츠 삭제 완료");
+            
+            eventPublisher.publishEvent(ContentChangedEvent.deleted(before));
         } catch (Exception e) {
             log.error("❌ 콘텐츠 삭제 실패: {}", e.getMessage());
             throw new RuntimeException("콘텐츠 삭제에 실패했습니다: " + e.getMessage());
@@ -0,0 +1,335 @@
+package com.ureca.web.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ureca.web.catalog.ContentChangedEvent;
+import com.ureca.web.dto.ContentImportResponse;
+import com.ureca.web.dto.CreateContentRequest;
+import com.ureca.web.entity.Content;
+import com.ureca.web.util.CsvParser;
+import com.ureca.web.util.TagNormalizer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 콘텐츠 대량 등록 (NDJSON / CSV 스트리밍)
+ *
+ * 요청 본문을 한 줄씩 읽어 batch-size 단위로 묶고, 묶음 안에서는 병렬로 파싱/검증한 뒤
+ * 다중 VALUES INSERT 한 번으로 저장한다. 전체 본문을 메모리에 올리지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ContentImportService {
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    private static final String INSERT_PREFIX = "INSERT INTO contents " +
+            "(title, description, genre, `year`, rating, duration, episodes, seasons, image, thumbnail_url, " +
+            "content_type, trailer_url, video_url, director, `cast`, age_rating, release_date, country, " +
+            "language, tags, view_count, like_count, created_at, updated_at) VALUES ";
+    private static final String INSERT_ROW =
+            "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, 0, NOW(6), NOW(6))";
+
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${content.import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${content.import.max-errors:1000}")
+    private int maxErrors;
+
+    public ContentImportResponse importContents(InputStream body, Format format) throws IOException {
+        log.info("📥 콘텐츠 대량 등록 시작 - format: {}", format);
+        long startedAt = System.currentTimeMillis();
+
+        ImportResult result = new ImportResult();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+
+        List<String> header = null;
+        if (format == Format.CSV) {
+            header = CsvParser.readRecord(reader);
+            if (header == null) {
+                throw new IllegalArgumentException("CSV 헤더가 없습니다.");
+            }
+            result.line++;
+        }
+
+        List<RawRow> chunk = new ArrayList<>(batchSize);
+        while (true) {
+            RawRow row = readRow(reader, format, header, result);
+            if (row == null) {
+                break;
+            }
+            chunk.add(row);
+            if (chunk.size() >= batchSize) {
+                processChunk(chunk, result);
+                chunk = new ArrayList<>(batchSize);
+            }
+        }
+        processChunk(chunk, result);
+
+        if (result.imported > 0) {
+            // 행마다 알리지 않고 카탈로그 전체를 한 번 다시 로딩
+            eventPublisher.publishEvent(ContentChangedEvent.reloaded());
+        }
+
+        long elapsed = System.currentTimeMillis() - startedAt;
+        log.info("✅ 콘텐츠 대량 등록 완료 - 전체: {}, 성공: {}, 실패: {}, {}ms",
+                result.total, result.imported, result.failed, elapsed);
+
+        return ContentImportResponse.builder()
+                .totalRows(result.total)
+                .imported(result.imported)
+                .failed(result.failed)
+                .elapsedMs(elapsed)
+                .errors(result.errors)
+                .errorsTruncated(result.failed > result.errors.size())
+                .build();
+    }
+
+    private RawRow readRow(BufferedReader reader, Format format, List<String> header, ImportResult result)
+            throws IOException {
+        while (true) {
+            long line = result.line + 1;
+            if (format == Format.NDJSON) {
+                String text = reader.readLine();
+                if (text == null) {
+                    return null;
+                }
+                result.line++;
+                if (!text.isBlank()) {
+                    return new RawRow(line, text, null);
+                }
+            } else {
+                List<String> fields;
+                try {
+                    fields = CsvParser.readRecord(reader);
+                } catch (IllegalArgumentException e) {
+                    result.line++;
+                    return new RawRow(line, null, null, e.getMessage());
+                }
+                if (fields == null) {
+                    return null;
+                }
+                result.line++;
+                if (!(fields.size() == 1 && fields.get(0).isBlank())) {
+                    return new RawRow(line, null, toMap(header, fields));
+                }
+            }
+        }
+    }
+
+    private void processChunk(List<RawRow> chunk, ImportResult result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        // 묶음 안에서 병렬 파싱/검증 (순서 유지)
+        List<ParsedRow> parsed = chunk.parallelStream()
+                .map(this::parse)
+                .collect(Collectors.toList());
+
+        List<ParsedRow> valid = new ArrayList<>(parsed.size());
+        for (ParsedRow row : parsed) {
+            result.total++;
+            if (row.error != null) {
+                result.addError(row.line, row.error, maxErrors);
+            } else {
+                valid.add(row);
+            }
+        }
+
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(valid));
+            result.imported += valid.size();
+        } catch (Exception e) {
+            // 묶음 전체가 실패하면 한 건씩 다시 넣어서 문제 행만 골라냄
+            log.warn("⚠️ 콘텐츠 묶음 저장 실패 - 행 단위로 재시도: {}", e.getMessage());
+            for (ParsedRow row : valid) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(List.of(row)));
+                    result.imported++;
+                } catch (Exception rowError) {
+                    result.addError(row.line, "저장 실패: " + rootMessage(rowError), maxErrors);
+                }
+            }
+        }
+    }
+
+    private void insert(List<ParsedRow> rows) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rows.size() * (INSERT_ROW.length() + 1));
+        sql.append(INSERT_PREFIX);
+        List<Object> args = new ArrayList<>(rows.size() * 20);
+
+        for (int i = 0; i < rows.size(); i++) {
+            if (i > 0) {
+                sql.append(',');
+            }
+            sql.append(INSERT_ROW);
+
+            CreateContentRequest request = rows.get(i).request;
+            args.add(request.getTitle());
+            args.add(request.getDescription());
+            args.add(request.getGenre());
+            args.add(request.getYear());
+            args.add(request.getRating() != null ? request.getRating() : 0.0);
+            args.add(request.getDuration());
+            args.add(request.getEpisodes());
+            args.add(request.getSeasons());
+            args.add(request.getImage());
+            args.add(request.getThumbnailUrl());
+            args.add(request.getContentType());
+            args.add(request.getTrailerUrl());
+            args.add(request.getVideoUrl());
+            args.add(request.getDirector());
+            args.add(request.getCast());
+            args.add(request.getAgeRating());
+            args.add(rows.get(i).releaseDate != null ? Date.valueOf(rows.get(i).releaseDate) : null);
+            args.add(request.getCountry());
+            args.add(request.getLanguage());
+            args.add(TagNormalizer.normalize(request.getTags()));
+        }
+
+        jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    private ParsedRow parse(RawRow row) {
+        if (row.error != null) {
+            return ParsedRow.error(row.line, row.error);
+        }
+
+        CreateContentRequest request;
+        try {
+            request = row.json != null
+                    ? objectMapper.readValue(row.json, CreateContentRequest.class)
+                    : objectMapper.convertValue(row.fields, CreateContentRequest.class);
+        } catch (Exception e) {
+            return ParsedRow.error(row.line, "형식 오류: " + rootMessage(e));
+        }
+
+        if (request.getTitle() == null || request.getTitle().isBlank()) {
+            return ParsedRow.error(row.line, "title은 필수입니다.");
+        }
+        if (request.getGenre() == null || request.getGenre().isBlank()) {
+            return ParsedRow.error(row.line, "genre는 필수입니다.");
+        }
+        if (request.getYear() == null) {
+            return ParsedRow.error(row.line, "year는 필수입니다.");
+        }
+        if (request.getRating() != null && (request.getRating() < 0 || request.getRating() > 10)) {
+            return ParsedRow.error(row.line, "rating은 0~10 사이여야 합니다.");
+        }
+        try {
+            Content.ContentType.valueOf(request.getContentType());
+        } catch (RuntimeException e) {
+            return ParsedRow.error(row.line, "contentType은 MOVIE 또는 SERIES여야 합니다.");
+        }
+
+        LocalDate releaseDate = null;
+        if (request.getReleaseDate() != null && !request.getReleaseDate().isBlank()) {
+            try {
+                releaseDate = LocalDate.parse(request.getReleaseDate());
+            } catch (DateTimeParseException e) {
+                return ParsedRow.error(row.line, "releaseDate는 yyyy-MM-dd 형식이어야 합니다.");
+            }
+        }
+
+        return new ParsedRow(row.line, request, releaseDate, null);
+    }
+
+    private static Map<String, String> toMap(List<String> header, List<String> fields) {
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < header.size() && i < fields.size(); i++) {
+            String value = fields.get(i);
+            values.put(header.get(i).trim(), value.isEmpty() ? null : value);
+        }
+        return values;
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+
+    private static final class RawRow {
+        private final long line;
+        private final String json;
+        private final Map<String, String> fields;
+        private final String error;
+
+        private RawRow(long line, String json, Map<String, String> fields) {
+            this(line, json, fields, null);
+        }
+
+        private RawRow(long line, String json, Map<String, String> fields, String error) {
+            this.line = line;
+            this.json = json;
+            this.fields = fields;
+            this.error = error;
+        }
+    }
+
+    private static final class ParsedRow {
+        private final long line;
+        private final CreateContentRequest request;
+        private final LocalDate releaseDate;
+        private final String error;
+
+        private ParsedRow(long line, CreateContentRequest request, LocalDate releaseDate, String error) {
+            this.line = line;
+            this.request = request;
+            this.releaseDate = releaseDate;
+            this.error = error;
+        }
+
+        private static ParsedRow error(long line, String error) {
+            return new ParsedRow(line, null, null, error);
+        }
+    }
+
+    private static final class ImportResult {
+        private long line;
+        private long total;
+        private long imported;
+        private long failed;
+        private final List<ContentImportResponse.RowError> errors = new ArrayList<>();
+
+        private void addError(long line, String message, int maxErrors) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(ContentImportResponse.RowError.builder().line(line).message(message).build());
+            }
+        }
+    }
+}
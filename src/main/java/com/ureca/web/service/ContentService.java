@@ -1,19 +1,45 @@
 package com.ureca.web.service;
 
+import com.ureca.web.cache.ContentDetailCache;
+import com.ureca.web.cache.FilterCountCache;
+import com.ureca.web.cache.HomeRowCache;
+import com.ureca.web.catalog.CatalogSnapshot;
+import com.ureca.web.catalog.CatalogSnapshotHolder;
+import com.ureca.web.catalog.FacetIndex;
+import com.ureca.web.catalog.ItemSimilarityIndex;
+import com.ureca.web.catalog.Leaderboards;
+import com.ureca.web.catalog.OrdinalBitmap;
+import com.ureca.web.catalog.SearchIndex;
+import com.ureca.web.catalog.SuggestIndex;
+import com.ureca.web.catalog.UserAffinityProfiles;
 import com.ureca.web.dto.ContentListResponse;
 import com.ureca.web.dto.ContentResponse;
+import com.ureca.web.dto.SuggestionResponse;
+import com.ureca.web.dto.TagCountResponse;
 import com.ureca.web.entity.Content;
 import com.ureca.web.repository.ContentRepository;
+import com.ureca.web.util.TagNormalizer;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Service
 @RequiredArgsConstructor
@@ -21,151 +47,392 @@ import java.util.stream.Collectors;
 public class ContentService {
     
     private final ContentRepository contentRepository;
+    private final CatalogSnapshotHolder catalogSnapshotHolder;
+    private final SearchIndex searchIndex;
+    private final SuggestIndex suggestIndex;
+    private final FilterCountCache filterCountCache;
+    private final Leaderboards leaderboards;
+    private final ContentDetailCache contentDetailCache;
+    private final HomeRowCache homeRowCache;
+    private final ItemSimilarityIndex itemSimilarityIndex;
+    private final UserAffinityProfiles userAffinityProfiles;
     
-    // 콘텐츠 목록 조회 (필터링, 검색, 정렬, 페이징)
+    @Value("${suggest.max-limit:20}")
+    private int suggestMaxLimit;
+    
+    @Value("${tag.cloud.max-limit:200}")
+    private int tagCloudMaxLimit;
+    
+    // 개인화 정렬 - 선호도 비중, 후보 수 (limit의 몇 배)
+    @Value("${affinity.rerank-weight:0.3}")
+    private double affinityWeight;
+    
+    @Value("${affinity.rerank-pool:3}")
+    private int affinityPool;
+    
+    // 콘텐츠 목록 조회 (필터링, 검색, 정렬, 페이징) - 카탈로그 스냅샷에서 처리
+    // cursor가 있으면(빈 문자열은 첫 페이지) 페이지 번호 대신 커서 위치부터 조회
+    // withTotal이 false면 전체 개수 없이 다음 페이지 여부만 (무한 스크롤용)
+    // 필터 항목은 여러 값을 고를 수 있음 (같은 항목은 OR, 항목끼리는 AND), withFacets면 항목별 값 개수 포함
+    // 태그는 matchAllTags면 모든 태그, 아니면 하나 이상 붙은 콘텐츠
+    // cardView면 전체 행 대신 카드(contents 대신 cards)만
     public ContentListResponse getContents(
-            Content.ContentType contentType,
-            String genre,
+            List<Content.ContentType> contentTypes,
+            List<String> genres,
+            List<Integer> years,
+            List<String> countries,
+            List<String> languages,
+            List<String> tags,
+            boolean matchAllTags,
             String keyword,
             String sortBy,
             int page,
-            int size
+            int size,
+            String cursor,
+            boolean withTotal,
+            boolean withFacets,
+            boolean cardView
     ) {
-        Sort sort = getSort(sortBy);
-        Pageable pageable = PageRequest.of(page, size, sort);
+        validatePage(page, size);
+        CatalogSnapshot snapshot = catalogSnapshotHolder.current();
+        boolean hasKeyword = keyword != null && !keyword.trim().isEmpty();
+        
+        Map<FacetIndex.Facet, List<String>> selected = new EnumMap<>(FacetIndex.Facet.class);
+        selected.put(FacetIndex.Facet.CONTENT_TYPE, values(contentTypes, Content.ContentType::name));
+        selected.put(FacetIndex.Facet.GENRE, values(genres, genre -> genre.equals("전체") ? null : genre));
+        selected.put(FacetIndex.Facet.YEAR, values(years, String::valueOf));
+        selected.put(FacetIndex.Facet.COUNTRY, values(countries, country -> country));
+        selected.put(FacetIndex.Facet.LANGUAGE, values(languages, language -> language));
+        selected.put(FacetIndex.Facet.TAG, values(tags, TagNormalizer::normalizeTag));
+        Set<FacetIndex.Facet> matchAll = matchAllTags
+                ? EnumSet.of(FacetIndex.Facet.TAG)
+                : EnumSet.noneOf(FacetIndex.Facet.class);
+        
+        IntPredicate filter;
+        LongSupplier counter;
+        Map<String, List<ContentListResponse.FacetValue>> facets = null;
         
-        Page<Content> contentPage;
+        List<String> type = selected.get(FacetIndex.Facet.CONTENT_TYPE);
+        List<String> genre = selected.get(FacetIndex.Facet.GENRE);
+        boolean singleValued = type.size() <= 1 && genre.size() <= 1
+                && selected.get(FacetIndex.Facet.YEAR).isEmpty()
+                && selected.get(FacetIndex.Facet.COUNTRY).isEmpty()
+                && selected.get(FacetIndex.Facet.LANGUAGE).isEmpty()
+                && selected.get(FacetIndex.Facet.TAG).isEmpty();
         
-        if (keyword != null && !keyword.trim().isEmpty()) {
-            // 검색
-            if (contentType != null) {
-                contentPage = contentRepository.findByContentTypeAndTitleContaining(
-                        contentType, keyword, pageable
-                );
+        if (singleValued && !withFacets) {
+            // 타입/장르 하나씩 - 스냅샷 코드 비교로 필터링, 전체 개수는 캐시
+            String singleType = type.isEmpty() ? null : type.get(0);
+            if (hasKeyword) {
+                // 검색 (역색인으로 찾은 콘텐츠를 요청한 정렬 순서로)
+                IntPredicate matched = snapshot.matching(singleType, null)
+                        .and(snapshot.containing(searchIndex.matchingIds(keyword)));
+                filter = matched;
+                counter = () -> filterCountCache.get(singleType, null, keyword, () -> snapshot.count(matched));
+            } else if (!genre.isEmpty()) {
+                // 장르 필터링
+                IntPredicate matched = snapshot.matching(singleType, genre.get(0));
+                filter = matched;
+                counter = () -> filterCountCache.get(singleType, genre.get(0), null, () -> snapshot.count(matched));
             } else {
-                contentPage = contentRepository.findByTitleContaining(keyword, pageable);
+                // 콘텐츠 타입 필터링 / 전체 조회
+                IntPredicate matched = snapshot.matching(singleType, null);
+                filter = matched;
+                counter = () -> filterCountCache.get(singleType, null, null, () -> snapshot.count(matched));
             }
-        } else if (genre != null && !genre.equals("전체")) {
-            // 장르 필터링
-            if (contentType != null) {
-                contentPage = contentRepository.findByContentTypeAndGenre(
-                        contentType, genre, pageable
-                );
-            } else {
-                contentPage = contentRepository.findByGenre(genre, pageable);
+        } else {
+            // 여러 값 / 연도·국가·언어·태그 / 항목별 개수 - 값별 비트맵의 합집합과 교집합 (검색어도 함께 적용)
+            FacetIndex facetIndex = snapshot.facets();
+            OrdinalBitmap scope = hasKeyword ? snapshot.bitmapOf(searchIndex.matchingIds(keyword)) : null;
+            OrdinalBitmap matched = facetIndex.filter(selected, matchAll, scope);
+            filter = matched != null ? matched : ordinal -> true;
+            counter = () -> matched != null ? matched.cardinality() : snapshot.size();
+            if (withFacets) {
+                facets = toFacetValues(facetIndex.counts(selected, matchAll, scope));
             }
-        } else if (contentType != null) {
-            // 콘텐츠 타입 필터링
-            contentPage = contentRepository.findByContentType(contentType, pageable);
+        }
+        
+        CatalogSnapshot.Ordering ordering = CatalogSnapshot.Ordering.from(sortBy);
+        ContentListResponse response;
+        if (cursor != null) {
+            response = toListResponse(snapshot, ordering, filter, cursor, size, cardView);
         } else {
-            // 전체 조회
-            contentPage = contentRepository.findAll(pageable);
+            CatalogSnapshot.Slice slice = snapshot.slice(ordering, filter, (long) page * size, size);
+            Long total = withTotal ? counter.getAsLong() : null;
+            response = toListResponse(snapshot, slice.getOrdinals(), page, size, total, slice.isHasNext(), cardView);
         }
+        response.setFacets(facets);
+        return response;
+    }
+    
+    // 콘텐츠 검색 (관련도 순)
+    public ContentListResponse searchContents(String keyword, Content.ContentType contentType, int page, int size,
+                                              boolean cardView) {
+        validatePage(page, size);
+        CatalogSnapshot snapshot = catalogSnapshotHolder.current();
+        IntPredicate filter = snapshot.matching(contentType != null ? contentType.name() : null, null);
         
-        List<ContentResponse> contents = contentPage.getContent().stream()
-                .map(ContentResponse::fromEntity)  // ✅ from -> fromEntity
-                .collect(Collectors.toList());
+        long offset = (long) page * size;
+        SearchIndex.Hits hits = searchIndex.search(keyword, id -> {
+            int ordinal = snapshot.ordinalOf(id);
+            return ordinal >= 0 && filter.test(ordinal);
+        }, (int) Math.min(offset + size, Integer.MAX_VALUE));
         
-        ContentListResponse.PageInfo pageInfo = ContentListResponse.PageInfo.builder()
-                .page(contentPage.getNumber())
-                .size(contentPage.getSize())
-                .totalElements(contentPage.getTotalElements())
-                .totalPages(contentPage.getTotalPages())
-                .build();
+        // 상위 offset + size개 중 요청한 페이지 부분만
+        int from = (int) Math.min(offset, hits.size());
+        int[] ordinals = new int[hits.size() - from];
+        for (int i = 0; i < ordinals.length; i++) {
+            ordinals[i] = snapshot.ordinalOf(hits.getIds()[from + i]);
+        }
         
-        return ContentListResponse.builder()
-                .contents(contents)
-                .pageInfo(pageInfo)
-                .build();
+        return toListResponse(snapshot, ordinals, page, size, (long) hits.getTotal(),
+                from + ordinals.length < hits.getTotal(), cardView);
     }
     
-    // 콘텐츠 상세 조회
-    @Transactional
-    public ContentResponse getContentById(Long id) {
-        Content content = contentRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("콘텐츠를 찾을 수 없습니다. ID: " + id));
-        
-        // 조회수 증가
-        content.setViewCount(content.getViewCount() + 1);
-        
-        return ContentResponse.fromEntity(content);  // ✅ from -> fromEntity
+    // 검색어 자동완성 (입력할 때마다 호출)
+    public List<SuggestionResponse> getSuggestions(String query, int limit) {
+        return suggestIndex.suggest(query, Math.min(limit, suggestMaxLimit));
     }
     
-    // 추천 콘텐츠 조회 (평점 높은 순)
-    public List<ContentResponse> getRecommendedContents(int limit) {
-        List<Content> contents = contentRepository.findTop10ByOrderByRatingDesc();
+    // 태그 클라우드 (태그별 콘텐츠 수, 많은 순) - 타입/장르로 범위를 좁힐 수 있음
+    public List<TagCountResponse> getTagCloud(Content.ContentType contentType, String genre, int limit) {
+        Map<FacetIndex.Facet, List<String>> selected = new EnumMap<>(FacetIndex.Facet.class);
+        selected.put(FacetIndex.Facet.CONTENT_TYPE, contentType != null ? List.of(contentType.name()) : List.of());
+        selected.put(FacetIndex.Facet.GENRE, genre != null && !genre.equals("전체") ? List.of(genre) : List.of());
         
-        return contents.stream()
-                .limit(limit)
-                .map(ContentResponse::fromEntity)  // ✅ from -> fromEntity
+        Map<String, Integer> counts = catalogSnapshotHolder.current().facets()
+                .counts(FacetIndex.Facet.TAG, selected, EnumSet.noneOf(FacetIndex.Facet.class), null);
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(Math.max(0, Math.min(limit, tagCloudMaxLimit)))
+                .map(entry -> TagCountResponse.builder().tag(entry.getKey()).count(entry.getValue()).build())
                 .collect(Collectors.toList());
     }
     
-    // 인기 콘텐츠 조회
-    public List<ContentResponse> getPopularContents(Content.ContentType contentType, int limit) {
-        List<Content> contents;
+    // 스냅샷으로 만드는 목록 응답의 검증값 (조건부 GET)
+    public String getCatalogETag() {
+        return catalogSnapshotHolder.etag();
+    }
+    
+    public long getCatalogLastModified() {
+        return catalogSnapshotHolder.lastModified();
+    }
+    
+    // 콘텐츠 상세 조회 (캐시 → 없으면 DB)
+    // 조회수는 반영된 값 기준 (응답 본문 캐시가 같은 버전이면 같은 바이트를 쓰도록, 최대 반영 주기만큼 늦음)
+    // 조회수 집계는 하지 않음 (ViewEventPipeline) - 캐시 적중이면 트랜잭션/커넥션 없이, 못 찾으면 읽기 전용 findById만
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public ContentResponse getContentById(Long id) {
+        ContentResponse response = contentDetailCache.get(id, () -> contentRepository.findById(id)
+                .map(ContentResponse::fromEntity)  // ✅ from -> fromEntity
+                .orElseThrow(() -> new RuntimeException("콘텐츠를 찾을 수 없습니다. ID: " + id)));
         
-        if (contentType != null) {
-            contents = contentRepository.findTop10ByContentTypeOrderByViewCountDesc(contentType);
-        } else {
-            contents = contentRepository.findTop10ByOrderByViewCountDesc();
+        // 캐시된 조회수는 오래됐을 수 있으므로 스냅샷의 반영된 조회수로 덮어씀
+        CatalogSnapshot snapshot = catalogSnapshotHolder.current();
+        int ordinal = snapshot.ordinalOf(id);
+        if (ordinal >= 0) {
+            response.setViewCount(snapshot.viewCountAt(ordinal));
+        }
+        return response;
+    }
+    
+    // 추천 콘텐츠 조회 (평점 높은 순)
+    // userId가 있으면 찜/시청 기록 기반 맞춤 추천, 기록이 없거나 모자라면 평점 순으로 채움
+    public List<ContentResponse> getRecommendedContents(Long userId, int limit) {
+        if (userId == null) {
+            return top(CatalogSnapshot.Ordering.RATING, null, limit);
         }
         
-        return contents.stream()
-                .limit(limit)
-                .map(ContentResponse::fromEntity)  // ✅ from -> fromEntity
-                .collect(Collectors.toList());
+        CatalogSnapshot snapshot = catalogSnapshotHolder.current();
+        long[] ids = itemSimilarityIndex.recommend(userId, limit, id -> snapshot.ordinalOf(id) >= 0);
+        List<ContentResponse> result = new ArrayList<>(Math.max(0, limit));
+        Set<Long> included = new HashSet<>();
+        for (long id : ids) {
+            result.add(snapshot.response(snapshot.ordinalOf(id)));
+            included.add(id);
+        }
+        if (result.size() < limit) {
+            for (ContentResponse content : top(CatalogSnapshot.Ordering.RATING, null, limit + ids.length)) {
+                if (result.size() >= limit) {
+                    break;
+                }
+                if (included.add(content.getId())) {
+                    result.add(content);
+                }
+            }
+        }
+        return result;
+    }
+    
+    // 맞춤 추천 응답의 검증값 (스냅샷 ETag + 추천 모델/상호작용 버전)
+    public String getRecommendationETag() {
+        String catalog = catalogSnapshotHolder.etag();
+        return catalog.substring(0, catalog.length() - 1) + "-r" + itemSimilarityIndex.stamp() + "\"";
+    }
+    
+    // 인기 콘텐츠 조회 (반영된 조회수 순 - 본문이 스냅샷 ETag 버전마다 하나로 정해지도록)
+    public List<ContentResponse> getPopularContents(Content.ContentType contentType, int limit) {
+        return top(CatalogSnapshot.Ordering.POPULAR, contentType, limit);
     }
     
     // 최신 콘텐츠 조회
     public List<ContentResponse> getLatestContents(Content.ContentType contentType, int limit) {
-        List<Content> contents;
+        return top(CatalogSnapshot.Ordering.LATEST, contentType, limit);
+    }
+    
+    // 사용자 선호 장르/타입 순으로 다시 정렬한 인기 콘텐츠 (선호도 기록이 없으면 인기순 그대로)
+    public List<ContentResponse> getPopularContents(Content.ContentType contentType, int limit, Long userId) {
+        return personalized(CatalogSnapshot.Ordering.POPULAR, contentType, limit, userId);
+    }
+    
+    // 사용자 선호 장르/타입 순으로 다시 정렬한 최신 콘텐츠
+    public List<ContentResponse> getLatestContents(Content.ContentType contentType, int limit, Long userId) {
+        return personalized(CatalogSnapshot.Ordering.LATEST, contentType, limit, userId);
+    }
+    
+    // 개인화 목록 응답의 검증값 (스냅샷 ETag + 사용자 선호도 값)
+    public String getAffinityETag(Long userId) {
+        String catalog = catalogSnapshotHolder.etag();
+        return catalog.substring(0, catalog.length() - 1) + "-a" + userAffinityProfiles.stamp(userId) + "\"";
+    }
+    
+    // 장르별 콘텐츠 조회
+    public ContentListResponse getContentsByGenre(String genre, int page, int size, String cursor, boolean withTotal,
+                                                  boolean cardView) {
+        validatePage(page, size);
+        CatalogSnapshot snapshot = catalogSnapshotHolder.current();
+        IntPredicate filter = snapshot.matching(null, genre);
+        if (cursor != null) {
+            return toListResponse(snapshot, CatalogSnapshot.Ordering.LATEST, filter, cursor, size, cardView);
+        }
         
-        if (contentType != null) {
-            contents = contentRepository.findTop10ByContentTypeOrderByCreatedAtDesc(contentType);
-        } else {
-            contents = contentRepository.findTop10ByOrderByCreatedAtDesc();
+        CatalogSnapshot.Slice slice = snapshot.slice(CatalogSnapshot.Ordering.LATEST, filter, (long) page * size, size);
+        Long total = withTotal
+                ? filterCountCache.get(null, genre, null, () -> snapshot.count(filter))
+                : null;
+        return toListResponse(snapshot, slice.getOrdinals(), page, size, total, slice.isHasNext(), cardView);
+    }
+    
+    // 요청 파라미터 → 필터 항목 값 (빈 값/중복 제외, mapper가 null을 주면 제외)
+    private static <T> List<String> values(List<T> params, Function<T, String> mapper) {
+        if (params == null) {
+            return List.of();
+        }
+        return params.stream()
+                .filter(Objects::nonNull)
+                .map(mapper)
+                .filter(value -> value != null && !value.isBlank())
+                .distinct()
+                .collect(Collectors.toList());
+    }
+    
+    // 항목별 값 개수 → 응답 (개수 많은 순, 같으면 값 순)
+    private static Map<String, List<ContentListResponse.FacetValue>> toFacetValues(
+            Map<FacetIndex.Facet, Map<String, Integer>> counts) {
+        Map<String, List<ContentListResponse.FacetValue>> facets = new LinkedHashMap<>();
+        counts.forEach((facet, values) -> facets.put(facet.getKey(), values.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .map(entry -> new ContentListResponse.FacetValue(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList())));
+        return facets;
+    }
+    
+    // 정렬 순서 상위 항목 (순위표에서 최대 leaderboard.max-limit개, 목록은 캐시, 조회수는 반영된 값)
+    // 순번은 스냅샷마다 다르므로 순위표 조회와 응답 변환은 같은 스냅샷으로 하고,
+    // 그 스냅샷은 캐시가 세대를 잡은 뒤(loader 안)에 읽어서 이후 교체되면 결과가 저장되지 않게 한다
+    private List<ContentResponse> top(CatalogSnapshot.Ordering ordering, Content.ContentType contentType, int limit) {
+        HomeRowCache.Key key = new HomeRowCache.Key(
+                catalogSnapshotHolder.current().getLoadVersion(), ordering, contentType, limit);
+        return homeRowCache.get(key, () -> {
+            CatalogSnapshot snapshot = catalogSnapshotHolder.current();
+            return Arrays.stream(leaderboards.top(snapshot, ordering, contentType, limit))
+                    .mapToObj(snapshot::response)
+                    .collect(Collectors.toList());
+        });
+    }
+    
+    // 상위 limit × rerank-pool개를 (1 - w) × 원래 순위 점수(1 → 0) + w × 선호도 점수(0 ~ 1)로 다시 정렬해서 limit개
+    private List<ContentResponse> personalized(CatalogSnapshot.Ordering ordering, Content.ContentType contentType,
+                                               int limit, Long userId) {
+        UserAffinityProfiles.Profile profile = userId != null ? userAffinityProfiles.profile(userId) : null;
+        if (profile == null || limit <= 0) {
+            return top(ordering, contentType, limit);
         }
         
-        return contents.stream()
+        int pool = (int) Math.min((long) limit * Math.max(1, affinityPool), Integer.MAX_VALUE);
+        List<ContentResponse> candidates = top(ordering, contentType, pool);
+        int n = candidates.size();
+        double[] scores = new double[n];
+        for (int i = 0; i < n; i++) {
+            scores[i] = (1 - affinityWeight) * (1 - (double) i / n) + affinityWeight * profile.score(candidates.get(i));
+        }
+        return IntStream.range(0, n)
+                .boxed()
+                .sorted((a, b) -> Double.compare(scores[b], scores[a]))
                 .limit(limit)
-                .map(ContentResponse::fromEntity)  // ✅ from -> fromEntity
+                .map(candidates::get)
                 .collect(Collectors.toList());
     }
     
-    // 장르별 콘텐츠 조회
-    public ContentListResponse getContentsByGenre(String genre, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<Content> contentPage = contentRepository.findByGenre(genre, pageable);
+    // 페이지 번호 방식 (total이 null이면 전체 개수 생략)
+    private ContentListResponse toListResponse(CatalogSnapshot snapshot, int[] ordinals, int page, int size,
+                                               Long total, boolean hasNext, boolean cardView) {
+        ContentListResponse.PageInfo pageInfo = ContentListResponse.PageInfo.builder()
+                .page(page)
+                .size(size)
+                .totalElements(total)
+                .totalPages(total != null ? (int) ((total + size - 1) / size) : null)
+                .hasNext(hasNext)
+                .build();
         
-        List<ContentResponse> contents = contentPage.getContent().stream()
-                .map(ContentResponse::fromEntity)  // ✅ from -> fromEntity
-                .collect(Collectors.toList());
+        return rows(snapshot, ordinals, cardView)
+                .pageInfo(pageInfo)
+                .build();
+    }
+    
+    // 커서 방식 (전체 개수 없이 다음 커서만)
+    private ContentListResponse toListResponse(CatalogSnapshot snapshot, CatalogSnapshot.Ordering ordering,
+                                               IntPredicate filter, String cursor, int size, boolean cardView) {
+        CatalogSnapshot.Position after = cursor.isBlank() ? null : CatalogSnapshot.Position.decode(cursor, ordering);
+        CatalogSnapshot.Slice slice = snapshot.after(ordering, filter, after, size);
+        int[] ordinals = slice.getOrdinals();
         
         ContentListResponse.PageInfo pageInfo = ContentListResponse.PageInfo.builder()
-                .page(contentPage.getNumber())
-                .size(contentPage.getSize())
-                .totalElements(contentPage.getTotalElements())
-                .totalPages(contentPage.getTotalPages())
+                .size(size)
+                .hasNext(slice.isHasNext())
+                .nextCursor(slice.isHasNext()
+                        ? snapshot.positionOf(ordering, ordinals[ordinals.length - 1]).encode()
+                        : null)
                 .build();
         
-        return ContentListResponse.builder()
-                .contents(contents)
+        return rows(snapshot, ordinals, cardView)
                 .pageInfo(pageInfo)
                 .build();
     }
     
-    // 정렬 옵션 변환
-    private Sort getSort(String sortBy) {
-        if (sortBy == null) {
-            return Sort.by("createdAt").descending();
+    // 목록 행 (카드는 행 전체를 복사하지 않고 카드 값만)
+    // 조회수는 스냅샷에 반영된 값만 - 본문이 스냅샷 ETag 버전마다 하나로 정해지도록
+    private ContentListResponse.ContentListResponseBuilder rows(CatalogSnapshot snapshot, int[] ordinals,
+                                                                boolean cardView) {
+        if (cardView) {
+            return ContentListResponse.builder().cards(Arrays.stream(ordinals)
+                    .mapToObj(snapshot::card)
+                    .collect(Collectors.toList()));
+        }
+        return ContentListResponse.builder().contents(Arrays.stream(ordinals)
+                .mapToObj(snapshot::response)
+                .collect(Collectors.toList()));
+    }
+    
+    // PageRequest.of와 같은 검증
+    private static void validatePage(int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page index must not be less than zero");
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must not be less than one");
         }
-        
-        return switch (sortBy) {
-            case "rating" -> Sort.by("rating").descending();
-            case "popular" -> Sort.by("viewCount").descending();
-            case "title" -> Sort.by("title").ascending();
-            default -> Sort.by("createdAt").descending();
-        };
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,10 @@
 package com.ureca.web.service;
 
+import com.ureca.web.catalog.ContentChangedEvent;
+import com.ureca.web.catalog.ItemSimilarityIndex;
+import com.ureca.web.catalog.UserAffinityProfiles;
 import com.ureca.web.dto.ApiResponse;
+import com.ureca.web.dto.ContentResponse;
 import com.ureca.web.dto.FavoriteResponse;
 import com.ureca.web.entity.Content;
 import com.ureca.web.entity.Favorite;
@@ -10,6 +14,7 @@ import com.ureca.web.repository.FavoriteRepository;
 import com.ureca.web.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,6 +29,9 @@ public class FavoriteService {
     private final FavoriteRepository favoriteRepository;
     private final ContentRepository contentRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ItemSimilarityIndex itemSimilarityIndex;
+    private final UserAffinityProfiles userAffinityProfiles;
 
     /**
      * 찜하기 추가
@@ -55,10 +63,16 @@ public class FavoriteService {
 
             Favorite savedFavorite = favoriteRepository.save(favorite);
 
-            // 5. 콘텐츠의 찜하기 수 증가
+            // 5. 콘텐츠의 찜하기 수 증가 (커밋 후 스냅샷/목록 캐시/상세 캐시에 반영)
+            ContentResponse before = ContentResponse.fromEntity(content);
             Long currentLikeCount = content.getLikeCount() != null ? content.getLikeCount() : 0L;
             content.setLikeCount(currentLikeCount + 1);
             contentRepository.save(content);
+            eventPublisher.publishEvent(ContentChangedEvent.updated(before, ContentResponse.fromEntity(content)));
+
+            // 6. 추천 입력, 선호도에 반영
+            itemSimilarityIndex.recordAfterCommit(userId, contentId, ItemSimilarityIndex.FAVORITE_WEIGHT);
+            userAffinityProfiles.recordFavoriteAfterCommit(userId, contentId, true);
 
             log.info("찜하기 추가 성공 - favoriteId: {}", savedFavorite.getId());
             
@@ -89,16 +103,21 @@ public class FavoriteService {
             // 2. 찜하기 삭제
             favoriteRepository.delete(favorite);
 
-            // 3. 콘텐츠의 찜하기 수 감소
+            // 3. 콘텐츠의 찜하기 수 감소 (커밋 후 스냅샷/목록 캐시/상세 캐시에 반영)
             Content content = contentRepository.findById(contentId)
                     .orElseThrow(() -> new IllegalArgumentException("콘텐츠를 찾을 수 없습니다. ID: " + contentId));
             
             Long currentLikeCount = content.getLikeCount() != null ? content.getLikeCount() : 0L;
             if (currentLikeCount > 0) {
+                ContentResponse before = ContentResponse.fromEntity(content);
                 content.setLikeCount(currentLikeCount - 1);
                 contentRepository.save(content);
+                eventPublisher.publishEvent(ContentChangedEvent.updated(before, ContentResponse.fromEntity(content)));
             }
 
+            // 4. 선호도에서 빼기
+            userAffinityProfiles.recordFavoriteAfterCommit(userId, contentId, false);
+
             log.info("찜하기 제거 성공 - favoriteId: {}", favorite.getId());
             return ApiResponse.success("찜하기가 제거되었습니다.", null);
 
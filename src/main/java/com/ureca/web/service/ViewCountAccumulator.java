@@ -0,0 +1,110 @@
+package com.ureca.web.service;
+
+import com.ureca.web.catalog.ViewCountsFlushedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 콘텐츠 조회수 인메모리 누적기
+ *
+ * 조회마다 contents 행을 잠그는 대신 콘텐츠별 LongAdder에 더해 두고,
+ * 주기마다 UPDATE ... SET view_count = view_count + ? 배치 한 번으로 반영한다.
+ * flush 시 현재 맵을 새 맵으로 교체하고, 교체 직전에 이전 맵을 잡은 스레드의 증가분은
+ * 다음 flush 때 한 번 더 모아서 반영한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ViewCountAccumulator {
+
+    private static final String FLUSH_SQL =
+            "UPDATE contents SET view_count = COALESCE(view_count, 0) + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile Map<Long, LongAdder> active = new ConcurrentHashMap<>();
+    private volatile Map<Long, LongAdder> draining = new ConcurrentHashMap<>();
+
+    // synchronized 대신 ReentrantLock - 가상 스레드에서 JDBC 대기 중 캐리어 스레드를 붙잡지 않음
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public void increment(Long contentId) {
+        add(contentId, 1L);
+    }
+
+    public void add(Long contentId, long delta) {
+        Map<Long, LongAdder> counters = active;
+        LongAdder adder = counters.get(contentId);
+        if (adder == null) {
+            adder = counters.computeIfAbsent(contentId, id -> new LongAdder());
+        }
+        adder.add(delta);
+    }
+
+    @Scheduled(fixedDelayString = "${content.view-count.flush-interval-ms:5000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            Map<Long, LongAdder> retired = active;
+            active = new ConcurrentHashMap<>();
+
+            // 이전 주기에 교체된 맵의 늦은 증가분 + 방금 교체된 맵 (id 순으로 정렬해 잠금 순서 고정)
+            Map<Long, Long> deltas = new TreeMap<>();
+            drainInto(draining, deltas);
+            drainInto(retired, deltas);
+            draining = retired;
+
+            if (deltas.isEmpty()) {
+                return;
+            }
+
+            List<Object[]> args = new ArrayList<>(deltas.size());
+            deltas.forEach((contentId, delta) -> args.add(new Object[]{delta, contentId}));
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(FLUSH_SQL, args));
+                log.debug("👀 조회수 일괄 반영 - 콘텐츠 {}개", deltas.size());
+            } catch (Exception e) {
+                log.error("❌ 조회수 일괄 반영 실패 - 다음 주기에 재시도", e);
+                deltas.forEach(this::add);
+                return;
+            }
+
+            // 커밋된 증가분을 카탈로그 스냅샷 등에 알림
+            eventPublisher.publishEvent(new ViewCountsFlushedEvent(deltas));
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+        flush();
+    }
+
+    private static void drainInto(Map<Long, LongAdder> counters, Map<Long, Long> deltas) {
+        counters.forEach((contentId, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta != 0) {
+                deltas.merge(contentId, delta, Long::sum);
+            }
+        });
+    }
+}
@@ -0,0 +1,166 @@
+package com.ureca.web.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 상세 조회 이벤트 비동기 집계
+ *
+ * 상세 조회 요청은 큐에 (콘텐츠, 조회자)만 넣고 바로 돌아가고, 전용 스레드 하나가 꺼내서
+ * 같은 조회자의 같은 콘텐츠 조회가 dedup-window-ms 안에 또 오면 버리고 나머지만 ViewCountAccumulator에 더한다.
+ * 조회자는 로그인 사용자면 userId, 아니면 접속 주소 + User-Agent 해시 (새로고침으로 조회수가 부풀지 않도록).
+ * 최근 조회 기록은 이 스레드만 다루므로 잠금 없이 삽입 순서 맵으로 두고, 창이 지난 항목은 앞에서부터 지운다.
+ * 큐가 가득 차면 중복 제거 없이 바로 더한다 (조회수를 잃지 않도록).
+ */
+@Slf4j
+@Component
+public class ViewEventPipeline {
+
+    private record ViewEvent(long contentId, long viewer, long viewedAt) {
+    }
+
+    private record ViewKey(long viewer, long contentId) {
+    }
+
+    private static final int BATCH_SIZE = 1024;
+
+    private final ViewCountAccumulator viewCountAccumulator;
+    private final long dedupWindowMillis;
+    private final int maxTracked;
+
+    private final BlockingQueue<ViewEvent> queue;
+
+    // 창 안에서 마지막으로 집계한 시각 (집계 스레드 전용, 오래된 순)
+    private final LinkedHashMap<ViewKey, Long> lastCounted = new LinkedHashMap<>();
+
+    private final LongAdder counted = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+
+    private volatile boolean running = true;
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "view-event-pipeline");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ViewEventPipeline(
+            ViewCountAccumulator viewCountAccumulator,
+            @Value("${content.view-count.dedup-window-ms:600000}") long dedupWindowMillis,
+            @Value("${content.view-count.dedup-max-tracked:500000}") int maxTracked,
+            @Value("${content.view-count.queue-capacity:100000}") int queueCapacity) {
+        this.viewCountAccumulator = viewCountAccumulator;
+        this.dedupWindowMillis = dedupWindowMillis;
+        this.maxTracked = maxTracked;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        worker.execute(this::run);
+    }
+
+    /**
+     * 조회 이벤트 추가 (userId가 없으면 clientAddress/userAgent로 조회자 구분)
+     */
+    public void record(Long contentId, Long userId, String clientAddress, String userAgent) {
+        ViewEvent event = new ViewEvent(contentId, viewer(userId, clientAddress, userAgent), System.currentTimeMillis());
+        if (!running || !queue.offer(event)) {
+            overflowed.increment();
+            viewCountAccumulator.increment(contentId);
+        }
+    }
+
+    public int queued() {
+        return queue.size();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        worker.shutdown();
+        if (!worker.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("조회 이벤트 집계 스레드가 끝나지 않음 - 남은 {}건은 중복 제거 없이 반영", queue.size());
+            List<ViewEvent> rest = new ArrayList<>();
+            queue.drainTo(rest);
+            rest.forEach(event -> viewCountAccumulator.increment(event.contentId()));
+        }
+        log.info("👀 조회 이벤트 집계 종료 - 집계: {}, 중복 제외: {}, 큐 초과: {}",
+                counted.sum(), duplicates.sum(), overflowed.sum());
+    }
+
+    private void run() {
+        List<ViewEvent> batch = new ArrayList<>(BATCH_SIZE);
+        while (running || !queue.isEmpty()) {
+            try {
+                ViewEvent first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("❌ 조회 이벤트 집계 실패 - {}건", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void process(List<ViewEvent> batch) {
+        evictExpired(batch.get(0).viewedAt());
+
+        for (ViewEvent event : batch) {
+            ViewKey key = new ViewKey(event.viewer(), event.contentId());
+            Long last = lastCounted.get(key);
+            if (last != null && event.viewedAt() - last < dedupWindowMillis) {
+                duplicates.increment();
+                continue;
+            }
+
+            // 다시 넣어야 맨 뒤(가장 최근)로 감
+            lastCounted.remove(key);
+            lastCounted.put(key, event.viewedAt());
+            if (lastCounted.size() > maxTracked) {
+                Iterator<ViewKey> eldest = lastCounted.keySet().iterator();
+                eldest.next();
+                eldest.remove();
+            }
+
+            viewCountAccumulator.increment(event.contentId());
+            counted.increment();
+        }
+    }
+
+    // 창이 지난 기록 제거 (삽입 순서 = 집계 시각 순이므로 앞에서부터)
+    private void evictExpired(long now) {
+        Iterator<Map.Entry<ViewKey, Long>> entries = lastCounted.entrySet().iterator();
+        while (entries.hasNext() && now - entries.next().getValue() >= dedupWindowMillis) {
+            entries.remove();
+        }
+    }
+
+    // 로그인 사용자는 userId(양수), 비로그인은 주소 + User-Agent 해시(음수)
+    private static long viewer(Long userId, String clientAddress, String userAgent) {
+        if (userId != null) {
+            return userId;
+        }
+        long address = clientAddress != null ? clientAddress.hashCode() : 0;
+        long agent = userAgent != null ? userAgent.hashCode() : 0;
+        return Long.MIN_VALUE | ((address << 32) ^ (agent & 0xffffffffL));
+    }
+}
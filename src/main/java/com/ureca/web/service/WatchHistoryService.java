@@ -1,19 +1,27 @@
 package com.ureca.web.service;
 
+import com.ureca.web.cache.ContinueWatchingIndex;
+import com.ureca.web.cache.ResumePositionStore;
 import com.ureca.web.dto.ApiResponse;
+import com.ureca.web.dto.PendingWatch;
+import com.ureca.web.dto.SaveWatchHistoryBatchRequest;
 import com.ureca.web.dto.SaveWatchHistoryRequest;
+import com.ureca.web.dto.WatchHistoryBatchResponse;
 import com.ureca.web.dto.WatchHistoryResponse;
-import com.ureca.web.entity.Content;
-import com.ureca.web.entity.User;
 import com.ureca.web.entity.WatchHistory;
-import com.ureca.web.repository.ContentRepository;
 import com.ureca.web.repository.UserRepository;
 import com.ureca.web.repository.WatchHistoryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -24,87 +32,194 @@ public class WatchHistoryService {
 
     private final WatchHistoryRepository watchHistoryRepository;
     private final UserRepository userRepository;
-    private final ContentRepository contentRepository;
+    private final WatchHistoryWriteBuffer watchHistoryWriteBuffer;
+    private final WatchHistoryWriter watchHistoryWriter;
+    private final ResumePositionStore resumePositionStore;
+    private final ContinueWatchingIndex continueWatchingIndex;
+    private final WatchSessionizer watchSessionizer;
+
+    @Value("${watch-history.buffer.enabled:true}")
+    private boolean bufferEnabled;
+
+    @Value("${watch-history.batch.max-size:1000}")
+    private int batchMaxSize;
 
     /**
      * 시청 위치 저장 또는 업데이트
+     * 외래 키 위반을 응답으로 변환하기 위해 트랜잭션은 WatchHistoryWriter에서 시작
      */
-    @Transactional
     public ApiResponse<WatchHistoryResponse> saveWatchHistory(SaveWatchHistoryRequest request) {
         log.info("💾 시청 위치 저장 - userId: {}, contentId: {}, position: {}초",
                 request.getUserId(), request.getContentId(), request.getWatchPosition());
 
         try {
-            // 사용자 확인
-            User user = userRepository.findById(request.getUserId())
-                    .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없음."));
-
-            // 콘텐츠 확인
-            Content content = contentRepository.findById(request.getContentId())
-                    .orElseThrow(() -> new IllegalArgumentException("콘텐츠를 찾을 수 없음."));
+            if (request.getUserId() == null || request.getContentId() == null || request.getWatchPosition() == null) {
+                throw new IllegalArgumentException("userId, contentId, watchPosition은 필수입니다.");
+            }
 
-            // 기존 시청 기록 확인
-            WatchHistory history = watchHistoryRepository
-                    .findByUserIdAndContentId(request.getUserId(), request.getContentId())
-                    .orElse(null);
+            if (bufferEnabled) {
+                // 버퍼에 모았다가 일괄 반영
+                PendingWatch pending = watchHistoryWriteBuffer.add(PendingWatch.of(
+                        request.getUserId(), request.getContentId(),
+                        request.getWatchPosition(), request.getCompleted()));
+                resumePositionStore.apply(pending);
+                continueWatchingIndex.apply(pending);
+                watchSessionizer.record(request.getUserId(), request.getContentId(),
+                        request.getWatchPosition(), request.getCompleted());
+                return ApiResponse.success("시청 위치가 저장되었습니다.", WatchHistoryResponse.fromPending(pending));
+            }
 
-            if (history == null) {
-                // 새로운 시청 기록 생성
-                history = WatchHistory.builder()
-                        .user(user)
-                        .content(content)
-                        .watchPosition(request.getWatchPosition())
-                        .watchDuration(request.getWatchPosition())
-                        .completed(request.getCompleted() != null ? request.getCompleted() : false)
-                        .build();
+            // 사용자/콘텐츠 존재 여부는 외래 키 제약으로 확인 (사전 조회 없음)
+            PendingWatch saved = PendingWatch.of(
+                    request.getUserId(), request.getContentId(),
+                    request.getWatchPosition(), request.getCompleted());
+            if (watchHistoryWriter.apply(saved)) {
                 log.info("새로운 시청 기록 생성");
-            } else {
-                // 기존 시청 기록 업데이트
-                history.setWatchPosition(request.getWatchPosition());
-                history.setWatchDuration(Math.max(history.getWatchDuration(), request.getWatchPosition()));
-                if (request.getCompleted() != null) {
-                    history.setCompleted(request.getCompleted());
+            }
+            resumePositionStore.apply(saved);
+            continueWatchingIndex.apply(saved);
+            watchSessionizer.record(request.getUserId(), request.getContentId(),
+                    request.getWatchPosition(), request.getCompleted());
+
+            return ApiResponse.success("시청 위치가 저장되었습니다.", WatchHistoryResponse.fromPending(saved));
+
+        } catch (IllegalArgumentException e) {
+            log.error("시청 위치 저장 실패 - {}", e.getMessage());
+            return ApiResponse.error(e.getMessage());
+        } catch (DataIntegrityViolationException e) {
+            log.error("시청 위치 저장 실패 - 사용자 또는 콘텐츠 없음 (userId: {}, contentId: {})",
+                    request.getUserId(), request.getContentId());
+            return ApiResponse.error("사용자 또는 콘텐츠를 찾을 수 없음.");
+        } catch (Exception e) {
+            log.error("시청 위치 저장 중 오류 발생", e);
+            return ApiResponse.error("시청 위치 저장 중 오류가 발생했습니다.");
+        }
+    }
+
+    /**
+     * 시청 위치 일괄 저장 (오프라인 재전송, 엣지 집계용)
+     * 항목마다 하트비트 시각(watchedAt)을 받아 그보다 늦은 위치가 이미 있으면 위치를 바꾸지 않는다.
+     * 버퍼가 켜져 있으면 단건 하트비트와 같이 저널 → 버퍼로 보내고(ACCEPTED),
+     * 꺼져 있으면 JDBC 배치 한 번, 하나의 트랜잭션으로 반영하고 항목별 결과를 반환
+     */
+    public ApiResponse<WatchHistoryBatchResponse> saveWatchHistoryBatch(SaveWatchHistoryBatchRequest request) {
+        List<SaveWatchHistoryRequest> entries = request.getEntries();
+        log.info("💾 시청 위치 일괄 저장 - {}건", entries != null ? entries.size() : 0);
+
+        try {
+            if (entries == null || entries.isEmpty()) {
+                throw new IllegalArgumentException("저장할 시청 위치가 없습니다.");
+            }
+            if (entries.size() > batchMaxSize) {
+                throw new IllegalArgumentException("한 번에 최대 " + batchMaxSize + "건까지 저장할 수 있습니다.");
+            }
+
+            WatchHistoryBatchResponse.EntryResult[] results = new WatchHistoryBatchResponse.EntryResult[entries.size()];
+            List<PendingWatch> valid = new ArrayList<>(entries.size());
+            List<Integer> validIndexes = new ArrayList<>(entries.size());
+            LocalDateTime receivedAt = LocalDateTime.now();
+
+            for (int i = 0; i < entries.size(); i++) {
+                SaveWatchHistoryRequest entry = entries.get(i);
+                if (entry == null || entry.getUserId() == null || entry.getContentId() == null
+                        || entry.getWatchPosition() == null || entry.getWatchPosition() < 0) {
+                    results[i] = entryResult(i, entry, WatchHistoryBatchResponse.Status.INVALID,
+                            "userId, contentId, watchPosition은 필수입니다.");
+                    continue;
                 }
-                log.info("✏기존 시청 기록 업데이트");
+                // 시각이 없거나 미래(단말 시계 오차)면 수신 시각 - 미래 시각이 저장되면 이후 하트비트가 모두 무시됨
+                LocalDateTime watchedAt = entry.getWatchedAt() != null && entry.getWatchedAt().isBefore(receivedAt)
+                        ? entry.getWatchedAt()
+                        : receivedAt;
+                valid.add(PendingWatch.of(entry.getUserId(), entry.getContentId(),
+                        entry.getWatchPosition(), entry.getCompleted(), watchedAt));
+                validIndexes.add(i);
+            }
+
+            int[] counts;
+            if (bufferEnabled) {
+                for (PendingWatch entry : valid) {
+                    watchHistoryWriteBuffer.add(entry);
+                }
+                counts = null;
+            } else {
+                counts = valid.isEmpty() ? new int[0] : watchHistoryWriter.applyBatch(valid);
             }
 
-            WatchHistory savedHistory = watchHistoryRepository.save(history);
+            // 재전송된 하트비트는 현재 위치보다 오래되었을 수 있으므로 병합하지 않고 다시 로딩
+            // (다시 로딩할 때 버퍼 값은 시각이 늦을 때만 덮어씀, 수신 시각이 실제 시청 시각과 달라 시청 세션 집계에도 넣지 않음)
+            for (PendingWatch entry : valid) {
+                resumePositionStore.invalidate(entry.getUserId(), entry.getContentId());
+                continueWatchingIndex.invalidate(entry.getUserId());
+            }
+
+            for (int i = 0; i < validIndexes.size(); i++) {
+                int index = validIndexes.get(i);
+                if (counts == null) {
+                    results[index] = entryResult(index, entries.get(index), WatchHistoryBatchResponse.Status.ACCEPTED, null);
+                } else if (counts[i] == Statement.EXECUTE_FAILED) {
+                    results[index] = entryResult(index, entries.get(index), WatchHistoryBatchResponse.Status.FAILED,
+                            "사용자 또는 콘텐츠를 찾을 수 없음.");
+                } else if (counts[i] == WatchHistoryWriter.CREATED) {
+                    results[index] = entryResult(index, entries.get(index), WatchHistoryBatchResponse.Status.CREATED, null);
+                } else {
+                    results[index] = entryResult(index, entries.get(index), WatchHistoryBatchResponse.Status.UPDATED, null);
+                }
+            }
 
-            // 콘텐츠 조회수 증가 (새로운 시청 기록인 경우만)
-            if (history.getId() == null) {
-                content.setViewCount(content.getViewCount() + 1);
-                contentRepository.save(content);
+            int succeeded = 0;
+            for (WatchHistoryBatchResponse.EntryResult result : results) {
+                if (result.getStatus() == WatchHistoryBatchResponse.Status.CREATED
+                        || result.getStatus() == WatchHistoryBatchResponse.Status.UPDATED
+                        || result.getStatus() == WatchHistoryBatchResponse.Status.ACCEPTED) {
+                    succeeded++;
+                }
             }
 
-            WatchHistoryResponse response = WatchHistoryResponse.fromEntity(savedHistory);
-            return ApiResponse.success("시청 위치가 저장되었습니다.", response);
+            WatchHistoryBatchResponse response = WatchHistoryBatchResponse.builder()
+                    .total(entries.size())
+                    .succeeded(succeeded)
+                    .failed(entries.size() - succeeded)
+                    .results(List.of(results))
+                    .build();
+
+            log.info("✅ 시청 위치 일괄 저장 완료 - 성공: {}, 실패: {}", response.getSucceeded(), response.getFailed());
+            return ApiResponse.success("시청 위치를 일괄 저장했습니다.", response);
 
         } catch (IllegalArgumentException e) {
-            log.error("시청 위치 저장 실패 - {}", e.getMessage());
+            log.error("시청 위치 일괄 저장 실패 - {}", e.getMessage());
             return ApiResponse.error(e.getMessage());
         } catch (Exception e) {
-            log.error("시청 위치 저장 중 오류 발생", e);
-            return ApiResponse.error("시청 위치 저장 중 오류가 발생했습니다.");
+            log.error("시청 위치 일괄 저장 중 오류 발생", e);
+            return ApiResponse.error("시청 위치 일괄 저장 중 오류가 발생했습니다.");
         }
     }
 
     /**
      * 시청 위치 조회
+     * 이어보기 위치 저장소에서 먼저 찾고, 없을 때만 DB 조회
      */
-    @Transactional(readOnly = true)
     public ApiResponse<WatchHistoryResponse> getWatchHistory(Long userId, Long contentId) {
         log.info("시청 위치 조회 - userId: {}, contentId: {}", userId, contentId);
 
         try {
-            WatchHistory history = watchHistoryRepository
-                    .findByUserIdAndContentId(userId, contentId)
-                    .orElse(null);
+            WatchHistoryResponse response = resumePositionStore.get(userId, contentId, () ->
+                    watchHistoryRepository.findByUserIdAndContentIdWithContent(userId, contentId)
+                            .map(WatchHistoryResponse::fromEntity)
+                            .orElse(null));
+
+            // 아직 DB에 반영되지 않은 최신 위치가 있으면 우선
+            PendingWatch pending = watchHistoryWriteBuffer.get(userId, contentId);
 
-            if (history == null) {
+            if (response == null && pending == null) {
                 return ApiResponse.success("시청 기록이 없습니다.", null);
             }
 
-            WatchHistoryResponse response = WatchHistoryResponse.fromEntity(history);
+            if (response == null) {
+                response = WatchHistoryResponse.fromPending(pending);
+            } else if (pending != null) {
+                response.applyPending(pending);
+            }
             log.info("✅ 시청 위치: {}초", response.getWatchPosition());
             return ApiResponse.success("시청 위치를 조회했습니다.", response);
 
@@ -129,7 +244,7 @@ public class WatchHistoryService {
             List<WatchHistory> histories = watchHistoryRepository.findByUserIdWithContent(userId);
 
             List<WatchHistoryResponse> responses = histories.stream()
-                    .map(WatchHistoryResponse::fromEntity)
+                    .map(this::toResponseWithPending)
                     .collect(Collectors.toList());
 
             log.info("✅ 시청 기록 {}개 조회 완료", responses.size());
@@ -146,21 +261,23 @@ public class WatchHistoryService {
 
     /**
      * 이어보기 목록 조회 (시청 중인 콘텐츠만)
+     * 사용자별로 유지되는 최근 목록에서 바로 반환하고, 처음 조회할 때만 DB에서 로딩
      */
-    @Transactional(readOnly = true)
     public ApiResponse<List<WatchHistoryResponse>> getContinueWatching(Long userId) {
         log.info("▶️ 이어보기 목록 조회 - userId: {}", userId);
 
         try {
-            if (!userRepository.existsById(userId)) {
-                throw new IllegalArgumentException("사용자를 찾을 수 없습니다.");
-            }
-
-            List<WatchHistory> histories = watchHistoryRepository.findContinueWatchingByUserId(userId);
+            List<WatchHistoryResponse> responses = continueWatchingIndex.get(userId, limit -> {
+                if (!userRepository.existsById(userId)) {
+                    throw new IllegalArgumentException("사용자를 찾을 수 없습니다.");
+                }
 
-            List<WatchHistoryResponse> responses = histories.stream()
-                    .map(WatchHistoryResponse::fromEntity)
-                    .collect(Collectors.toList());
+                return watchHistoryRepository.findContinueWatchingByUserId(userId, PageRequest.of(0, limit))
+                        .stream()
+                        .map(this::toResponseWithPending)
+                        .filter(response -> !Boolean.TRUE.equals(response.getCompleted()))
+                        .collect(Collectors.toList());
+            });
 
             log.info("✅ 이어보기 {}개 조회 완료", responses.size());
             return ApiResponse.success("이어보기 목록을 조회했습니다.", responses);
@@ -182,11 +299,21 @@ public class WatchHistoryService {
         log.info("🗑️ 시청 기록 삭제 - userId: {}, contentId: {}", userId, contentId);
 
         try {
+            boolean discarded = watchHistoryWriteBuffer.discard(userId, contentId);
+            resumePositionStore.invalidateAfterCommit(userId, contentId);
+            continueWatchingIndex.removeAfterCommit(userId, contentId);
+
             WatchHistory history = watchHistoryRepository
                     .findByUserIdAndContentId(userId, contentId)
-                    .orElseThrow(() -> new IllegalArgumentException("시청 기록을 찾을 수 없습니다."));
+                    .orElse(null);
+
+            if (history == null && !discarded) {
+                throw new IllegalArgumentException("시청 기록을 찾을 수 없습니다.");
+            }
 
-            watchHistoryRepository.delete(history);
+            if (history != null) {
+                watchHistoryRepository.delete(history);
+            }
             log.info("✅ 시청 기록 삭제 완료");
             return ApiResponse.success("시청 기록이 삭제되었습니다.", null);
 
@@ -198,4 +325,21 @@ public class WatchHistoryService {
             return ApiResponse.error("시청 기록 삭제 중 오류가 발생했습니다.");
         }
     }
-}
\ No newline at end of file
+
+    private WatchHistoryResponse toResponseWithPending(WatchHistory history) {
+        WatchHistoryResponse response = WatchHistoryResponse.fromEntity(history);
+        PendingWatch pending = watchHistoryWriteBuffer.get(response.getUserId(), response.getContentId());
+        return pending != null ? response.applyPending(pending) : response;
+    }
+
+    private WatchHistoryBatchResponse.EntryResult entryResult(
+            int index, SaveWatchHistoryRequest entry, WatchHistoryBatchResponse.Status status, String message) {
+        return WatchHistoryBatchResponse.EntryResult.builder()
+                .index(index)
+                .userId(entry != null ? entry.getUserId() : null)
+                .contentId(entry != null ? entry.getContentId() : null)
+                .status(status)
+                .message(message)
+                .build();
+    }
+}
@@ -0,0 +1,199 @@
+package com.ureca.web.service;
+
+import com.ureca.web.cache.ContinueWatchingIndex;
+import com.ureca.web.cache.ResumePositionStore;
+import com.ureca.web.dto.PendingWatch;
+import com.ureca.web.journal.WatchEventJournal;
+import com.ureca.web.util.WatchKey;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 시청 위치 하트비트 write-behind 버퍼
+ *
+ * (userId, contentId)별로 가장 최신 위치와 최대 시청 시간만 유지하고,
+ * 주기적으로 또는 임계치에 도달하면 한 번의 트랜잭션으로 모아서 반영한다.
+ * 버퍼가 가득 차면 호출 스레드가 직접 flush 하면서 대기한다 (backpressure).
+ * 저널이 켜져 있으면 버퍼에 넣기 전에 저널에 먼저 기록하고, flush 성공 후 checkpoint를 남긴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WatchHistoryWriteBuffer {
+
+    private final WatchHistoryWriter watchHistoryWriter;
+    private final WatchEventJournal watchEventJournal;
+    private final ResumePositionStore resumePositionStore;
+    private final ContinueWatchingIndex continueWatchingIndex;
+
+    @Value("${watch-history.buffer.flush-threshold:500}")
+    private int flushThreshold;
+
+    @Value("${watch-history.buffer.max-pending:10000}")
+    private int maxPending;
+
+    // 아직 flush 되지 않은 항목
+    private final Map<Long, PendingWatch> pending = new ConcurrentHashMap<>();
+
+    // flush 중인 항목 (커밋 전까지 조회에 노출)
+    private final Map<Long, PendingWatch> inFlight = new ConcurrentHashMap<>();
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    // 저널 기록과 버퍼 반영을 묶음 - flush가 잡은 저널 순번 이전의 하트비트는 모두 이번 flush에 포함됨
+    private final ReadWriteLock ingestLock = new ReentrantReadWriteLock();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    private final ExecutorService flushExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "watch-history-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 하트비트 추가 (같은 키는 병합)
+     */
+    public PendingWatch add(PendingWatch watch) {
+        long key = WatchKey.pack(watch.getUserId(), watch.getContentId());
+
+        if (pending.size() >= maxPending && !pending.containsKey(key)) {
+            log.warn("시청 위치 버퍼 가득 참 ({}건) - 동기 flush", pending.size());
+            flush();
+        }
+
+        PendingWatch merged;
+        ingestLock.readLock().lock();
+        try {
+            if (watchEventJournal.isEnabled()) {
+                watchEventJournal.append(watch);
+            }
+            merged = pending.merge(key, watch, PendingWatch::merge);
+        } finally {
+            ingestLock.readLock().unlock();
+        }
+
+        if (pending.size() >= flushThreshold && flushScheduled.compareAndSet(false, true)) {
+            flushExecutor.execute(() -> {
+                flushScheduled.set(false);
+                flush();
+            });
+        }
+        return merged;
+    }
+
+    /**
+     * 아직 반영되지 않은 최신 위치 조회 (없으면 null)
+     */
+    public PendingWatch get(Long userId, Long contentId) {
+        long key = WatchKey.pack(userId, contentId);
+        PendingWatch latest = pending.get(key);
+        if (latest != null) {
+            return latest;
+        }
+        return inFlight.get(key);
+    }
+
+    /**
+     * 시청 기록 삭제 시 대기 중인 항목 제거
+     */
+    public boolean discard(Long userId, Long contentId) {
+        long key = WatchKey.pack(userId, contentId);
+
+        // 진행 중인 flush가 삭제 이후에 기록을 되살리지 않도록 flush 완료를 기다림
+        flushLock.lock();
+        ingestLock.readLock().lock();
+        try {
+            if (watchEventJournal.isEnabled()) {
+                watchEventJournal.appendDiscard(userId, contentId);
+            }
+            return pending.remove(key) != null;
+        } finally {
+            ingestLock.readLock().unlock();
+            flushLock.unlock();
+        }
+    }
+
+    public int size() {
+        return pending.size();
+    }
+
+    @Scheduled(fixedDelayString = "${watch-history.buffer.flush-interval-ms:5000}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    /**
+     * 대기 중인 항목을 모두 DB에 반영
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            if (pending.isEmpty()) {
+                return;
+            }
+
+            long journalMark;
+            ingestLock.writeLock().lock();
+            try {
+                for (Long key : new ArrayList<>(pending.keySet())) {
+                    PendingWatch watch = pending.remove(key);
+                    if (watch != null) {
+                        inFlight.merge(key, watch, PendingWatch::merge);
+                    }
+                }
+                journalMark = watchEventJournal.nextSequence();
+            } finally {
+                ingestLock.writeLock().unlock();
+            }
+
+            List<PendingWatch> batch = new ArrayList<>(inFlight.values());
+            try {
+                int[] counts = watchHistoryWriter.applyBatch(batch);
+                int rejected = 0;
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] == Statement.EXECUTE_FAILED) {
+                        // 존재하지 않는 사용자/콘텐츠 - 재시도해도 실패하므로 버림
+                        log.warn("존재하지 않는 사용자/콘텐츠의 시청 위치 무시 - userId: {}, contentId: {}",
+                                batch.get(i).getUserId(), batch.get(i).getContentId());
+                        rejected++;
+                    }
+                }
+                log.info("💾 시청 위치 일괄 반영 - {}건", batch.size() - rejected);
+                resumePositionStore.flushed(batch);
+                continueWatchingIndex.flushed(batch);
+                watchEventJournal.checkpoint(journalMark);
+            } catch (Exception e) {
+                // 실패한 항목은 다음 flush 때 다시 시도 (이후 들어온 하트비트와 병합)
+                log.error("❌ 시청 위치 일괄 반영 실패 - {}건 재시도 예정", batch.size(), e);
+                inFlight.forEach((key, failed) -> pending.merge(key, failed, (latest, retry) -> retry.merge(latest)));
+            } finally {
+                inFlight.clear();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        flushExecutor.shutdown();
+        flushExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        flush();
+    }
+}
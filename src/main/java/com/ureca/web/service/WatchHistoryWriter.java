@@ -0,0 +1,78 @@
+package com.ureca.web.service;
+
+import com.ureca.web.catalog.ItemSimilarityIndex;
+import com.ureca.web.dto.PendingWatch;
+import com.ureca.web.repository.WatchHistoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * 시청 위치를 upsert 한 번으로 DB에 반영 (여러 건은 JDBC 배치 한 번, 하나의 트랜잭션)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WatchHistoryWriter {
+
+    public static final int CREATED = 1;
+
+    private final WatchHistoryRepository watchHistoryRepository;
+    private final ViewCountAccumulator viewCountAccumulator;
+    private final ItemSimilarityIndex itemSimilarityIndex;
+
+    /**
+     * 항목별 결과 반환 (신규 1, 갱신 2, 바뀐 값 없음 0, 실패 Statement.EXECUTE_FAILED)
+     * 존재하지 않는 사용자/콘텐츠는 외래 키 위반으로 해당 항목만 실패
+     */
+    @Transactional
+    public int[] applyBatch(List<PendingWatch> batch) {
+        int[] counts = watchHistoryRepository.batchUpsert(batch);
+
+        // 콘텐츠 조회수 증가 (새로운 시청 기록인 경우만)
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == CREATED) {
+                viewCountAccumulator.increment(batch.get(i).getContentId());
+            }
+            if (counts[i] != Statement.EXECUTE_FAILED) {
+                recordInteraction(batch.get(i), counts[i] == CREATED);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * 시청 위치 한 건 반영 - 새로운 시청 기록이 생성되었으면 true
+     */
+    @Transactional
+    public boolean apply(PendingWatch pending) {
+        boolean created = watchHistoryRepository.upsertWatchHistory(
+                pending.getUserId(),
+                pending.getContentId(),
+                pending.getWatchPosition(),
+                pending.getWatchDuration(),
+                pending.getCompleted(),
+                pending.getLastWatchedAt()
+        );
+
+        // 콘텐츠 조회수 증가 (새로운 시청 기록인 경우만)
+        if (created) {
+            viewCountAccumulator.increment(pending.getContentId());
+        }
+        recordInteraction(pending, created);
+        return created;
+    }
+
+    // 추천 입력 - 새 시청 기록이거나 끝까지 봤을 때만 (진행 중 하트비트마다 넣지 않음)
+    private void recordInteraction(PendingWatch pending, boolean created) {
+        boolean completed = Boolean.TRUE.equals(pending.getCompleted());
+        if (created || completed) {
+            itemSimilarityIndex.recordAfterCommit(pending.getUserId(), pending.getContentId(),
+                    completed ? ItemSimilarityIndex.COMPLETED_WEIGHT : ItemSimilarityIndex.WATCH_WEIGHT);
+        }
+    }
+}
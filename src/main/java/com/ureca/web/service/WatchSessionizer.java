@@ -0,0 +1,231 @@
+package com.ureca.web.service;
+
+import com.ureca.web.catalog.UserAffinityProfiles;
+import com.ureca.web.entity.WatchSession;
+import com.ureca.web.util.WatchKey;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 시청 하트비트 → 시청 세션 변환
+ *
+ * (userId, contentId)별로 열린 세션을 메모리에 두고, 하트비트 사이의 위치 증가분 중
+ * 실제 경과 시간 안에 재생될 수 있는 만큼만 시청 시간으로 인정한다 (앞으로 건너뛰기, 되감기 제외).
+ * idle-timeout 동안 하트비트가 없거나 시청을 완료하면 세션을 닫고, 닫힌 세션은 모아서
+ * watch_sessions 테이블에 JDBC 배치로 저장한다.
+ * 인정된 시청 시간은 하트비트마다 사용자 선호도(UserAffinityProfiles)에도 더한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WatchSessionizer {
+
+    private static final String INSERT_SQL = "INSERT INTO watch_sessions " +
+            "(user_id, content_id, started_at, ended_at, start_position, end_position, watched_seconds, completed) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserAffinityProfiles userAffinityProfiles;
+
+    @Value("${watch-history.session.idle-timeout-ms:120000}")
+    private long idleTimeoutMillis;
+
+    // 배속 재생 허용치 - 경과 시간 × max-speed + grace-seconds 까지의 증가분만 재생으로 인정
+    @Value("${watch-history.session.max-speed:2.0}")
+    private double maxSpeed;
+
+    @Value("${watch-history.session.grace-seconds:5}")
+    private int graceSeconds;
+
+    @Value("${watch-history.session.batch-size:500}")
+    private int batchSize;
+
+    @Value("${watch-history.session.max-queued:100000}")
+    private int maxQueued;
+
+    private final Map<Long, OpenSession> open = new ConcurrentHashMap<>();
+    private final Queue<WatchSession> closed = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger closedCount = new AtomicInteger();
+
+    // synchronized 대신 ReentrantLock - 가상 스레드에서 JDBC 대기 중 캐리어 스레드를 붙잡지 않음
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    /**
+     * 하트비트 반영
+     */
+    public void record(Long userId, Long contentId, int position, Boolean completed) {
+        long key = WatchKey.pack(userId, contentId);
+        long now = System.currentTimeMillis();
+        int[] watched = new int[1];
+
+        open.compute(key, (k, session) -> {
+            if (session != null && now - session.lastHeartbeatAt > idleTimeoutMillis) {
+                enqueue(session.close(false));
+                session = null;
+            }
+
+            if (session == null) {
+                session = new OpenSession(userId, contentId, position, now);
+            } else {
+                watched[0] = session.advance(position, now, maxSpeed, graceSeconds);
+            }
+
+            if (Boolean.TRUE.equals(completed)) {
+                enqueue(session.close(true));
+                return null;
+            }
+            return session;
+        });
+
+        userAffinityProfiles.recordWatch(userId, contentId, watched[0]);
+    }
+
+    public int openSessions() {
+        return open.size();
+    }
+
+    /**
+     * 유휴 세션을 닫고 닫힌 세션을 저장
+     */
+    @Scheduled(fixedDelayString = "${watch-history.session.flush-interval-ms:30000}")
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        open.forEach((key, session) -> open.computeIfPresent(key, (k, current) -> {
+            if (now - current.lastHeartbeatAt <= idleTimeoutMillis) {
+                return current;
+            }
+            enqueue(current.close(false));
+            return null;
+        }));
+        flush();
+    }
+
+    /**
+     * 닫힌 세션을 batch-size 단위로 저장
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            while (!closed.isEmpty()) {
+                List<WatchSession> batch = new ArrayList<>(batchSize);
+                WatchSession session;
+                while (batch.size() < batchSize && (session = closed.poll()) != null) {
+                    closedCount.decrementAndGet();
+                    batch.add(session);
+                }
+
+                try {
+                    jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, s) -> {
+                        ps.setLong(1, s.getUserId());
+                        ps.setLong(2, s.getContentId());
+                        ps.setTimestamp(3, Timestamp.valueOf(s.getStartedAt()));
+                        ps.setTimestamp(4, Timestamp.valueOf(s.getEndedAt()));
+                        ps.setInt(5, s.getStartPosition());
+                        ps.setInt(6, s.getEndPosition());
+                        ps.setInt(7, s.getWatchedSeconds());
+                        ps.setBoolean(8, s.getCompleted());
+                    });
+                    log.info("🎞️ 시청 세션 저장 - {}건", batch.size());
+                } catch (Exception e) {
+                    // 다음 주기에 다시 시도
+                    log.error("❌ 시청 세션 저장 실패 - {}건 재시도 예정", batch.size(), e);
+                    batch.forEach(this::enqueue);
+                    return;
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        open.forEach((key, session) -> open.computeIfPresent(key, (k, current) -> {
+            enqueue(current.close(false));
+            return null;
+        }));
+        flush();
+    }
+
+    private void enqueue(WatchSession session) {
+        // 재생 없이 끝난 세션(하트비트 한 번, 건너뛰기만 한 경우)은 저장하지 않음
+        if (session.getWatchedSeconds() == 0 && !session.getCompleted()) {
+            return;
+        }
+        if (closedCount.get() >= maxQueued) {
+            log.warn("시청 세션 대기열 가득 참 ({}건) - 세션 버림 (userId: {}, contentId: {})",
+                    maxQueued, session.getUserId(), session.getContentId());
+            return;
+        }
+        closedCount.incrementAndGet();
+        closed.add(session);
+    }
+
+    /**
+     * 열린 세션 누적값 (open.compute 안에서만 변경)
+     */
+    private static final class OpenSession {
+        private final long userId;
+        private final long contentId;
+        private final int startPosition;
+        private final long startedAt;
+        private int lastPosition;
+        private long lastHeartbeatAt;
+        private int watchedSeconds;
+
+        private OpenSession(long userId, long contentId, int position, long now) {
+            this.userId = userId;
+            this.contentId = contentId;
+            this.startPosition = position;
+            this.startedAt = now;
+            this.lastPosition = position;
+            this.lastHeartbeatAt = now;
+        }
+
+        // 이번 하트비트로 인정된 시청 초 반환
+        private int advance(int position, long now, double maxSpeed, int graceSeconds) {
+            int delta = position - lastPosition;
+            double elapsedSeconds = (now - lastHeartbeatAt) / 1000.0;
+            int accepted = delta > 0 && delta <= elapsedSeconds * maxSpeed + graceSeconds ? delta : 0;
+            watchedSeconds += accepted;
+            lastPosition = position;
+            lastHeartbeatAt = now;
+            return accepted;
+        }
+
+        private WatchSession close(boolean completed) {
+            return WatchSession.builder()
+                    .userId(userId)
+                    .contentId(contentId)
+                    .startedAt(toLocalDateTime(startedAt))
+                    .endedAt(toLocalDateTime(lastHeartbeatAt))
+                    .startPosition(startPosition)
+                    .endPosition(lastPosition)
+                    .watchedSeconds(watchedSeconds)
+                    .completed(completed)
+                    .build();
+        }
+
+        private static LocalDateTime toLocalDateTime(long epochMillis) {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.ureca.web.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RFC 4180 CSV 레코드 파서 (따옴표 안의 쉼표, 줄바꿈, "" 이스케이프 지원)
+ */
+public final class CsvParser {
+
+    private CsvParser() {
+    }
+
+    /**
+     * 다음 레코드를 읽음 - 따옴표 안에서 줄이 바뀌면 다음 줄까지 이어서 읽는다.
+     * 더 이상 읽을 줄이 없으면 null
+     */
+    public static List<String> readRecord(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        while (true) {
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+
+            if (!quoted) {
+                break;
+            }
+            line = reader.readLine();
+            if (line == null) {
+                throw new IllegalArgumentException("닫히지 않은 따옴표가 있습니다.");
+            }
+            field.append('\n');
+        }
+
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,126 @@
+package com.ureca.web.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * 자동완성용 한글 자모 변환
+ *
+ * 음절을 입력 순서대로 자모로 풀어 쓰면 입력 중인 글자도 접두사로 비교할 수 있다.
+ * 예: "부산행" → ㅂㅜㅅㅏㄴㅎㅐㅇ 이므로 입력 도중의 "붓", "부삲"(ㅂㅜㅅㅏㄴㅎ)도 일치한다.
+ * 겹모음/겹받침은 두 글자로 나눈다 (ㅘ → ㅗㅏ, ㄶ → ㄴㅎ).
+ */
+public final class HangulJamo {
+
+    private static final char SYLLABLE_FIRST = '가';
+    private static final char SYLLABLE_LAST = '힣';
+    private static final char JAMO_FIRST = 'ㄱ';
+    private static final char JAMO_LAST = 'ㅣ';
+
+    private static final String CHOSEONG = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+    private static final String[] JUNGSEONG = {
+            "ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ", "ㅗㅐ",
+            "ㅗㅣ", "ㅛ", "ㅜ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅠ", "ㅡ", "ㅡㅣ", "ㅣ"
+    };
+    private static final String[] JONGSEONG = {
+            "", "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ",
+            "ㄹㅍ", "ㄹㅎ", "ㅁ", "ㅂ", "ㅂㅅ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"
+    };
+
+    // 종성 표와 같은 순서의 호환 자모 (받침 없음 제외)
+    private static final String JONGSEONG_JAMO = "ㄱㄲㄳㄴㄵㄶㄷㄹㄺㄻㄼㄽㄾㄿㅀㅁㅂㅄㅅㅆㅇㅈㅊㅋㅌㅍㅎ";
+
+    // 단독으로 입력된 호환 자모 중 겹자모 (ㄳ, ㅘ 등)
+    private static final String[] COMPOUND_JAMO = new String[JAMO_LAST - JAMO_FIRST + 1];
+
+    static {
+        for (int i = 1; i < JONGSEONG.length; i++) {
+            if (JONGSEONG[i].length() == 2) {
+                COMPOUND_JAMO[JONGSEONG_JAMO.charAt(i - 1) - JAMO_FIRST] = JONGSEONG[i];
+            }
+        }
+        // 호환 모음 ㅏ ~ ㅣ는 중성 표와 같은 순서
+        for (int i = 0; i < JUNGSEONG.length; i++) {
+            if (JUNGSEONG[i].length() == 2) {
+                COMPOUND_JAMO['ㅏ' + i - JAMO_FIRST] = JUNGSEONG[i];
+            }
+        }
+    }
+
+    private HangulJamo() {
+    }
+
+    /**
+     * 비교용 정규화 (NFC, 소문자, 글자/숫자만 남김)
+     */
+    public static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+        StringBuilder result = new StringBuilder(normalized.length());
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * 정규화된 문자열을 자모로 풀어 쓰기 (한글이 아닌 글자는 그대로)
+     */
+    public static String decompose(String normalized) {
+        StringBuilder result = new StringBuilder(normalized.length() * 3);
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (isSyllable(c)) {
+                int offset = c - SYLLABLE_FIRST;
+                result.append(CHOSEONG.charAt(offset / (21 * 28)))
+                        .append(JUNGSEONG[offset / 28 % 21])
+                        .append(JONGSEONG[offset % 28]);
+            } else if (isJamo(c) && COMPOUND_JAMO[c - JAMO_FIRST] != null) {
+                result.append(COMPOUND_JAMO[c - JAMO_FIRST]);
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * 정규화된 문자열의 초성 (한글이 아닌 글자는 그대로)
+     */
+    public static String choseong(String normalized) {
+        StringBuilder result = new StringBuilder(normalized.length());
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            result.append(isSyllable(c) ? CHOSEONG.charAt((c - SYLLABLE_FIRST) / (21 * 28)) : c);
+        }
+        return result.toString();
+    }
+
+    /**
+     * 초성만으로 된 검색어인지 (예: "ㅂㅅㅎ")
+     */
+    public static boolean isChoseongOnly(String normalized) {
+        if (normalized.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < normalized.length(); i++) {
+            if (CHOSEONG.indexOf(normalized.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSyllable(char c) {
+        return c >= SYLLABLE_FIRST && c <= SYLLABLE_LAST;
+    }
+
+    private static boolean isJamo(char c) {
+        return c >= JAMO_FIRST && c <= JAMO_LAST;
+    }
+}
@@ -0,0 +1,97 @@
+package com.ureca.web.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 검색용 토크나이저
+ *
+ * 한글 음절이 이어진 구간은 2글자씩 겹쳐 자르고(bigram), 영문/숫자 등은 단어 단위로 자른다.
+ * 형태소 분석 없이도 "부산행" → [부산, 산행] 처럼 부분 문자열 검색이 가능하다.
+ * 한 글자 한글 구간은 그 글자 자체를 토큰으로 쓴다.
+ * 영문/숫자 단어는 색인할 때 접두사(2글자부터)도 함께 넣어서 "aveng" 같은 단어 앞부분 검색이 되게 한다.
+ */
+public final class HangulTokenizer {
+
+    private static final char HANGUL_FIRST = '가';
+    private static final char HANGUL_LAST = '힣';
+
+    // 영문/숫자 단어 접두사 길이 범위 (한 글자 접두사는 너무 많은 문서에 걸림)
+    private static final int MIN_PREFIX = 2;
+    private static final int MAX_PREFIX = 20;
+
+    private HangulTokenizer() {
+    }
+
+    /**
+     * 토큰 목록 (중복 포함, 등장 순서)
+     *
+     * @param unigrams true면 한글 구간의 한 글자 토큰도 함께 생성 (한 글자 검색어용)
+     */
+    public static List<String> tokenize(String text, boolean unigrams) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+        int length = normalized.length();
+        int i = 0;
+        while (i < length) {
+            char c = normalized.charAt(i);
+            if (isHangul(c)) {
+                int start = i;
+                while (i < length && isHangul(normalized.charAt(i))) {
+                    i++;
+                }
+                addHangulRun(normalized, start, i, unigrams, tokens);
+            } else if (Character.isLetterOrDigit(c)) {
+                int start = i;
+                while (i < length && !isHangul(normalized.charAt(i))
+                        && Character.isLetterOrDigit(normalized.charAt(i))) {
+                    i++;
+                }
+                tokens.add(normalized.substring(start, i));
+            } else {
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * 영문/숫자 단어의 접두사 (MIN_PREFIX ~ MAX_PREFIX글자, 단어 자신은 제외), 한글 토큰이면 빈 목록
+     */
+    public static List<String> prefixes(String token) {
+        if (token.isEmpty() || isHangul(token.charAt(0))) {
+            return List.of();
+        }
+        int longest = Math.min(token.length() - 1, MAX_PREFIX);
+        List<String> prefixes = new ArrayList<>(Math.max(0, longest - MIN_PREFIX + 1));
+        for (int length = MIN_PREFIX; length <= longest; length++) {
+            prefixes.add(token.substring(0, length));
+        }
+        return prefixes;
+    }
+
+    public static boolean isHangul(char c) {
+        return c >= HANGUL_FIRST && c <= HANGUL_LAST;
+    }
+
+    private static void addHangulRun(String text, int start, int end, boolean unigrams, List<String> tokens) {
+        if (end - start == 1) {
+            tokens.add(text.substring(start, end));
+            return;
+        }
+        for (int i = start; i < end; i++) {
+            if (unigrams) {
+                tokens.add(text.substring(i, i + 1));
+            }
+            if (i + 1 < end) {
+                tokens.add(text.substring(i, i + 2));
+            }
+        }
+    }
+}
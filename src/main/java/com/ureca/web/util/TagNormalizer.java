@@ -0,0 +1,65 @@
+package com.ureca.web.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * 콘텐츠 태그 정규화
+ *
+ * tags 컬럼은 자유 입력이라 "#힐링 #감동", "가족; 감동 | 힐링" 같은 형태도 들어온다.
+ * 쉼표/세미콜론/파이프/줄바꿈/# 기준으로 나누고, 공백을 한 칸으로 줄이고, NFC + 소문자로 통일한다.
+ * 저장할 때는 중복을 뺀 태그를 "태그1, 태그2" 형태로 다시 합친다.
+ */
+public final class TagNormalizer {
+
+    private static final Pattern SEPARATOR = Pattern.compile("[,;|#\\r\\n\\t]+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+    private static final String DELIMITER = ", ";
+
+    private TagNormalizer() {
+    }
+
+    /**
+     * 태그 문자열 → 정규화된 태그 목록 (입력 순서, 중복 제외)
+     */
+    public static List<String> parse(String raw) {
+        if (raw == null || raw.isBlank()) {
+            return List.of();
+        }
+        Set<String> tags = new LinkedHashSet<>();
+        for (String part : SEPARATOR.split(raw)) {
+            String tag = normalizeTag(part);
+            if (tag != null) {
+                tags.add(tag);
+            }
+        }
+        return new ArrayList<>(tags);
+    }
+
+    /**
+     * 태그 하나 정규화 (비어 있으면 null)
+     */
+    public static String normalizeTag(String tag) {
+        if (tag == null) {
+            return null;
+        }
+        String normalized = SPACES.matcher(Normalizer.normalize(tag, Normalizer.Form.NFC).strip()).replaceAll(" ");
+        while (normalized.startsWith("#")) {
+            normalized = normalized.substring(1).strip();
+        }
+        return normalized.isEmpty() ? null : normalized.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 저장용 태그 문자열 (태그가 없으면 null)
+     */
+    public static String normalize(String raw) {
+        List<String> tags = parse(raw);
+        return tags.isEmpty() ? null : String.join(DELIMITER, tags);
+    }
+}
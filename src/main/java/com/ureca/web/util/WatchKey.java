@@ -0,0 +1,31 @@
+package com.ureca.web.util;
+
+/**
+ * (userId, contentId) 쌍을 하나의 long 키로 압축
+ * 상위 32비트는 userId, 하위 32비트는 contentId
+ */
+public final class WatchKey {
+
+    private static final long MASK = 0xFFFFFFFFL;
+
+    private WatchKey() {
+    }
+
+    public static long pack(Long userId, Long contentId) {
+        if (userId == null || contentId == null) {
+            throw new IllegalArgumentException("userId와 contentId는 필수입니다.");
+        }
+        if (userId < 0 || userId > MASK || contentId < 0 || contentId > MASK) {
+            throw new IllegalArgumentException("ID 범위를 벗어났습니다. userId: " + userId + ", contentId: " + contentId);
+        }
+        return (userId << 32) | contentId;
+    }
+
+    public static long userId(long key) {
+        return key >>> 32;
+    }
+
+    public static long contentId(long key) {
+        return key & MASK;
+    }
+}
@@ -0,0 +1,145 @@
+package com.ureca.web.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ureca.web.cache.JsonBodyCache;
+import com.ureca.web.dto.ApiResponse;
+import com.ureca.web.dto.ContentResponse;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 홈 목록/상세 응답 - 매번 직렬화 vs 직렬화해 둔 바이트 (JUnit 테스트 아님, 직접 실행)
+ *
+ * 요청마다 하던 일(복사본 → ApiResponse → Jackson 직렬화, 압축 시 gzip까지)과
+ * JsonBodyCache에서 같은 버전의 바이트를 꺼내 응답 스트림에 쓰는 일을 같은 데이터로 비교한다.
+ * 처리량(ops/s)과 호출당 할당 바이트(스레드 할당량 기준)를 출력한다.
+ *
+ *    java -cp target/test-classes:target/classes:<의존성> com.ureca.web.bench.JsonBodyBenchmark [rows] [seconds]
+ */
+public class JsonBodyBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        // 스프링 부트 기본 설정과 같은 ObjectMapper (JavaTimeModule, 날짜는 ISO 문자열)
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        JsonBodyCache cache = new JsonBodyCache(objectMapper, 100, 600_000, 1024);
+
+        List<ContentResponse> row = sampleRow(rows);
+        ContentResponse detail = row.get(0);
+        String stamp = "\"bench-1\"";
+        Supplier<List<ContentResponse>> copies = () -> row.stream().map(content -> content.toBuilder().build()).toList();
+
+        System.out.printf("rows=%d seconds=%d json=%,dB gzip=%,dB%n", rows, seconds,
+                cache.get("popular", stamp, copies).json().length,
+                cache.get("popular", stamp, copies).gzip().length);
+
+        for (int round = 0; round < 2; round++) {
+            boolean warmUp = round == 0;
+            int duration = warmUp ? Math.max(1, seconds / 2) : seconds;
+            run(warmUp, "popular serialize", duration,
+                    out -> objectMapper.writeValue(out, ApiResponse.success(copies.get())));
+            run(warmUp, "popular serialize+gzip", duration, out -> {
+                try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                    objectMapper.writeValue(gzip, ApiResponse.success(copies.get()));
+                }
+            });
+            run(warmUp, "popular cached json", duration,
+                    out -> out.write(cache.get("popular", stamp, copies).json()));
+            run(warmUp, "popular cached gzip", duration,
+                    out -> out.write(cache.get("popular", stamp, copies).gzip()));
+            run(warmUp, "detail serialize", duration,
+                    out -> objectMapper.writeValue(out, ApiResponse.success(detail.toBuilder().build())));
+            run(warmUp, "detail cached json", duration,
+                    out -> out.write(cache.get("content:1", stamp, () -> detail.toBuilder().build()).json()));
+        }
+    }
+
+    private interface Operation {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    private static void run(boolean warmUp, String name, int seconds, Operation operation) throws IOException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        CountingStream sink = new CountingStream();
+
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + seconds * 1_000_000_000L;
+        long ops = 0;
+        while ((ops & 1023) != 0 || System.nanoTime() < deadline) {
+            operation.writeTo(sink);
+            ops++;
+        }
+        long elapsed = System.nanoTime() - startedAt;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        if (!warmUp) {
+            System.out.printf("%-24s throughput=%,12.0f ops/s  alloc=%,8d B/op  written=%,d B/op%n",
+                    name, ops / (elapsed / 1e9), allocated / ops, sink.count / ops);
+        }
+    }
+
+    // 응답 스트림 대신 바이트 수만 세는 출력 (쓰기 비용 자체는 빼고 비교)
+    private static final class CountingStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+
+    private static List<ContentResponse> sampleRow(int rows) {
+        List<ContentResponse> row = new ArrayList<>(rows);
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+        for (int i = 1; i <= rows; i++) {
+            row.add(ContentResponse.builder()
+                    .id((long) i)
+                    .title("콘텐츠 제목 " + i)
+                    .description("가족과 함께 보기 좋은 감동적인 이야기. 오랜 친구들이 다시 모여 잊고 지낸 꿈을 찾아 떠난다. " + i)
+                    .genre(i % 2 == 0 ? "드라마" : "액션")
+                    .year(2000 + i % 25)
+                    .rating(3.5 + (i % 15) / 10.0)
+                    .duration("2시간 " + i % 60 + "분")
+                    .episodes(16)
+                    .seasons(1)
+                    .image("https://cdn.example.com/images/" + i + ".jpg")
+                    .thumbnailUrl("https://cdn.example.com/thumbnails/" + i + ".jpg")
+                    .contentType(i % 3 == 0 ? "MOVIE" : "DRAMA")
+                    .trailerUrl("https://cdn.example.com/trailers/" + i + ".mp4")
+                    .videoUrl("https://cdn.example.com/videos/" + i + ".m3u8")
+                    .director("감독 " + i)
+                    .cast("배우 A, 배우 B, 배우 C")
+                    .ageRating("15")
+                    .releaseDate("2024-0" + (1 + i % 9) + "-15")
+                    .country("대한민국")
+                    .language("한국어")
+                    .tags("가족, 감동, 힐링")
+                    .viewCount(100_000L - i * 1_000L)
+                    .likeCount(5_000L - i * 10L)
+                    .createdAt(now.minusDays(i))
+                    .updatedAt(now)
+                    .build());
+        }
+        return row;
+    }
+}
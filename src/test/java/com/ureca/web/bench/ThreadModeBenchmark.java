@@ -0,0 +1,159 @@
+package com.ureca.web.bench;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 플랫폼 스레드 vs 가상 스레드 처리량 / p99 지연 비교 (JUnit 테스트 아님, 직접 실행)
+ *
+ * 1) 시뮬레이션 (기본)
+ *    Tomcat 기본 풀(플랫폼 스레드 200개)과 요청당 가상 스레드를 같은 부하로 비교한다.
+ *    요청은 네트워크/외부 대기(io-ms) 후 캐시 미스면 DB 커넥션 풀(pool, db-ms)을 거친다.
+ *    가상 스레드 모드는 ConcurrencyLimitedDataSource와 같은 방식으로 커넥션을 빌리는 구간에만 허가(풀 크기만큼)를 받고,
+ *    wait-ms 안에 받지 못한 요청은 실패(503)로 센다. 요청의 나머지 구간(io-ms)은 제한받지 않는다.
+ *
+ *    java -cp target/test-classes com.ureca.web.bench.ThreadModeBenchmark [requests] [io-ms] [db-ms] [pool] [miss-ratio] [wait-ms]
+ *
+ * 2) 실제 서버 (spring.threads.virtual.enabled 를 바꿔 두 번 실행해서 비교)
+ *
+ *    java -cp target/test-classes com.ureca.web.bench.ThreadModeBenchmark http://localhost:8080/api/contents/1 [requests] [concurrency]
+ */
+public class ThreadModeBenchmark {
+
+    private static final int PLATFORM_THREADS = 200;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].startsWith("http")) {
+            runHttp(args[0],
+                    args.length > 1 ? Integer.parseInt(args[1]) : 20_000,
+                    args.length > 2 ? Integer.parseInt(args[2]) : 1_000);
+            return;
+        }
+
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        int ioMillis = args.length > 1 ? Integer.parseInt(args[1]) : 40;
+        int dbMillis = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+        int poolSize = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        double missRatio = args.length > 4 ? Double.parseDouble(args[4]) : 0.2;
+        long waitMillis = args.length > 5 ? Long.parseLong(args[5]) : 2000;
+
+        System.out.printf("requests=%d io=%dms db=%dms pool=%d miss=%.2f wait=%dms%n",
+                requests, ioMillis, dbMillis, poolSize, missRatio, waitMillis);
+
+        // JIT 예열
+        simulate("warm-up", Executors.newFixedThreadPool(PLATFORM_THREADS), false,
+                requests / 10, ioMillis, dbMillis, poolSize, missRatio, waitMillis);
+
+        simulate("platform(200)", Executors.newFixedThreadPool(PLATFORM_THREADS), false,
+                requests, ioMillis, dbMillis, poolSize, missRatio, waitMillis);
+        simulate("virtual", Executors.newVirtualThreadPerTaskExecutor(), true,
+                requests, ioMillis, dbMillis, poolSize, missRatio, waitMillis);
+    }
+
+    // limited면 커넥션 대기를 wait-ms로 제한 (ConcurrencyLimitedDataSource), 아니면 풀에서 끝까지 대기
+    private static void simulate(String name, ExecutorService executor, boolean limited, int requests,
+                                 int ioMillis, int dbMillis, int poolSize, double missRatio,
+                                 long waitMillis) throws Exception {
+        Semaphore connectionPool = new Semaphore(poolSize, true);
+        long[] latencies = new long[requests];
+        AtomicInteger index = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        long startedAt = System.nanoTime();
+        try (executor) {
+            for (int i = 0; i < requests; i++) {
+                long submittedAt = System.nanoTime();
+                executor.execute(() -> {
+                    try {
+                        Thread.sleep(ioMillis);
+                        if (ThreadLocalRandom.current().nextDouble() < missRatio) {
+                            if (checkout(connectionPool, limited, waitMillis)) {
+                                try {
+                                    Thread.sleep(dbMillis);
+                                } finally {
+                                    connectionPool.release();
+                                }
+                            } else {
+                                rejected.incrementAndGet();
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    latencies[index.getAndIncrement()] = System.nanoTime() - submittedAt;
+                });
+            }
+        }
+        report(name + (limited ? " (rejected " + rejected.get() + ")" : ""),
+                latencies, index.get(), System.nanoTime() - startedAt);
+    }
+
+    private static boolean checkout(Semaphore connectionPool, boolean limited, long waitMillis)
+            throws InterruptedException {
+        if (limited) {
+            return connectionPool.tryAcquire(waitMillis, TimeUnit.MILLISECONDS);
+        }
+        connectionPool.acquire();
+        return true;
+    }
+
+    private static void runHttp(String url, int requests, int concurrency) throws Exception {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30)).GET().build();
+        Semaphore inFlight = new Semaphore(concurrency);
+        long[] latencies = new long[requests];
+        AtomicInteger index = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        long startedAt = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests; i++) {
+                inFlight.acquire();
+                executor.execute(() -> {
+                    long sentAt = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    } finally {
+                        latencies[index.getAndIncrement()] = System.nanoTime() - sentAt;
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        report(url + " (concurrency " + concurrency + ", errors " + errors.get() + ")",
+                latencies, index.get(), System.nanoTime() - startedAt);
+    }
+
+    private static void report(String name, long[] latencies, int count, long elapsedNanos) {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        System.out.printf("%-32s throughput=%,.0f req/s  p50=%.1fms  p99=%.1fms  max=%.1fms%n",
+                name,
+                count / (elapsedNanos / 1e9),
+                percentile(sorted, 0.50) / 1e6,
+                percentile(sorted, 0.99) / 1e6,
+                sorted.length > 0 ? sorted[sorted.length - 1] / 1e6 : 0.0);
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+}
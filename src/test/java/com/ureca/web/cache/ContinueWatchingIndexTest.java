@@ -0,0 +1,111 @@
+package com.ureca.web.cache;
+
+import com.ureca.web.dto.PendingWatch;
+import com.ureca.web.dto.WatchHistoryResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ContinueWatchingIndex(BoundedCache 기반)의 목록 갱신(맨 앞 이동, 완료/삭제 제거, 다시 로딩 조건)과
+ * 로딩 도중 같은 사용자 목록이 바뀌면 읽어온 목록을 넣지 않는지 확인한다.
+ */
+class ContinueWatchingIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 3, 1, 21, 0);
+
+    private final ContinueWatchingIndex index = new ContinueWatchingIndex(3, 100, 60_000);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void heartbeatMovesToFrontAndCompletionRemoves() {
+        index.get(1L, limit -> load(limit, 10L, 11L, 12L));
+
+        index.apply(watch(12L, 300, null));
+        assertThat(contentIds()).containsExactly(12L, 10L, 11L);
+
+        index.apply(watch(10L, 900, true));
+        assertThat(contentIds()).containsExactly(12L, 11L);
+        assertThat(loads).hasValue(1);
+        assertThat(index.getCacheStats().getName()).isEqualTo("continueWatching");
+    }
+
+    @Test
+    void truncatedListReloadsWhenItemLeaves() {
+        // limit(3)보다 많음 → 빠지면 다음 항목을 모르므로 다시 로딩
+        index.get(1L, limit -> load(limit, 10L, 11L, 12L, 13L));
+
+        index.remove(1L, 11L);
+
+        assertThat(index.get(1L, limit -> load(limit, 10L, 12L, 13L)))
+                .extracting(WatchHistoryResponse::getContentId).containsExactly(10L, 12L, 13L);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void unknownContentAndFlushReload() {
+        index.get(1L, limit -> load(limit, 10L));
+
+        // 목록에 없던 콘텐츠의 완료 표시는 변화 없음, 시청 중이면 다시 로딩
+        index.apply(watch(20L, 900, true));
+        index.get(1L, limit -> load(limit));
+        assertThat(loads).hasValue(1);
+
+        index.apply(watch(21L, 60, null));
+        // 아직 버퍼에만 있어 DB에서 읽은 목록에 없음 → 반영 후 한 번 더 지움
+        index.get(1L, limit -> load(limit, 10L));
+        index.flushed(List.of(watch(21L, 60, null)));
+        assertThat(index.get(1L, limit -> load(limit, 21L, 10L)))
+                .extracting(WatchHistoryResponse::getContentId).containsExactly(21L, 10L);
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void changeDuringLoadKeepsStaleListOut() {
+        index.get(1L, limit -> {
+            index.remove(1L, 10L);
+            return load(limit, 10L, 11L);
+        });
+        index.get(1L, limit -> load(limit, 11L));
+        assertThat(loads).hasValue(2);
+
+        // 다른 사용자 변경은 영향 없음
+        index.get(2L, limit -> {
+            index.remove(3L, 10L);
+            return load(limit, 10L);
+        });
+        index.get(2L, limit -> load(limit));
+        assertThat(loads).hasValue(3);
+    }
+
+    // ==================== 데이터 ====================
+
+    private List<Long> contentIds() {
+        return index.get(1L, limit -> load(limit)).stream().map(WatchHistoryResponse::getContentId).toList();
+    }
+
+    private List<WatchHistoryResponse> load(int limit, Long... contentIds) {
+        loads.incrementAndGet();
+        List<WatchHistoryResponse> items = new ArrayList<>();
+        for (int i = 0; i < contentIds.length && i < limit; i++) {
+            items.add(WatchHistoryResponse.builder()
+                    .userId(1L)
+                    .contentId(contentIds[i])
+                    .watchPosition(60)
+                    .watchDuration(60)
+                    .completed(false)
+                    .lastWatchedAt(BASE.minusMinutes(i))
+                    .build());
+        }
+        return items;
+    }
+
+    private static PendingWatch watch(Long contentId, int position, Boolean completed) {
+        return new PendingWatch(1L, contentId, position, position, completed, BASE.plusMinutes(1));
+    }
+}
@@ -0,0 +1,104 @@
+package com.ureca.web.cache;
+
+import com.ureca.web.dto.PendingWatch;
+import com.ureca.web.dto.WatchHistoryResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ResumePositionStore(BoundedCache 기반)의 "기록 없음" 저장, 하트비트 반영,
+ * 로딩 도중 같은 키에 쓰기가 있으면 읽어온 값을 넣지 않는지(다른 키는 그대로 저장) 확인한다.
+ */
+class ResumePositionStoreTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 3, 1, 21, 0);
+
+    private final ResumePositionStore store = new ResumePositionStore(100, 60_000);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void absentRecordIsStoredUntilFlushed() {
+        assertThat(store.get(1L, 10L, () -> load(null))).isNull();
+        assertThat(store.get(1L, 10L, () -> load(null))).isNull();
+        assertThat(loads).hasValue(1);
+
+        // 버퍼에만 있던 기록이 반영되면 "기록 없음"을 지워 다시 로딩
+        store.flushed(List.of(watch(60, BASE)));
+        assertThat(store.get(1L, 10L, () -> load(response(60, BASE))).getWatchPosition()).isEqualTo(60);
+        assertThat(loads).hasValue(2);
+
+        // 기록이 있는 값은 반영 후에도 유지
+        store.flushed(List.of(watch(60, BASE)));
+        store.get(1L, 10L, () -> load(null));
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void applyUpdatesStoredPositionAndReturnsCopies() {
+        store.get(1L, 10L, () -> load(response(60, BASE)));
+
+        store.apply(watch(120, BASE.plusMinutes(1)));
+        WatchHistoryResponse first = store.get(1L, 10L, () -> load(null));
+        first.setWatchPosition(999);
+
+        assertThat(store.get(1L, 10L, () -> load(null)).getWatchPosition()).isEqualTo(120);
+        assertThat(loads).hasValue(1);
+        assertThat(store.getCacheStats().getName()).isEqualTo("resumePositions");
+    }
+
+    @Test
+    void applyOnAbsentRecordReloads() {
+        store.get(1L, 10L, () -> load(null));
+
+        store.apply(watch(60, BASE));
+
+        assertThat(store.get(1L, 10L, () -> load(response(60, BASE)))).isNotNull();
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void writeDuringLoadKeepsStaleValueOutOnlyForThatKey() {
+        // 로딩 도중 같은 키에 하트비트 → 읽어온 (이전) 값은 저장하지 않음
+        store.get(1L, 10L, () -> {
+            store.apply(watch(120, BASE.plusMinutes(1)));
+            return load(response(60, BASE));
+        });
+        store.get(1L, 10L, () -> load(response(120, BASE.plusMinutes(1))));
+        assertThat(loads).hasValue(2);
+
+        // 다른 키의 쓰기는 영향 없음
+        store.get(2L, 10L, () -> {
+            store.apply(new PendingWatch(3L, 10L, 30, 30, null, BASE));
+            return load(response(60, BASE));
+        });
+        store.get(2L, 10L, () -> load(null));
+        assertThat(loads).hasValue(3);
+    }
+
+    // ==================== 데이터 ====================
+
+    private WatchHistoryResponse load(WatchHistoryResponse value) {
+        loads.incrementAndGet();
+        return value;
+    }
+
+    private static PendingWatch watch(int position, LocalDateTime at) {
+        return new PendingWatch(1L, 10L, position, position, null, at);
+    }
+
+    private static WatchHistoryResponse response(int position, LocalDateTime at) {
+        return WatchHistoryResponse.builder()
+                .userId(1L)
+                .contentId(10L)
+                .watchPosition(position)
+                .watchDuration(position)
+                .completed(false)
+                .lastWatchedAt(at)
+                .build();
+    }
+}
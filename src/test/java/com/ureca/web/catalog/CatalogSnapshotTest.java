@@ -0,0 +1,135 @@
+package com.ureca.web.catalog;
+
+import com.ureca.web.catalog.CatalogSnapshot.Ordering;
+import com.ureca.web.catalog.CatalogSnapshot.Position;
+import com.ureca.web.catalog.CatalogSnapshot.Slice;
+import com.ureca.web.dto.ContentResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntPredicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 커서 방식(after + 인코딩/디코딩한 위치)으로 끝까지 넘긴 결과가 offset 방식(slice)과 같은지 정렬 기준마다 확인한다.
+ * 정렬 값이 같은 항목(동률)이 많고, 생성 시각/평점/제목/조회수가 null인 행도 섞는다.
+ */
+class CatalogSnapshotTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private final Random random = new Random(3);
+
+    @ParameterizedTest
+    @EnumSource(Ordering.class)
+    void cursorWalkMatchesOffsetPaging(Ordering ordering) {
+        CatalogSnapshot snapshot = CatalogSnapshot.build(randomRows(500), 1);
+        List<IntPredicate> filters = List.of(
+                ordinal -> true,
+                ordinal -> snapshot.idAt(ordinal) % 3 != 0,
+                ordinal -> false);
+
+        for (IntPredicate filter : filters) {
+            for (int size : new int[]{1, 7, 20, 500, 600}) {
+                assertThat(walkCursor(snapshot, ordering, filter, size))
+                        .as("%s size %d", ordering, size)
+                        .isEqualTo(walkOffset(snapshot, ordering, filter, size));
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(Ordering.class)
+    void cursorSurvivesRowsChangedBetweenPages(Ordering ordering) {
+        // 다음 페이지 전에 커서 항목이 삭제돼도 그 위치 바로 다음부터 이어짐
+        CatalogSnapshot snapshot = CatalogSnapshot.build(randomRows(100), 1);
+        Slice first = snapshot.after(ordering, ordinal -> true, null, 10);
+        int last = first.getOrdinals()[9];
+        String cursor = snapshot.positionOf(ordering, last).encode();
+
+        CatalogSnapshot changed = snapshot.without(snapshot.idAt(last), 2);
+        Slice next = changed.after(ordering, ordinal -> true, Position.decode(cursor, ordering), 10);
+
+        int[] expected = snapshot.slice(ordering, ordinal -> true, 10, 10).getOrdinals();
+        assertThat(ids(changed, next.getOrdinals())).isEqualTo(ids(snapshot, expected));
+    }
+
+    @Test
+    void decodeRejectsMalformedCursor() {
+        String otherOrdering = CatalogSnapshot.build(randomRows(3), 1).positionOf(Ordering.RATING, 0).encode();
+
+        for (String cursor : List.of("!!!", encode("LATEST"), encode("LATEST:abc:1"), encode("NEWEST:1:1"),
+                encode("RATING:1:high"))) {
+            assertThatThrownBy(() -> Position.decode(cursor, Ordering.LATEST))
+                    .as(cursor)
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+        assertThatThrownBy(() -> Position.decode(otherOrdering, Ordering.LATEST))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // ==================== 넘기기 ====================
+
+    private static List<Long> walkCursor(CatalogSnapshot snapshot, Ordering ordering, IntPredicate filter, int size) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        while (true) {
+            Position after = cursor == null ? null : Position.decode(cursor, ordering);
+            Slice slice = snapshot.after(ordering, filter, after, size);
+            ids.addAll(ids(snapshot, slice.getOrdinals()));
+            if (!slice.isHasNext()) {
+                return ids;
+            }
+            int[] ordinals = slice.getOrdinals();
+            cursor = snapshot.positionOf(ordering, ordinals[ordinals.length - 1]).encode();
+        }
+    }
+
+    private static List<Long> walkOffset(CatalogSnapshot snapshot, Ordering ordering, IntPredicate filter, int size) {
+        List<Long> ids = new ArrayList<>();
+        for (long offset = 0; ; offset += size) {
+            Slice slice = snapshot.slice(ordering, filter, offset, size);
+            ids.addAll(ids(snapshot, slice.getOrdinals()));
+            if (!slice.isHasNext()) {
+                return ids;
+            }
+        }
+    }
+
+    private static List<Long> ids(CatalogSnapshot snapshot, int[] ordinals) {
+        List<Long> ids = new ArrayList<>(ordinals.length);
+        for (int ordinal : ordinals) {
+            ids.add(snapshot.idAt(ordinal));
+        }
+        return ids;
+    }
+
+    // ==================== 데이터 ====================
+
+    // 값 종류를 적게 둬서 동률이 많고, 10개 중 1개 정도는 정렬 값이 null
+    private List<ContentResponse> randomRows(int count) {
+        List<ContentResponse> rows = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            rows.add(ContentResponse.builder()
+                    .id(id * 3)
+                    .title(random.nextInt(10) == 0 ? null : "제목:" + random.nextInt(8))
+                    .rating(random.nextInt(10) == 0 ? null : random.nextInt(5) * 0.5)
+                    .viewCount(random.nextInt(10) == 0 ? null : (long) random.nextInt(6))
+                    .createdAt(random.nextInt(10) == 0 ? null : BASE.plusDays(random.nextInt(5)))
+                    .build());
+        }
+        return rows;
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes());
+    }
+}
@@ -0,0 +1,233 @@
+package com.ureca.web.catalog;
+
+import com.ureca.web.catalog.FacetIndex.Facet;
+import com.ureca.web.dto.ContentResponse;
+import com.ureca.web.util.TagNormalizer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * FacetIndex의 filter/counts를 전수 조사(스냅샷의 모든 행을 직접 검사)와 비교한다.
+ * 스냅샷 수정/맨 뒤 추가/맨 뒤 삭제는 FacetIndex.with로 이어 받으므로,
+ * 값별 비트맵이 배열/비트맵 기준(크기 700 기준 22개) 근처를 오가고 단어 수가 다른 비트맵이 섞이도록 만든다.
+ */
+class FacetIndexTest {
+
+    private static final String[] GENRES = {"드라마", "액션", "코미디", "스릴러", "다큐"};
+    private static final String[] TYPES = {"MOVIE", "SERIES"};
+    private static final String[] COUNTRIES = {"한국", "미국", "일본"};
+    private static final String[] LANGUAGES = {"ko", "en", "ja"};
+    private static final String[] TAGS = {"힐링", "감동", "가족", "반전", "실화", "명작"};
+
+    private final Random random = new Random(11);
+
+    @Test
+    void matchesBruteForceAcrossIncrementalChanges() {
+        List<ContentResponse> rows = new ArrayList<>();
+        for (long id = 1; id <= 700; id++) {
+            rows.add(randomRow(id));
+        }
+        CatalogSnapshot snapshot = CatalogSnapshot.build(rows, 1);
+        snapshot.facets();     // 이후 스냅샷은 이 색인을 with로 이어 받음
+        assertMatchesBruteForce(snapshot);
+
+        long nextId = 701;
+        for (int step = 0; step < 300; step++) {
+            int action = random.nextInt(10);
+            if (action < 5) {
+                // 수정 (순번 그대로)
+                long id = snapshot.idAt(random.nextInt(snapshot.size()));
+                snapshot = snapshot.withRow(randomRow(id), step + 2);
+            } else if (action < 9) {
+                // 맨 뒤 추가 (크기가 64 경계를 넘으며 단어 수가 늘어남)
+                snapshot = snapshot.withRow(randomRow(nextId++), step + 2);
+            } else {
+                // 맨 뒤 삭제
+                snapshot = snapshot.without(snapshot.idAt(snapshot.size() - 1), step + 2);
+            }
+            if (step % 10 == 0) {
+                assertMatchesBruteForce(snapshot);
+            }
+        }
+        assertMatchesBruteForce(snapshot);
+    }
+
+    @Test
+    void countsIgnoreTheFacetsOwnSelection() {
+        List<ContentResponse> rows = List.of(
+                row(1L, "드라마", "MOVIE", 2020, "힐링"),
+                row(2L, "드라마", "SERIES", 2021, "감동"),
+                row(3L, "액션", "MOVIE", 2020, "힐링, 감동"),
+                row(4L, "코미디", "MOVIE", 2022, null));
+        FacetIndex facets = CatalogSnapshot.build(rows, 1).facets();
+        Map<Facet, List<String>> selected = Map.of(
+                Facet.GENRE, List.of("드라마", "스릴러"),
+                Facet.CONTENT_TYPE, List.of("MOVIE"));
+
+        // 장르 개수는 타입 조건(MOVIE)만 적용, 고른 값은 0개여도 포함
+        assertThat(facets.counts(Facet.GENRE, selected, Set.of(), null))
+                .isEqualTo(Map.of("드라마", 1, "액션", 1, "코미디", 1, "스릴러", 0));
+        // 타입 개수는 장르 조건(드라마|스릴러)만 적용
+        assertThat(facets.counts(Facet.CONTENT_TYPE, selected, Set.of(), null))
+                .isEqualTo(Map.of("MOVIE", 1, "SERIES", 1));
+        assertThat(facets.filter(selected, Set.of(), null).cardinality()).isEqualTo(1);
+        // 태그 match=all
+        assertThat(facets.filter(Map.of(Facet.TAG, List.of("힐링", "감동")), Set.of(Facet.TAG), null).test(2))
+                .isTrue();
+        assertThat(facets.filter(Map.of(Facet.TAG, List.of("힐링", "감동")), Set.of(Facet.TAG), null).cardinality())
+                .isEqualTo(1);
+    }
+
+    // ==================== 전수 조사 ====================
+
+    private void assertMatchesBruteForce(CatalogSnapshot snapshot) {
+        FacetIndex facets = snapshot.facets();
+        for (int round = 0; round < 30; round++) {
+            Map<Facet, List<String>> selected = randomSelection();
+            Set<Facet> matchAll = random.nextBoolean() ? Set.of(Facet.TAG) : Set.of();
+            OrdinalBitmap scope = random.nextInt(3) == 0 ? randomScope(snapshot) : null;
+
+            OrdinalBitmap filtered = facets.filter(selected, matchAll, scope);
+            int expectedCount = 0;
+            for (int ordinal = 0; ordinal < snapshot.size(); ordinal++) {
+                boolean expected = passes(snapshot.row(ordinal), ordinal, selected, matchAll, scope, null);
+                if (filtered != null) {
+                    assertThat(filtered.test(ordinal)).as("%s ordinal %d", selected, ordinal).isEqualTo(expected);
+                }
+                expectedCount += expected ? 1 : 0;
+            }
+            assertThat(filtered == null ? snapshot.size() : filtered.cardinality()).isEqualTo(expectedCount);
+
+            for (Facet facet : Facet.values()) {
+                assertThat(facets.counts(facet, selected, matchAll, scope)).as("%s counts %s", facet, selected)
+                        .isEqualTo(expectedCounts(snapshot, facet, selected, matchAll, scope));
+            }
+        }
+    }
+
+    private static Map<String, Integer> expectedCounts(CatalogSnapshot snapshot, Facet facet,
+                                                       Map<Facet, List<String>> selected, Set<Facet> matchAll,
+                                                       OrdinalBitmap scope) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (int ordinal = 0; ordinal < snapshot.size(); ordinal++) {
+            ContentResponse row = snapshot.row(ordinal);
+            if (passes(row, ordinal, selected, matchAll, scope, facet)) {
+                valuesOf(facet, row).forEach(value -> counts.merge(value, 1, Integer::sum));
+            }
+        }
+        selected.getOrDefault(facet, List.of()).forEach(value -> counts.putIfAbsent(value, 0));
+        return counts;
+    }
+
+    private static boolean passes(ContentResponse row, int ordinal, Map<Facet, List<String>> selected,
+                                  Set<Facet> matchAll, OrdinalBitmap scope, Facet skip) {
+        if (scope != null && !scope.test(ordinal)) {
+            return false;
+        }
+        for (Map.Entry<Facet, List<String>> entry : selected.entrySet()) {
+            if (entry.getKey() == skip || entry.getValue().isEmpty()) {
+                continue;
+            }
+            List<String> values = valuesOf(entry.getKey(), row);
+            boolean matched = matchAll.contains(entry.getKey())
+                    ? values.containsAll(entry.getValue())
+                    : entry.getValue().stream().anyMatch(values::contains);
+            if (!matched) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<String> valuesOf(Facet facet, ContentResponse row) {
+        String value = switch (facet) {
+            case GENRE -> row.getGenre();
+            case CONTENT_TYPE -> row.getContentType();
+            case YEAR -> row.getYear() != null ? row.getYear().toString() : null;
+            case COUNTRY -> row.getCountry();
+            case LANGUAGE -> row.getLanguage();
+            case TAG -> row.getTags();
+        };
+        if (facet == Facet.TAG) {
+            return TagNormalizer.parse(value);
+        }
+        return value != null ? List.of(value) : List.of();
+    }
+
+    // ==================== 데이터 ====================
+
+    private Map<Facet, List<String>> randomSelection() {
+        Map<Facet, List<String>> selected = new EnumMap<>(Facet.class);
+        for (Facet facet : EnumSet.allOf(Facet.class)) {
+            if (random.nextInt(3) != 0) {
+                continue;
+            }
+            List<String> chosen = new ArrayList<>();
+            int count = 1 + random.nextInt(3);
+            for (int i = 0; i < count; i++) {
+                chosen.add(switch (facet) {
+                    case GENRE -> pick(GENRES);
+                    case CONTENT_TYPE -> pick(TYPES);
+                    case YEAR -> String.valueOf(1990 + random.nextInt(32));     // 사전에 없는 연도 포함
+                    case COUNTRY -> pick(COUNTRIES);
+                    case LANGUAGE -> pick(LANGUAGES);
+                    case TAG -> pick(TAGS);
+                });
+            }
+            selected.put(facet, chosen);
+        }
+        return selected;
+    }
+
+    private OrdinalBitmap randomScope(CatalogSnapshot snapshot) {
+        long[] ids = new long[snapshot.size()];
+        int count = 0;
+        for (int ordinal = 0; ordinal < snapshot.size(); ordinal++) {
+            if (random.nextInt(4) != 0) {
+                ids[count++] = snapshot.idAt(ordinal);
+            }
+        }
+        return snapshot.bitmapOf(Arrays.copyOf(ids, count));
+    }
+
+    private ContentResponse randomRow(long id) {
+        // 연도는 30개 값에 고르게 퍼져 값마다 약 23개 → 배열/비트맵 기준 근처
+        StringBuilder tags = new StringBuilder();
+        for (String tag : TAGS) {
+            if (random.nextInt(4) == 0) {
+                tags.append('#').append(tag).append(' ');
+            }
+        }
+        ContentResponse row = row(id, random.nextInt(10) == 0 ? null : pick(GENRES), pick(TYPES),
+                1990 + random.nextInt(30), tags.toString());
+        row.setCountry(random.nextInt(50) == 0 ? "프랑스" : pick(COUNTRIES));     // 드문 값 (배열 표현)
+        row.setLanguage(pick(LANGUAGES));
+        return row;
+    }
+
+    private static ContentResponse row(long id, String genre, String contentType, Integer year, String tags) {
+        return ContentResponse.builder()
+                .id(id)
+                .title("콘텐츠 " + id)
+                .genre(genre)
+                .contentType(contentType)
+                .year(year)
+                .tags(tags)
+                .build();
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,89 @@
+package com.ureca.web.catalog;
+
+import com.ureca.web.catalog.CatalogSnapshot.Ordering;
+import com.ureca.web.dto.ContentResponse;
+import com.ureca.web.entity.Content;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 호출자가 읽은 스냅샷과 순위표 조회 사이에 스냅샷이 바뀌어도(생성/삭제/조회수 반영)
+ * 돌려준 순번이 호출자의 스냅샷에서 같은 콘텐츠를 가리키는지 확인한다.
+ */
+class LeaderboardsTest {
+
+    private final CatalogSnapshotHolder holder = mock(CatalogSnapshotHolder.class);
+    private final Leaderboards leaderboards = new Leaderboards(holder);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(leaderboards, "capacity", 20);
+    }
+
+    @Test
+    void ordinalsResolveAgainstCallersSnapshotAfterDelete() {
+        CatalogSnapshot before = CatalogSnapshot.build(rows(50), 1);
+        // 중간 항목 삭제 → 뒤쪽 순번이 하나씩 당겨짐
+        CatalogSnapshot after = before.without(45L, 2);
+        when(holder.current()).thenReturn(after);
+
+        int[] ordinals = leaderboards.top(before, Ordering.POPULAR, null, 10);
+
+        assertThat(ids(before, ordinals)).containsExactly(50L, 49L, 48L, 47L, 46L, 44L, 43L, 42L, 41L, 40L);
+    }
+
+    @Test
+    void ordinalsResolveAgainstCallersSnapshotAfterCreate() {
+        CatalogSnapshot before = CatalogSnapshot.build(rows(50), 1);
+        when(holder.current()).thenReturn(before);
+        leaderboards.top(before, Ordering.POPULAR, Content.ContentType.MOVIE, 10);     // 순위표 생성
+
+        // 호출자가 before를 읽은 뒤 조회수 1위 콘텐츠가 추가됨 (after에만 있는 순번 50)
+        CatalogSnapshot after = before.withRow(row(52L, 1_000L), 2);
+        when(holder.current()).thenReturn(after);
+        leaderboards.onContentChanged(ContentChangedEvent.created(after.response(after.ordinalOf(52L))));
+
+        int[] ordinals = leaderboards.top(before, Ordering.POPULAR, Content.ContentType.MOVIE, 3);
+
+        // before에 없는 52는 빠지고, 나머지는 before의 순번으로 (교체 전 코드는 순번 50으로 범위를 벗어남)
+        assertThat(ids(before, ordinals)).containsExactly(50L, 48L);
+        assertThat(ids(after, leaderboards.top(after, Ordering.POPULAR, Content.ContentType.MOVIE, 3)))
+                .containsExactly(52L, 50L, 48L);
+    }
+
+    // ==================== 데이터 ====================
+
+    private static List<Long> ids(CatalogSnapshot snapshot, int[] ordinals) {
+        List<Long> ids = new ArrayList<>(ordinals.length);
+        for (int ordinal : ordinals) {
+            ids.add(snapshot.response(ordinal).getId());
+        }
+        return ids;
+    }
+
+    // 조회수 = id, 짝수 id는 MOVIE
+    private static List<ContentResponse> rows(int count) {
+        List<ContentResponse> rows = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            rows.add(row(id, id));
+        }
+        return rows;
+    }
+
+    private static ContentResponse row(long id, long viewCount) {
+        return ContentResponse.builder()
+                .id(id)
+                .title("콘텐츠 " + id)
+                .contentType(id % 2 == 0 ? "MOVIE" : "SERIES")
+                .viewCount(viewCount)
+                .build();
+    }
+}
@@ -0,0 +1,148 @@
+package com.ureca.web.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * OrdinalBitmap을 BitSet과 비교한다.
+ * 배열/비트맵 전환 기준(원소 수 × 32 < 전체 크기) 근처에서 넣고 빼기를 반복하고,
+ * 전체 크기가 늘어나 단어 수가 다른 비트맵끼리의 합집합/교집합도 확인한다.
+ */
+class OrdinalBitmapTest {
+
+    private final Random random = new Random(7);
+
+    @Test
+    void ofMatchesBitSetOnBothSidesOfThreshold() {
+        int size = 640;     // 20개 미만이면 배열, 20개부터 비트맵
+        for (int count : new int[]{0, 1, 19, 20, 21, 64, 640}) {
+            BitSet expected = randomSet(size, count);
+            assertSame(expected, OrdinalBitmap.of(expected.stream().toArray(), count, size), size);
+        }
+    }
+
+    @Test
+    void withSwitchesRepresentationBackAndForth() {
+        int size = 640;
+        BitSet expected = randomSet(size, 18);
+        OrdinalBitmap bitmap = OrdinalBitmap.of(expected.stream().toArray(), 18, size);
+
+        // 배열 → 비트맵 → 배열을 여러 번 오가도록 18~24개 사이에서 넣고 뺌
+        for (int step = 0; step < 2_000; step++) {
+            boolean member = expected.cardinality() < 19 || (expected.cardinality() < 24 && random.nextBoolean());
+            int ordinal = member ? expected.nextClearBit(random.nextInt(size)) : pickSet(expected);
+            if (ordinal >= size) {
+                continue;
+            }
+            expected.set(ordinal, member);
+            bitmap = bitmap.with(ordinal, member, size);
+            assertSame(expected, bitmap, size);
+        }
+    }
+
+    @Test
+    void withUnchangedMembershipReturnsSameInstance() {
+        OrdinalBitmap bitmap = OrdinalBitmap.of(new int[]{3, 70}, 2, 128);
+
+        assertThat(bitmap.with(3, true, 128)).isSameAs(bitmap);
+        assertThat(bitmap.with(4, false, 128)).isSameAs(bitmap);
+    }
+
+    @Test
+    void growingSizeKeepsOlderShorterBitmapsUsable() {
+        // 크기 200(4단어)에서 만든 집합과, 뒤에 추가되며 크기 700(11단어)까지 커진 집합
+        int size = 200;
+        BitSet oldExpected = randomSet(size, 100);
+        OrdinalBitmap old = OrdinalBitmap.of(oldExpected.stream().toArray(), 100, size);
+
+        BitSet grownExpected = randomSet(size, 60);
+        OrdinalBitmap grown = OrdinalBitmap.of(grownExpected.stream().toArray(), 60, size);
+        for (int ordinal = size; ordinal < 700; ordinal++) {
+            if (random.nextInt(3) == 0) {
+                grownExpected.set(ordinal);
+                grown = grown.with(ordinal, true, ordinal + 1);
+            }
+        }
+        BitSet sparseExpected = new BitSet();
+        sparseExpected.set(5);
+        sparseExpected.set(650);
+        OrdinalBitmap sparse = OrdinalBitmap.of(new int[]{5, 650}, 2, 700);
+
+        assertSame(grownExpected, grown, 700);
+        assertSame(union(oldExpected, grownExpected), OrdinalBitmap.union(List.of(old, grown), 700), 700);
+        assertSame(union(oldExpected, grownExpected, sparseExpected),
+                OrdinalBitmap.union(List.of(grown, sparse, old), 700), 700);
+        assertSame(and(oldExpected, grownExpected), old.and(grown), 700);
+        assertSame(and(grownExpected, oldExpected), grown.and(old), 700);
+        assertSame(and(grownExpected, sparseExpected), grown.and(sparse), 700);
+        assertThat(old.andCardinality(grown)).isEqualTo(and(oldExpected, grownExpected).cardinality());
+        assertThat(grown.andCardinality(sparse)).isEqualTo(and(grownExpected, sparseExpected).cardinality());
+    }
+
+    @Test
+    void setOperationsMatchBitSetForAllRepresentationPairs() {
+        int size = 1_000;
+        for (int round = 0; round < 200; round++) {
+            List<BitSet> sets = new ArrayList<>();
+            List<OrdinalBitmap> bitmaps = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                int count = random.nextBoolean() ? random.nextInt(40) : random.nextInt(size);
+                BitSet set = randomSet(size, count);
+                sets.add(set);
+                bitmaps.add(OrdinalBitmap.of(set.stream().toArray(), count, size));
+            }
+
+            assertSame(union(sets.toArray(BitSet[]::new)), OrdinalBitmap.union(bitmaps, size), size);
+            assertSame(and(sets.get(0), sets.get(1)), bitmaps.get(0).and(bitmaps.get(1)), size);
+            assertThat(bitmaps.get(1).andCardinality(bitmaps.get(2)))
+                    .isEqualTo(and(sets.get(1), sets.get(2)).cardinality());
+        }
+        assertThat(OrdinalBitmap.union(List.of(), size).cardinality()).isZero();
+    }
+
+    // ==================== 비교 ====================
+
+    private static void assertSame(BitSet expected, OrdinalBitmap actual, int size) {
+        assertThat(actual.cardinality()).isEqualTo(expected.cardinality());
+        for (int ordinal = 0; ordinal < size + 64; ordinal++) {
+            assertThat(actual.test(ordinal)).as("ordinal %d", ordinal).isEqualTo(expected.get(ordinal));
+        }
+    }
+
+    private BitSet randomSet(int size, int count) {
+        BitSet set = new BitSet(size);
+        while (set.cardinality() < count) {
+            set.set(random.nextInt(size));
+        }
+        return set;
+    }
+
+    private int pickSet(BitSet set) {
+        int skip = random.nextInt(set.cardinality());
+        int ordinal = set.nextSetBit(0);
+        for (int i = 0; i < skip; i++) {
+            ordinal = set.nextSetBit(ordinal + 1);
+        }
+        return ordinal;
+    }
+
+    private static BitSet union(BitSet... sets) {
+        BitSet result = new BitSet();
+        for (BitSet set : sets) {
+            result.or(set);
+        }
+        return result;
+    }
+
+    private static BitSet and(BitSet a, BitSet b) {
+        BitSet result = (BitSet) a.clone();
+        result.and(b);
+        return result;
+    }
+}
@@ -0,0 +1,282 @@
+package com.ureca.web.catalog;
+
+import com.ureca.web.dto.ContentResponse;
+import com.ureca.web.util.HangulTokenizer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.LongPredicate;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * SearchIndex를 전수 조사(모든 문서를 직접 토큰화해서 BM25 계산)와 비교한다.
+ * 포스팅 블록(128개) 경계, 큰 id 간격(varint 여러 바이트), 동점, 변경/삭제 이벤트 후 결과를 확인한다.
+ */
+class SearchIndexTest {
+
+    private static final String[] WORDS = {
+            "alpha", "beta", "gamma", "delta", "avengers", "avatar", "부산행", "기차", "좀비", "12"
+    };
+
+    private final Map<Long, ContentResponse> docs = new TreeMap<>();
+
+    @Test
+    void intersectsAcrossBlockBoundaries() {
+        // common은 모든 문서, rare는 블록 경계 근처 문서에만 → rare가 기준 목록이 되어 common 블록을 건너뜀
+        List<Long> rareIds = List.of(1L, 127L, 128L, 129L, 255L, 256L, 257L, 384L, 70_000L);
+        for (long id = 1; id <= 400; id++) {
+            put(doc(id, "common " + (rareIds.contains(id) ? "rare" : ""), null, null));
+        }
+        put(doc(70_000L, "common rare", null, null));
+        // even/triple은 둘 다 긴 목록 → 교집합(6의 배수)이 여러 블록에 걸침
+        for (long id = 1; id <= 400; id++) {
+            ContentResponse row = docs.get(id);
+            row.setTags((id % 2 == 0 ? "even " : "") + (id % 3 == 0 ? "triple" : ""));
+        }
+        SearchIndex index = index();
+
+        assertThat(index.matchingIds("rare common"))
+                .containsExactly(rareIds.stream().mapToLong(Long::longValue).toArray());
+        assertThat(index.matchingIds("even triple"))
+                .containsExactly(LongStream.rangeClosed(1, 400).filter(id -> id % 6 == 0).toArray());
+        assertMatchesOracle(index, "rare common", null, 5);
+        assertMatchesOracle(index, "even triple", null, 1000);
+        assertMatchesOracle(index, "common", id -> id % 7 == 0, 10);
+    }
+
+    @Test
+    void tiesAreOrderedByIdDescending() {
+        for (long id = 1; id <= 300; id++) {
+            put(doc(id, "same title", "same description", "same tag"));
+        }
+        SearchIndex index = index();
+
+        SearchIndex.Hits hits = index.search("same title", null, 130);
+
+        assertThat(hits.getTotal()).isEqualTo(300);
+        assertThat(hits.getIds()).containsExactly(
+                LongStream.iterate(300, id -> id - 1).limit(130).toArray());
+        assertThat(Arrays.stream(hits.getScores()).distinct().count()).isEqualTo(1);
+    }
+
+    @Test
+    void matchesLatinPrefixes() {
+        put(doc(1L, "Avengers: Endgame", null, null));
+        put(doc(2L, "Avatar", null, null));
+        put(doc(3L, "부산행", "좀비 기차", null));
+        SearchIndex index = index();
+
+        assertThat(index.matchingIds("aveng")).containsExactly(1L);
+        assertThat(index.matchingIds("av")).containsExactly(1L, 2L);
+        assertThat(index.matchingIds("a")).isEmpty();
+        assertThat(index.matchingIds("부산")).containsExactly(3L);
+        assertThat(SearchIndex.contains(docs.get(1L), "endg")).isTrue();
+        assertThat(SearchIndex.contains(docs.get(2L), "aveng")).isFalse();
+        assertMatchesOracle(index, "av", null, 10);
+    }
+
+    @Test
+    void matchesOracleAfterRandomChanges() {
+        Random random = new Random(42);
+        for (long id = 1; id <= 600; id++) {
+            put(randomDoc(random, id));
+        }
+        SearchIndex index = index();
+        assertAllQueriesMatchOracle(index);
+
+        for (int step = 0; step < 400; step++) {
+            long id = 1 + random.nextInt(700);
+            ContentResponse before = docs.get(id);
+            int action = random.nextInt(3);
+            if (before == null) {
+                ContentResponse after = randomDoc(random, id);
+                put(after);
+                index.onContentChanged(ContentChangedEvent.created(after));
+            } else if (action == 0) {
+                docs.remove(id);
+                index.onContentChanged(ContentChangedEvent.deleted(before));
+            } else {
+                ContentResponse after = randomDoc(random, id);
+                put(after);
+                index.onContentChanged(ContentChangedEvent.updated(before, after));
+            }
+            if (step % 50 == 0) {
+                assertAllQueriesMatchOracle(index);
+            }
+        }
+        assertAllQueriesMatchOracle(index);
+    }
+
+    @Test
+    void repeatedEventIsIdempotent() {
+        for (long id = 1; id <= 200; id++) {
+            put(doc(id, "alpha beta", null, null));
+        }
+        SearchIndex index = index();
+        index.search("alpha", null, 1);     // 색인 생성
+
+        ContentResponse before = docs.get(128L);
+        ContentResponse after = doc(128L, "gamma", null, null);
+        put(after);
+        index.onContentChanged(ContentChangedEvent.updated(before, after));
+        index.onContentChanged(ContentChangedEvent.updated(before, after));
+        ContentResponse removed = docs.remove(129L);
+        index.onContentChanged(ContentChangedEvent.deleted(removed));
+        index.onContentChanged(ContentChangedEvent.deleted(removed));
+
+        assertThat(index.matchingIds("alpha")).hasSize(198).doesNotContain(128L, 129L);
+        assertThat(index.matchingIds("gamma")).containsExactly(128L);
+        assertMatchesOracle(index, "alpha beta", null, 50);
+        assertMatchesOracle(index, "gamma", null, 50);
+    }
+
+    // ==================== 전수 조사 ====================
+
+    private void assertAllQueriesMatchOracle(SearchIndex index) {
+        for (String query : List.of("alpha", "avengers", "av", "ava", "부산", "기차 좀비", "alpha beta", "12",
+                "gamma delta avatar", "없는검색어", "alpha 좀비")) {
+            assertMatchesOracle(index, query, null, 20);
+            assertMatchesOracle(index, query, id -> id % 3 != 0, 7);
+            assertThat(index.matchingIds(query)).as(query)
+                    .containsExactly(oracleMatches(query).stream().mapToLong(Long::longValue).toArray());
+        }
+    }
+
+    private void assertMatchesOracle(SearchIndex index, String query, LongPredicate filter, int limit) {
+        List<Map.Entry<Long, Double>> expected = oracleScores(query).entrySet().stream()
+                .filter(entry -> filter == null || filter.test(entry.getKey()))
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+                .toList();
+
+        SearchIndex.Hits hits = index.search(query, filter, limit);
+
+        assertThat(hits.getTotal()).as(query).isEqualTo(expected.size());
+        assertThat(hits.size()).as(query).isEqualTo(Math.min(limit, expected.size()));
+        for (int i = 0; i < hits.size(); i++) {
+            assertThat(hits.getScores()[i]).as(query + " #" + i)
+                    .isCloseTo(expected.get(i).getValue(), offset(1e-9));
+            // 점수가 거의 같으면 부동소수점 합산 순서 때문에 순서가 바뀔 수 있으므로 점수로만 비교
+            if (i + 1 >= expected.size()
+                    || Math.abs(expected.get(i).getValue() - expected.get(i + 1).getValue()) > 1e-9) {
+                if (i == 0 || Math.abs(expected.get(i).getValue() - expected.get(i - 1).getValue()) > 1e-9) {
+                    assertThat(hits.getIds()[i]).as(query + " #" + i).isEqualTo(expected.get(i).getKey());
+                }
+            }
+        }
+    }
+
+    private List<Long> oracleMatches(String query) {
+        return new ArrayList<>(new TreeSet<>(oracleScores(query).keySet()));
+    }
+
+    private Map<Long, Double> oracleScores(String query) {
+        Set<String> terms = new LinkedHashSet<>(HangulTokenizer.tokenize(query, false));
+        Map<Long, Double> scores = new HashMap<>();
+        if (terms.isEmpty() || docs.isEmpty()) {
+            return scores;
+        }
+
+        Map<Long, Map<String, Integer>> frequencies = new HashMap<>();
+        long totalLength = 0;
+        for (ContentResponse doc : docs.values()) {
+            Map<String, Integer> tf = new HashMap<>();
+            totalLength += count(doc, terms, tf);
+            frequencies.put(doc.getId(), tf);
+        }
+        Map<String, Integer> df = new HashMap<>();
+        frequencies.values().forEach(tf -> tf.keySet().forEach(term -> df.merge(term, 1, Integer::sum)));
+
+        int n = docs.size();
+        double averageLength = (double) totalLength / n;
+        for (ContentResponse doc : docs.values()) {
+            Map<String, Integer> tf = frequencies.get(doc.getId());
+            if (!tf.keySet().containsAll(terms)) {
+                continue;
+            }
+            int length = count(doc, Set.of(), new HashMap<>());
+            double norm = 1.2 * (1 - 0.75 + 0.75 * length / averageLength);
+            double score = 0;
+            for (String term : terms) {
+                double idf = Math.log(1 + (n - df.get(term) + 0.5) / (df.get(term) + 0.5));
+                score += idf * (tf.get(term) * 2.2) / (tf.get(term) + norm);
+            }
+            scores.put(doc.getId(), score);
+        }
+        return scores;
+    }
+
+    // terms의 가중 빈도를 tf에 채우고 문서 길이(가중 토큰 수) 반환
+    private static int count(ContentResponse doc, Set<String> terms, Map<String, Integer> tf) {
+        return count(HangulTokenizer.tokenize(doc.getTitle(), true), 3, terms, tf)
+                + count(HangulTokenizer.tokenize(doc.getCast(), false), 2, terms, tf)
+                + count(HangulTokenizer.tokenize(doc.getDirector(), false), 2, terms, tf)
+                + count(HangulTokenizer.tokenize(doc.getTags(), false), 2, terms, tf)
+                + count(HangulTokenizer.tokenize(doc.getDescription(), false), 1, terms, tf);
+    }
+
+    private static int count(List<String> tokens, int weight, Set<String> terms, Map<String, Integer> tf) {
+        for (String token : tokens) {
+            for (String term : terms) {
+                boolean prefix = !HangulTokenizer.isHangul(token.charAt(0))
+                        && term.length() >= 2 && term.length() <= 20 && token.startsWith(term);
+                if (token.equals(term) || prefix) {
+                    tf.merge(term, weight, Integer::sum);
+                }
+            }
+        }
+        return tokens.size() * weight;
+    }
+
+    // ==================== 데이터 ====================
+
+    private SearchIndex index() {
+        CatalogSnapshotHolder holder = mock(CatalogSnapshotHolder.class);
+        when(holder.current()).thenReturn(CatalogSnapshot.build(new ArrayList<>(docs.values()), 1));
+        return new SearchIndex(holder);
+    }
+
+    private void put(ContentResponse doc) {
+        docs.put(doc.getId(), doc);
+    }
+
+    private static ContentResponse doc(long id, String title, String description, String tags) {
+        return ContentResponse.builder()
+                .id(id)
+                .title(title)
+                .description(description)
+                .tags(tags)
+                .build();
+    }
+
+    private static ContentResponse randomDoc(Random random, long id) {
+        ContentResponse doc = doc(id, words(random, 1 + random.nextInt(3)), words(random, random.nextInt(6)),
+                words(random, random.nextInt(3)));
+        doc.setCast(words(random, random.nextInt(2)));
+        doc.setDirector(words(random, random.nextInt(2)));
+        return doc;
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return text.toString();
+    }
+}
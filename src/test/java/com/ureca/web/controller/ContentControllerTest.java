@@ -0,0 +1,121 @@
+package com.ureca.web.controller;
+
+import com.ureca.web.cache.JsonBodyCache;
+import com.ureca.web.catalog.CatalogSnapshot;
+import com.ureca.web.dto.ContentListResponse;
+import com.ureca.web.dto.ContentResponse;
+import com.ureca.web.service.ContentService;
+import com.ureca.web.service.ViewEventPipeline;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ContentController 요청 처리 (서비스는 mock, 예외 → 응답 변환은 ApiExceptionHandler)
+ * 조건부 GET은 ETag가 같으면 304, 본문을 정하는 값이 바뀌면 ETag도 바뀌어 200인지 확인한다.
+ */
+class ContentControllerTest {
+
+    private final ContentService contentService = mock(ContentService.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        JsonBodyCache jsonBodyCache = new JsonBodyCache(Jackson2ObjectMapperBuilder.json().build(), 100, 60_000, 1024);
+        ContentController controller = new ContentController(
+                contentService, jsonBodyCache, mock(ViewEventPipeline.class));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new ApiExceptionHandler())
+                .build();
+        when(contentService.getCatalogETag()).thenReturn("\"catalog-1\"");
+        when(contentService.getCatalogLastModified()).thenReturn(1_700_000_000_000L);
+    }
+
+    @Test
+    void malformedCursorIsBadRequest() throws Exception {
+        // 서비스는 커서를 실제로 해석 (형식이 틀리면 IllegalArgumentException)
+        when(contentService.getContents(any(), any(), any(), any(), any(), any(), anyBoolean(), any(), any(),
+                anyInt(), anyInt(), any(), anyBoolean(), anyBoolean(), anyBoolean()))
+                .thenAnswer(invocation -> {
+                    CatalogSnapshot.Position.decode(invocation.getArgument(11), CatalogSnapshot.Ordering.LATEST);
+                    return null;
+                });
+
+        mockMvc.perform(get("/api/contents").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("잘못된 커서입니다."));
+    }
+
+    @Test
+    void unknownViewIsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/contents").param("view", "poster"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    void listAnswersNotModifiedForCatalogETag() throws Exception {
+        when(contentService.getContents(any(), any(), any(), any(), any(), any(), anyBoolean(), any(), any(),
+                anyInt(), anyInt(), any(), anyBoolean(), anyBoolean(), anyBoolean()))
+                .thenReturn(ContentListResponse.builder().contents(List.of()).build());
+
+        mockMvc.perform(get("/api/contents"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"catalog-1\""));
+        mockMvc.perform(get("/api/contents").header(HttpHeaders.IF_NONE_MATCH, "\"catalog-1\""))
+                .andExpect(status().isNotModified());
+        // 304면 목록을 만들지 않음
+        verify(contentService, times(1)).getContents(any(), any(), any(), any(), any(), any(), anyBoolean(), any(),
+                any(), anyInt(), anyInt(), any(), anyBoolean(), anyBoolean(), anyBoolean());
+
+        when(contentService.getCatalogETag()).thenReturn("\"catalog-2\"");
+        mockMvc.perform(get("/api/contents").header(HttpHeaders.IF_NONE_MATCH, "\"catalog-1\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"catalog-2\""));
+    }
+
+    @Test
+    void detailETagChangesWithFlushedViewCount() throws Exception {
+        AtomicLong viewCount = new AtomicLong(10);
+        when(contentService.getContentById(7L)).thenAnswer(invocation -> ContentResponse.builder()
+                .id(7L)
+                .title("부산행")
+                .viewCount(viewCount.get())
+                .likeCount(2L)
+                .updatedAt(LocalDateTime.of(2025, 3, 1, 12, 0))
+                .build());
+
+        String etag = mockMvc.perform(get("/api/contents/7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.viewCount").value(10))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/contents/7").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        // 조회수가 반영되면 수정 시각이 같아도 ETag가 바뀌어 새 본문
+        viewCount.set(11);
+        mockMvc.perform(get("/api/contents/7").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.viewCount").value(11));
+    }
+}
@@ -0,0 +1,179 @@
+package com.ureca.web.journal;
+
+import com.ureca.web.dto.PendingWatch;
+import com.ureca.web.service.WatchHistoryWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 저널에 기록한 하트비트를 다시 기동하며 재생했을 때 DB 반영 대상(applyBatch 인자)이 맞는지 확인한다.
+ * 세그먼트는 작게(records-per-segment 8) 만들어 세그먼트 경계를 넘기고,
+ * 기록 도중 멈춘 빈 칸(순번만 받고 기록 완료 표시가 없는 칸)을 순번을 직접 올려서 만든다.
+ */
+class WatchEventJournalTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 3, 1, 21, 0);
+
+    @TempDir
+    Path dir;
+
+    private final List<WatchEventJournal> opened = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (WatchEventJournal journal : opened) {
+            journal.close();
+        }
+    }
+
+    @Test
+    void replayKeepsHeartbeatTimestamps() throws Exception {
+        WatchEventJournal journal = open(mock(WatchHistoryWriter.class));
+        journal.append(watch(1L, 10L, 60, BASE));
+        journal.append(watch(1L, 10L, 120, BASE.plusMinutes(1)));
+        journal.append(watch(2L, 10L, 30, BASE.plusHours(1)));
+        journal.close();
+        opened.clear();
+
+        // 재시작 - 반영 시각이 아니라 마지막 하트비트 시각으로 반영
+        WatchHistoryWriter writer = mock(WatchHistoryWriter.class);
+        open(writer);
+
+        List<PendingWatch> replayed = replayed(writer);
+        assertThat(replayed).extracting(PendingWatch::getUserId, PendingWatch::getWatchPosition,
+                        PendingWatch::getLastWatchedAt)
+                .containsExactly(
+                        tuple(1L, 120, BASE.plusMinutes(1)),
+                        tuple(2L, 30, BASE.plusHours(1)));
+    }
+
+    @Test
+    void replayKeepsLatestPositionWhenHeartbeatsArriveOutOfOrder() throws Exception {
+        WatchEventJournal journal = open(mock(WatchHistoryWriter.class));
+        journal.append(watch(1L, 10L, 300, BASE.plusMinutes(5)));
+        // 오프라인 중 쌓였다가 나중에 재전송된 하트비트 (위치는 예전 값, 완료 표시 없음)
+        journal.append(watch(1L, 10L, 60, BASE));
+        journal.append(new PendingWatch(1L, 10L, 900, 900, true, BASE.plusMinutes(1)));
+        journal.close();
+        opened.clear();
+
+        WatchHistoryWriter writer = mock(WatchHistoryWriter.class);
+        open(writer);
+
+        // 위치/시각은 가장 늦은 하트비트, 완료 여부는 그보다 늦은 값이 없으므로 오래된 하트비트 값, 시청 시간은 최대값
+        PendingWatch replayed = replayed(writer).get(0);
+        assertThat(replayed.getWatchPosition()).isEqualTo(300);
+        assertThat(replayed.getLastWatchedAt()).isEqualTo(BASE.plusMinutes(5));
+        assertThat(replayed.getCompleted()).isTrue();
+        assertThat(replayed.getWatchDuration()).isEqualTo(900);
+    }
+
+    @Test
+    void replaySkipsTornSlotsAcrossSegments() throws Exception {
+        WatchEventJournal journal = open(mock(WatchHistoryWriter.class));
+        for (long userId = 1; userId <= 20; userId++) {
+            if (userId == 5 || userId == 9) {
+                skip(journal, 1);     // 동시에 기록 중이던 하트비트가 완료 표시 전에 멈춤
+            }
+            journal.append(watch(userId, 10L, 60, BASE));
+        }
+        journal.close();
+        opened.clear();
+
+        WatchHistoryWriter writer = mock(WatchHistoryWriter.class);
+        WatchEventJournal reopened = open(writer);
+
+        assertThat(replayed(writer)).extracting(PendingWatch::getUserId)
+                .containsExactlyElementsOf(LongStream.rangeClosed(1, 20).boxed().toList());
+        assertThat(reopened.nextSequence()).isEqualTo(22);
+    }
+
+    @Test
+    void replayStopsAfterLongRunOfEmptySlots() throws Exception {
+        WatchEventJournal journal = open(mock(WatchHistoryWriter.class), 4096);
+        journal.append(watch(1L, 10L, 60, BASE));
+        journal.append(watch(2L, 10L, 60, BASE));
+        skip(journal, 2000);
+        journal.append(watch(3L, 10L, 60, BASE));
+        journal.close();
+        opened.clear();
+
+        WatchHistoryWriter writer = mock(WatchHistoryWriter.class);
+        WatchEventJournal reopened = open(writer, 4096);
+
+        // 빈 칸이 REPLAY_GAP_LIMIT개 넘게 이어지면 그 뒤는 읽지 않음 (세그먼트 끝까지 훑지 않음)
+        assertThat(replayed(writer)).extracting(PendingWatch::getUserId).containsExactly(1L, 2L);
+        assertThat(reopened.nextSequence()).isEqualTo(2);
+    }
+
+    @Test
+    void checkpointedRecordsAreNotReplayed() throws Exception {
+        WatchEventJournal journal = open(mock(WatchHistoryWriter.class));
+        for (long userId = 1; userId <= 10; userId++) {
+            journal.append(watch(userId, 10L, 60, BASE));
+        }
+        journal.checkpoint(7);
+        journal.append(watch(11L, 10L, 60, BASE));
+        journal.close();
+        opened.clear();
+
+        WatchHistoryWriter writer = mock(WatchHistoryWriter.class);
+        open(writer);
+
+        assertThat(replayed(writer)).extracting(PendingWatch::getUserId).containsExactly(8L, 9L, 10L, 11L);
+    }
+
+    // ==================== 도우미 ====================
+
+    private WatchEventJournal open(WatchHistoryWriter writer) throws Exception {
+        return open(writer, 8);
+    }
+
+    private WatchEventJournal open(WatchHistoryWriter writer, int recordsPerSegment) throws Exception {
+        WatchEventJournal journal = new WatchEventJournal(writer);
+        ReflectionTestUtils.setField(journal, "enabled", true);
+        ReflectionTestUtils.setField(journal, "dir", dir.toString());
+        ReflectionTestUtils.setField(journal, "recordsPerSegment", recordsPerSegment);
+        ReflectionTestUtils.setField(journal, "retainSegments", 2);
+        journal.init();
+        opened.add(journal);
+        return journal;
+    }
+
+    // 순번만 받고 기록하지 않은 칸 만들기
+    private static void skip(WatchEventJournal journal, int slots) {
+        AtomicLong nextSequence = (AtomicLong) ReflectionTestUtils.getField(journal, "nextSequence");
+        nextSequence.addAndGet(slots);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<PendingWatch> replayed(WatchHistoryWriter writer) {
+        ArgumentCaptor<List<PendingWatch>> captor = ArgumentCaptor.forClass(List.class);
+        verify(writer, atLeastOnce()).applyBatch(captor.capture());
+        List<PendingWatch> all = new ArrayList<>();
+        captor.getAllValues().forEach(all::addAll);
+        all.sort(Comparator.comparing(PendingWatch::getUserId).thenComparing(PendingWatch::getContentId));
+        return all;
+    }
+
+    private static PendingWatch watch(Long userId, Long contentId, int position, LocalDateTime at) {
+        return new PendingWatch(userId, contentId, position, position, null, at);
+    }
+}
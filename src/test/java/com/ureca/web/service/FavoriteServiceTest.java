@@ -0,0 +1,114 @@
+package com.ureca.web.service;
+
+import com.ureca.web.catalog.CatalogSnapshot;
+import com.ureca.web.catalog.CatalogSnapshotHolder;
+import com.ureca.web.catalog.ContentChangedEvent;
+import com.ureca.web.catalog.ItemSimilarityIndex;
+import com.ureca.web.catalog.UserAffinityProfiles;
+import com.ureca.web.entity.Content;
+import com.ureca.web.entity.Favorite;
+import com.ureca.web.entity.User;
+import com.ureca.web.repository.ContentRepository;
+import com.ureca.web.repository.FavoriteRepository;
+import com.ureca.web.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 찜 추가/제거로 바뀐 찜 수가 변경 이벤트로 나가서 카탈로그 스냅샷(목록/홈 화면/ETag 기준)에도 반영되는지 확인한다.
+ * 이벤트는 실제 CatalogSnapshotHolder에 그대로 전달한다.
+ */
+class FavoriteServiceTest {
+
+    private final FavoriteRepository favoriteRepository = mock(FavoriteRepository.class);
+    private final ContentRepository contentRepository = mock(ContentRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+    private final FavoriteService favoriteService = new FavoriteService(favoriteRepository, contentRepository,
+            userRepository, eventPublisher, mock(ItemSimilarityIndex.class), mock(UserAffinityProfiles.class));
+    private final CatalogSnapshotHolder holder = new CatalogSnapshotHolder(contentRepository);
+
+    private Content content;
+
+    @BeforeEach
+    void setUp() {
+        content = Content.builder()
+                .id(7L)
+                .title("부산행")
+                .contentType(Content.ContentType.MOVIE)
+                .viewCount(10L)
+                .likeCount(3L)
+                .build();
+        User user = User.builder().id(1L).build();
+        when(contentRepository.findAll()).thenReturn(List.of(content));
+        when(contentRepository.findById(7L)).thenReturn(Optional.of(content));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(favoriteRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(favoriteRepository.findByUserIdAndContentId(1L, 7L))
+                .thenReturn(Optional.of(Favorite.builder().id(5L).user(user).content(content).build()));
+        holder.current();     // 찜 수 3으로 로딩
+    }
+
+    @Test
+    void addFavoriteUpdatesSnapshotLikeCount() {
+        String etag = holder.etag();
+
+        assertThat(favoriteService.addFavorite(1L, 7L).isSuccess()).isTrue();
+        apply(publishedEvent());
+
+        assertThat(likeCountInSnapshot()).isEqualTo(4L);
+        assertThat(holder.etag()).isNotEqualTo(etag);
+    }
+
+    @Test
+    void removeFavoriteUpdatesSnapshotLikeCount() {
+        assertThat(favoriteService.removeFavorite(1L, 7L).isSuccess()).isTrue();
+        ContentChangedEvent event = publishedEvent();
+        apply(event);
+
+        assertThat(event.getBefore().getLikeCount()).isEqualTo(3L);
+        assertThat(likeCountInSnapshot()).isEqualTo(2L);
+    }
+
+    @Test
+    void removeAtZeroPublishesNothing() {
+        content.setLikeCount(0L);
+
+        favoriteService.removeFavorite(1L, 7L);
+
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    // ==================== 도우미 ====================
+
+    private ContentChangedEvent publishedEvent() {
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertThat(captor.getValue()).isInstanceOf(ContentChangedEvent.class);
+        return (ContentChangedEvent) captor.getValue();
+    }
+
+    // 커밋 후 리스너 순서대로 (스냅샷 교체 → 다른 리스너 → ETag 버전 확정)
+    private void apply(ContentChangedEvent event) {
+        holder.onContentChanged(event);
+        holder.onContentChangeApplied(event);
+    }
+
+    private long likeCountInSnapshot() {
+        CatalogSnapshot snapshot = holder.current();
+        return snapshot.response(snapshot.ordinalOf(7L)).getLikeCount();
+    }
+}
@@ -0,0 +1,135 @@
+package com.ureca.web.service;
+
+import com.ureca.web.cache.ContinueWatchingIndex;
+import com.ureca.web.cache.ResumePositionStore;
+import com.ureca.web.dto.ApiResponse;
+import com.ureca.web.dto.PendingWatch;
+import com.ureca.web.dto.SaveWatchHistoryBatchRequest;
+import com.ureca.web.dto.SaveWatchHistoryRequest;
+import com.ureca.web.dto.WatchHistoryBatchResponse;
+import com.ureca.web.dto.WatchHistoryResponse;
+import com.ureca.web.repository.UserRepository;
+import com.ureca.web.repository.WatchHistoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 시청 위치 일괄 저장이 단건 하트비트와 같은 버퍼 경로를 타는지,
+ * 재전송된 오래된 하트비트가 최신 위치를 되돌리지 않는지 확인한다.
+ */
+class WatchHistoryServiceTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 3, 1, 21, 0);
+
+    private final WatchHistoryRepository watchHistoryRepository = mock(WatchHistoryRepository.class);
+    private final WatchHistoryWriteBuffer watchHistoryWriteBuffer = mock(WatchHistoryWriteBuffer.class);
+    private final WatchHistoryWriter watchHistoryWriter = mock(WatchHistoryWriter.class);
+    private final ResumePositionStore resumePositionStore = mock(ResumePositionStore.class);
+
+    private final WatchHistoryService watchHistoryService = new WatchHistoryService(watchHistoryRepository,
+            mock(UserRepository.class), watchHistoryWriteBuffer, watchHistoryWriter, resumePositionStore,
+            mock(ContinueWatchingIndex.class), mock(WatchSessionizer.class));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(watchHistoryService, "bufferEnabled", true);
+        ReflectionTestUtils.setField(watchHistoryService, "batchMaxSize", 1000);
+    }
+
+    @Test
+    void batchGoesThroughBufferWithClientTimestamps() {
+        LocalDateTime future = LocalDateTime.now().plusDays(1);
+        ApiResponse<WatchHistoryBatchResponse> response = watchHistoryService.saveWatchHistoryBatch(batch(
+                entry(1L, 10L, 60, BASE),
+                entry(1L, 11L, 30, null),
+                entry(null, 11L, 30, BASE),
+                entry(2L, 10L, 90, future)));
+
+        assertThat(response.getData().getResults()).extracting(WatchHistoryBatchResponse.EntryResult::getStatus)
+                .containsExactly(WatchHistoryBatchResponse.Status.ACCEPTED, WatchHistoryBatchResponse.Status.ACCEPTED,
+                        WatchHistoryBatchResponse.Status.INVALID, WatchHistoryBatchResponse.Status.ACCEPTED);
+        assertThat(response.getData().getSucceeded()).isEqualTo(3);
+        verify(watchHistoryWriter, never()).applyBatch(anyList());
+
+        ArgumentCaptor<PendingWatch> captor = ArgumentCaptor.forClass(PendingWatch.class);
+        verify(watchHistoryWriteBuffer, times(3)).add(captor.capture());
+        List<PendingWatch> added = captor.getAllValues();
+        assertThat(added.get(0).getLastWatchedAt()).isEqualTo(BASE);
+        // 시각이 없거나 미래면 수신 시각
+        assertThat(added.get(1).getLastWatchedAt()).isBefore(future).isAfter(BASE);
+        assertThat(added.get(2).getLastWatchedAt()).isBefore(future);
+    }
+
+    @Test
+    void olderReplayedHeartbeatDoesNotRewindPosition() {
+        // DB에는 21:05의 300초, 버퍼에는 재전송된 21:00의 60초
+        when(resumePositionStore.get(any(), any(), any())).thenReturn(WatchHistoryResponse.builder()
+                .userId(1L).contentId(10L).watchPosition(300).watchDuration(300).completed(false)
+                .lastWatchedAt(BASE.plusMinutes(5)).build());
+        when(watchHistoryWriteBuffer.get(1L, 10L))
+                .thenReturn(new PendingWatch(1L, 10L, 60, 600, null, BASE));
+
+        WatchHistoryResponse response = watchHistoryService.getWatchHistory(1L, 10L).getData();
+
+        assertThat(response.getWatchPosition()).isEqualTo(300);
+        assertThat(response.getLastWatchedAt()).isEqualTo(BASE.plusMinutes(5));
+        assertThat(response.getWatchDuration()).isEqualTo(600);
+    }
+
+    @Test
+    void mergeKeepsLaterHeartbeatRegardlessOfArrivalOrder() {
+        PendingWatch newer = new PendingWatch(1L, 10L, 300, 300, null, BASE.plusMinutes(5));
+        PendingWatch older = new PendingWatch(1L, 10L, 60, 400, true, BASE);
+
+        for (PendingWatch merged : List.of(newer.merge(older), older.merge(newer))) {
+            assertThat(merged.getWatchPosition()).isEqualTo(300);
+            assertThat(merged.getLastWatchedAt()).isEqualTo(BASE.plusMinutes(5));
+            assertThat(merged.getWatchDuration()).isEqualTo(400);
+            assertThat(merged.getCompleted()).isTrue();
+        }
+    }
+
+    @Test
+    void batchWithoutBufferAppliesDirectly() {
+        ReflectionTestUtils.setField(watchHistoryService, "bufferEnabled", false);
+        when(watchHistoryWriter.applyBatch(anyList())).thenReturn(new int[]{WatchHistoryWriter.CREATED, 0});
+
+        ApiResponse<WatchHistoryBatchResponse> response = watchHistoryService.saveWatchHistoryBatch(batch(
+                entry(1L, 10L, 60, BASE), entry(1L, 11L, 30, BASE)));
+
+        // 바뀐 값이 없는 행(0, 더 늦은 위치가 이미 있음)도 갱신으로 처리
+        assertThat(response.getData().getResults()).extracting(WatchHistoryBatchResponse.EntryResult::getStatus)
+                .containsExactly(WatchHistoryBatchResponse.Status.CREATED, WatchHistoryBatchResponse.Status.UPDATED);
+        verify(watchHistoryWriteBuffer, never()).add(any());
+    }
+
+    // ==================== 데이터 ====================
+
+    private static SaveWatchHistoryBatchRequest batch(SaveWatchHistoryRequest... entries) {
+        return SaveWatchHistoryBatchRequest.builder().entries(Arrays.asList(entries)).build();
+    }
+
+    private static SaveWatchHistoryRequest entry(Long userId, Long contentId, int position, LocalDateTime watchedAt) {
+        return SaveWatchHistoryRequest.builder()
+                .userId(userId)
+                .contentId(contentId)
+                .watchPosition(position)
+                .watchedAt(watchedAt)
+                .build();
+    }
+}